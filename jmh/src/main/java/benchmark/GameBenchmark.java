@@ -0,0 +1,372 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+package benchmark;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.random.RandomGenerator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks of the game stages. The simulation classes are in the default
+ * package, so their methods are called through method handles, which are
+ * inlined by the JIT compiler as direct calls.
+ *
+ * java -jar target/benchmarks.jar -prof gc
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class GameBenchmark {
+	/** Seed of the benchmarks generators. */
+	private static final long SEED = 20130101L;
+
+	/** Number of pre-generated screen views. */
+	private static final int NUMBER_OF_VIEWS = 1 << 10;
+
+	/** Number of base games in the game loop benchmark. */
+	private static final int GAME_LOOP = 1000;
+
+	/** Game model constructor (free spins off, wilds off, wild expansion off). */
+	private static final MethodHandle MODEL;
+
+	/** Game engine constructor (model, generator). */
+	private static final MethodHandle ENGINE;
+
+	/** Simulation context constructor (generator). */
+	private static final MethodHandle CONTEXT;
+
+	/** Game model of the simulation contexts setter (model). */
+	private static final MethodHandle CONTEXT_MODEL;
+
+	/** Reels spin (engine, windows). */
+	private static final MethodHandle SPIN;
+
+	/** Win in all lines (engine, view). */
+	private static final MethodHandle LINES_WIN;
+
+	/** Wild expansion (engine). */
+	private static final MethodHandle EXPAND_WILD;
+
+	/** Free spins setup (engine). */
+	private static final MethodHandle FREE_GAMES_SETUP;
+
+	/** Single base game with its free spins (engine). */
+	private static final MethodHandle PLAY_BASE_GAME;
+
+	/** Free spins queue clearing (state). */
+	private static final MethodHandle CLEAR_FREE_GAMES;
+
+	/** Game loop until total number of games (context, games, snapshots interval). */
+	private static final MethodHandle PLAY;
+
+	/** Game state getter (engine). */
+	private static final MethodHandle STATE;
+
+	/** Screen view getter (state). */
+	private static final MethodHandle VIEW;
+
+	/** Current reels windows setter (state, windows). */
+	private static final MethodHandle WINDOWS;
+
+	/** Current wilds setter (state, wilds). */
+	private static final MethodHandle WILDS;
+
+	/** Reels windows sets getter (model). */
+	private static final MethodHandle WINDOWS_SETS;
+
+	/** Wilds sets getter (model). */
+	private static final MethodHandle WILDS_SETS;
+
+	/** Total number of games getter (context). */
+	private static final MethodHandle GAMES;
+
+	static {
+		try {
+			Class<?> main = Class.forName("Main");
+			Class<?> simulation = Class.forName("Simulation");
+			Class<?> model = Class.forName("GameModel");
+			Class<?> engine = Class.forName("GameEngine");
+			Class<?> state = Class.forName("GameState");
+			MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(main, MethodHandles.lookup());
+			MethodHandles.Lookup contexts = MethodHandles.privateLookupIn(simulation, MethodHandles.lookup());
+
+			MODEL = lookup
+					.findConstructor(model,
+							MethodType.methodType(void.class, boolean.class, boolean.class, boolean.class))
+					.asType(MethodType.methodType(Object.class, boolean.class, boolean.class, boolean.class));
+			ENGINE = lookup.findConstructor(engine, MethodType.methodType(void.class, model, RandomGenerator.class))
+					.asType(MethodType.methodType(Object.class, Object.class, RandomGenerator.class));
+			CONTEXT = contexts.findConstructor(simulation, MethodType.methodType(void.class, RandomGenerator.class))
+					.asType(MethodType.methodType(Object.class, RandomGenerator.class));
+			CONTEXT_MODEL = lookup.findStaticSetter(main, "model", model)
+					.asType(MethodType.methodType(void.class, Object.class));
+			SPIN = virtual(lookup, engine, "spin", void.class, int[][].class);
+			LINES_WIN = virtual(lookup, engine, "linesWin", int.class, int[][].class);
+			EXPAND_WILD = virtual(lookup, engine, "expandWild", void.class);
+			FREE_GAMES_SETUP = virtual(lookup, engine, "freeGamesSetup", void.class);
+			PLAY_BASE_GAME = virtual(lookup, engine, "playBaseGame", Class.forName("GameResult"));
+			CLEAR_FREE_GAMES = virtual(lookup, state, "clearFreeGames", void.class);
+			PLAY = virtual(contexts, simulation, "play", void.class, long.class, long.class);
+			STATE = lookup.findGetter(engine, "state", state)
+					.asType(MethodType.methodType(Object.class, Object.class));
+			VIEW = lookup.findGetter(state, "view", int[][].class)
+					.asType(MethodType.methodType(int[][].class, Object.class));
+			WINDOWS = lookup.findSetter(state, "windows", int[][][].class)
+					.asType(MethodType.methodType(void.class, Object.class, int[][][].class));
+			WILDS = lookup.findSetter(state, "wilds", int[][][].class)
+					.asType(MethodType.methodType(void.class, Object.class, int[][][].class));
+			WINDOWS_SETS = lookup.findGetter(model, "windowsSets", int[][][][].class)
+					.asType(MethodType.methodType(int[][][][].class, Object.class));
+			WILDS_SETS = lookup.findGetter(model, "wildsSets", int[][][][].class)
+					.asType(MethodType.methodType(int[][][][].class, Object.class));
+			GAMES = contexts.findGetter(simulation, "totalNumberOfGames", long.class)
+					.asType(MethodType.methodType(long.class, Object.class));
+		} catch (ReflectiveOperationException exception) {
+			throw new ExceptionInInitializerError(exception);
+		}
+	}
+
+	/**
+	 * Find instance method with the receiver adapted to Object.
+	 *
+	 * @param lookup     Private lookup in the simulation package.
+	 * @param owner      Class of the method.
+	 * @param name       Method name.
+	 * @param result     Return type.
+	 * @param parameters Parameters types.
+	 *
+	 * @return Method handle.
+	 *
+	 * @throws ReflectiveOperationException If the method is not found.
+	 */
+	private static MethodHandle virtual(MethodHandles.Lookup lookup, Class<?> owner, String name, Class<?> result,
+			Class<?>... parameters) throws ReflectiveOperationException {
+		MethodHandle handle = lookup.findVirtual(owner, name, MethodType.methodType(result, parameters));
+		return handle.asType(handle.type().changeParameterType(0, Object.class).changeReturnType(
+				result.isPrimitive() == true ? result : Object.class));
+	}
+
+	/** Game engine with fixed pre-generated screen views. */
+	@State(Scope.Thread)
+	public static class Game {
+		/** Game engine. */
+		Object engine;
+
+		/** Game state of the engine. */
+		Object state;
+
+		/** Simulation context with the statistics collection. */
+		Object context;
+
+		/** Screen view of the engine. */
+		int[][] view;
+
+		/** Base game reels windows of the first reels set. */
+		int[][] windows;
+
+		/** Pre-generated screen views. */
+		int[][][] views = new int[NUMBER_OF_VIEWS][][];
+
+		/** Index of the next pre-generated view. */
+		int next = 0;
+
+		/**
+		 * Create seeded engine and context, and generate the views.
+		 *
+		 * @throws Throwable If the simulation classes are not accessible.
+		 */
+		@Setup(Level.Trial)
+		public void setup() throws Throwable {
+			Object model = (Object) MODEL.invokeExact(false, false, false);
+			CONTEXT_MODEL.invokeExact(model);
+			engine = (Object) ENGINE.invokeExact(model, (RandomGenerator) new SplittableRandom(SEED));
+			context = (Object) CONTEXT.invokeExact((RandomGenerator) new SplittableRandom(SEED));
+			state = (Object) STATE.invokeExact(engine);
+
+			int[][][] set = ((int[][][][]) WINDOWS_SETS.invokeExact(model))[0];
+			WINDOWS.invokeExact(state, set);
+			WILDS.invokeExact(state, ((int[][][][]) WILDS_SETS.invokeExact(model))[0]);
+			windows = set[0];
+			view = (int[][]) VIEW.invokeExact(state);
+
+			for (int k = 0; k < views.length; k++) {
+				SPIN.invokeExact(engine, windows);
+				views[k] = new int[view.length][];
+				for (int i = 0; i < view.length; i++) {
+					views[k][i] = view[i].clone();
+				}
+			}
+		}
+
+		/** Copy the next pre-generated view in the screen view of the engine. */
+		void load() {
+			int[][] source = views[next];
+			next = (next + 1) & (views.length - 1);
+			for (int i = 0; i < source.length; i++) {
+				System.arraycopy(source[i], 0, view[i], 0, source[i].length);
+			}
+		}
+	}
+
+	/**
+	 * Copying of pre-generated view (baseline of the view based benchmarks).
+	 *
+	 * @param game Benchmark state.
+	 *
+	 * @return Screen view.
+	 */
+	@Benchmark
+	public int[][] loadView(Game game) {
+		game.load();
+		return game.view;
+	}
+
+	/**
+	 * Spin of the base game reels.
+	 *
+	 * @param game Benchmark state.
+	 *
+	 * @return Screen view.
+	 *
+	 * @throws Throwable Never.
+	 */
+	@Benchmark
+	public int[][] spin(Game game) throws Throwable {
+		SPIN.invokeExact(game.engine, game.windows);
+		return game.view;
+	}
+
+	/**
+	 * Lines evaluation of pre-generated view.
+	 *
+	 * @param game Benchmark state.
+	 *
+	 * @return Lines win.
+	 *
+	 * @throws Throwable Never.
+	 */
+	@Benchmark
+	public int linesWin(Game game) throws Throwable {
+		game.load();
+		return (int) LINES_WIN.invokeExact(game.engine, game.view);
+	}
+
+	/**
+	 * Wild expansion of pre-generated view.
+	 *
+	 * @param game Benchmark state.
+	 *
+	 * @return Screen view.
+	 *
+	 * @throws Throwable Never.
+	 */
+	@Benchmark
+	public int[][] expandWild(Game game) throws Throwable {
+		game.load();
+		EXPAND_WILD.invokeExact(game.engine);
+		return game.view;
+	}
+
+	/**
+	 * Free spins setup of pre-generated view. Triggered free spins are removed, so
+	 * every view is evaluated as base game view.
+	 *
+	 * @param game Benchmark state.
+	 *
+	 * @return Screen view.
+	 *
+	 * @throws Throwable Never.
+	 */
+	@Benchmark
+	public int[][] freeGamesSetup(Game game) throws Throwable {
+		game.load();
+		FREE_GAMES_SETUP.invokeExact(game.engine);
+		CLEAR_FREE_GAMES.invokeExact(game.state);
+		return game.view;
+	}
+
+	/**
+	 * Single base game with the free spins it triggers.
+	 *
+	 * @param game Benchmark state.
+	 *
+	 * @return Game result.
+	 *
+	 * @throws Throwable Never.
+	 */
+	@Benchmark
+	public Object singleBaseGame(Game game) throws Throwable {
+		return (Object) PLAY_BASE_GAME.invokeExact(game.engine);
+	}
+
+	/**
+	 * Simulation loop with statistics collection (time per base game).
+	 *
+	 * @param game  Benchmark state.
+	 * @param black Consumer of the results.
+	 *
+	 * @throws Throwable Never.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(GAME_LOOP)
+	public void gameLoop(Game game, Blackhole black) throws Throwable {
+		long games = (long) GAMES.invokeExact(game.context);
+		PLAY.invokeExact(game.context, games + GAME_LOOP, 0L);
+		black.consume(game.context);
+	}
+
+	/**
+	 * Run all benchmarks with allocation profiler.
+	 *
+	 * @param args Command line arguments list.
+	 *
+	 * @throws RunnerException If the benchmarks can not be run.
+	 */
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder().include(GameBenchmark.class.getName()).addProfiler(GCProfiler.class).build())
+				.run();
+	}
+}
@@ -0,0 +1,157 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * Discrete distribution of weighted values sampled by Walker's alias method.
+ * Weights are integers, so the probabilities are exact: each of the n columns
+ * of the table is split in a part of its own value and a part of its alias,
+ * and a single random number in [0, n * total weight) selects both the column
+ * and the part.
+ */
+class AliasDistribution {
+	/** Distinct values. */
+	final int[] values;
+
+	/** Weights of the values. */
+	final int[] weights;
+
+	/** Sum of the weights. */
+	final int total;
+
+	/** Part of each column which belongs to its own value (out of total). */
+	private final int[] thresholds;
+
+	/** Alias value of each column. */
+	private final int[] aliases;
+
+	/**
+	 * Alias distribution constructor.
+	 *
+	 * @param values  Distinct values.
+	 * @param weights Positive weights of the values.
+	 *
+	 * @throws IllegalArgumentException If the weights are not positive or too big.
+	 */
+	AliasDistribution(int[] values, int[] weights) {
+		if (values.length == 0 || values.length != weights.length) {
+			throw new IllegalArgumentException("Values and weights do not match.");
+		}
+
+		long sum = 0;
+		for (int weight : weights) {
+			if (weight <= 0) {
+				throw new IllegalArgumentException("Weight is not positive: " + weight);
+			}
+			sum += weight;
+		}
+		if (sum * values.length > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Total weight is too big: " + sum);
+		}
+
+		this.values = values.clone();
+		this.weights = weights.clone();
+		this.total = (int) sum;
+
+		int n = values.length;
+		thresholds = new int[n];
+		aliases = new int[n];
+
+		/* Vose's construction with the weights scaled by the number of columns. */
+		int[] small = new int[n];
+		int[] large = new int[n];
+		int smalls = 0;
+		int larges = 0;
+		for (int i = 0; i < n; i++) {
+			thresholds[i] = weights[i] * n;
+			aliases[i] = values[i];
+			if (thresholds[i] < total) {
+				small[smalls++] = i;
+			} else {
+				large[larges++] = i;
+			}
+		}
+
+		while (smalls > 0 && larges > 0) {
+			int s = small[--smalls];
+			int l = large[--larges];
+
+			aliases[s] = values[l];
+			thresholds[l] -= total - thresholds[s];
+			if (thresholds[l] < total) {
+				small[smalls++] = l;
+			} else {
+				large[larges++] = l;
+			}
+		}
+
+		/* Remaining columns are full. */
+		while (larges > 0) {
+			thresholds[large[--larges]] = total;
+		}
+		while (smalls > 0) {
+			thresholds[small[--smalls]] = total;
+		}
+	}
+
+	/**
+	 * Alias distribution with the same probabilities as an array of repeated
+	 * values.
+	 *
+	 * @param distribution Values repeated according their weights.
+	 *
+	 * @return Alias distribution.
+	 */
+	static AliasDistribution of(int[] distribution) {
+		Map<Integer, Integer> counts = new TreeMap<Integer, Integer>();
+		for (int value : distribution) {
+			counts.merge(value, 1, Integer::sum);
+		}
+
+		int[] values = new int[counts.size()];
+		int[] weights = new int[counts.size()];
+		int i = 0;
+		for (Map.Entry<Integer, Integer> entry : counts.entrySet()) {
+			values[i] = entry.getKey();
+			weights[i] = entry.getValue();
+			i++;
+		}
+
+		return new AliasDistribution(values, weights);
+	}
+
+	/**
+	 * Sample single value with single random number.
+	 *
+	 * @param prng Pseudo-random number generator.
+	 *
+	 * @return Sampled value.
+	 */
+	int sample(RandomGenerator prng) {
+		int random = prng.nextInt(values.length * total);
+		int column = random / total;
+		return random - column * total < thresholds[column] ? values[column] : aliases[column];
+	}
+}
@@ -0,0 +1,247 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Checkpoints and partial results of the simulation. States of all simulation
+ * contexts are written periodically in single file, so long simulation can be
+ * resumed and partial results of separate simulations can be merged.
+ */
+class Checkpoint {
+	/** Checkpoint file identifier. */
+	private static final int MAGIC = 0x54544351;
+
+	/** Checkpoint file name (null for no checkpoints). */
+	static String fileName = null;
+
+	/** Time between checkpoints in milliseconds. */
+	static long period = 10000L;
+
+	/** Time of the next checkpoint in milliseconds. */
+	static long time = 0L;
+
+	/** Number of the last requested checkpoint. */
+	static volatile int epoch = 0;
+
+	/**
+	 * Seed of the generator of simulation context after a checkpoint. State of
+	 * the most generators can not be saved, so after each checkpoint the
+	 * generators continue with seeds derived from the checkpoint number.
+	 *
+	 * @param epoch Checkpoint number.
+	 * @param index Simulation context index.
+	 *
+	 * @return Seed of the generator.
+	 */
+	static long epochSeed(int epoch, int index) {
+		return new SplittableRandom(Main.masterSeed + 0x9E3779B97F4A7C15L * epoch + 0xBF58476D1CE4E5B9L * index)
+				.nextLong();
+	}
+
+	/**
+	 * Write checkpoint of all simulation contexts if it is time for it. Every
+	 * context saves its own state between two base games, so the simulation
+	 * threads are not stopped while the file is written.
+	 *
+	 * @param workers Simulation contexts.
+	 * @param futures Results of the simulation threads.
+	 * @param force   Write checkpoint regardless of the time.
+	 */
+	static void write(Simulation[] workers, List<Future<?>> futures, boolean force) {
+		if (fileName == null || (force == false && System.currentTimeMillis() < time)) {
+			return;
+		}
+
+		int requested = Checkpoint.epoch + 1;
+		Checkpoint.epoch = requested;
+
+		/* Finished contexts are saved by the reporting thread. */
+		ByteBuffer[] states = new ByteBuffer[workers.length];
+		for (int i = 0; i < workers.length; i++) {
+			while (workers[i].savedEpoch != requested && futures.get(i).isDone() == false) {
+				LockSupport.parkNanos(100000L);
+			}
+			if (workers[i].savedEpoch == requested) {
+				states[i] = workers[i].state;
+			} else {
+				states[i] = workers[i].state();
+			}
+		}
+
+		try {
+			writeStates(fileName, requested, states);
+		} catch (IOException exception) {
+			System.out.println("Checkpoint is not written: " + exception.getMessage());
+		}
+
+		time = System.currentTimeMillis() + period;
+	}
+
+	/**
+	 * Game rules flags stored in the checkpoint.
+	 *
+	 * @return Bit mask of the flags.
+	 */
+	static int flags() {
+		return (Main.freeOff == true ? 1 : 0) | (Main.wildsOff == true ? 2 : 0)
+				| (Main.wildExpandOff == true ? 4 : 0) | (Main.lcgCheck == true ? 8 : 0);
+	}
+
+	/**
+	 * Write states of simulation contexts in a file with fixed layout: header
+	 * (identifier, flags, number of contexts, checkpoint number, seed, number of
+	 * games and generator name), sizes of the states and the states itself. The
+	 * file is written through temporary file and replaced atomically.
+	 *
+	 * @param file   File name.
+	 * @param epoch  Checkpoint number.
+	 * @param states States of the simulation contexts.
+	 *
+	 * @throws IOException If the file can not be written.
+	 */
+	static void writeStates(String file, int epoch, ByteBuffer[] states) throws IOException {
+		byte[] name = Main.generatorName.getBytes(StandardCharsets.UTF_8);
+		ByteBuffer[] buffers = new ByteBuffer[states.length + 1];
+		buffers[0] = ByteBuffer.allocate(4 * 4 + 8 * 2 + 4 + name.length + 4 * states.length);
+		buffers[0].putInt(MAGIC);
+		buffers[0].putInt(flags());
+		buffers[0].putInt(states.length);
+		buffers[0].putInt(epoch);
+		buffers[0].putLong(Main.masterSeed);
+		buffers[0].putLong(Main.numberOfSimulations);
+		buffers[0].putInt(name.length);
+		buffers[0].put(name);
+		for (int i = 0; i < states.length; i++) {
+			buffers[0].putInt(states[i].remaining());
+			buffers[i + 1] = states[i].duplicate();
+		}
+		buffers[0].flip();
+
+		/* New file replaces the old one only when it is completely written. */
+		Path temporary = Paths.get(file + ".tmp");
+		try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffers[buffers.length - 1].hasRemaining() == true) {
+				channel.write(buffers);
+			}
+			channel.force(false);
+		} catch (IOException exception) {
+			Files.deleteIfExists(temporary);
+			throw exception;
+		}
+		Files.move(temporary, Paths.get(file), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * Read states of simulation contexts. Game rules, generator, seed and number
+	 * of games are taken from the file.
+	 *
+	 * @param file File name.
+	 *
+	 * @return Simulation contexts with the saved statistics.
+	 *
+	 * @throws IOException If the file can not be read.
+	 */
+	static Simulation[] readStates(String file) throws IOException {
+		try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+			if (buffer.getInt() != MAGIC) {
+				throw new IOException("Invalid file " + file + ".");
+			}
+
+			int flags = buffer.getInt();
+			Main.freeOff = (flags & 1) != 0;
+			Main.wildsOff = (flags & 2) != 0;
+			Main.wildExpandOff = (flags & 4) != 0;
+			Main.lcgCheck = (flags & 8) != 0;
+
+			Main.numberOfThreads = buffer.getInt();
+			Checkpoint.epoch = buffer.getInt();
+			Main.masterSeed = buffer.getLong();
+			Main.numberOfSimulations = buffer.getLong();
+			byte[] name = new byte[buffer.getInt()];
+			buffer.get(name);
+			Main.generatorName = new String(name, StandardCharsets.UTF_8);
+
+			int[] sizes = new int[Main.numberOfThreads];
+			for (int i = 0; i < sizes.length; i++) {
+				sizes[i] = buffer.getInt();
+			}
+
+			Simulation[] workers = new Simulation[Main.numberOfThreads];
+			for (int i = 0; i < workers.length; i++) {
+				workers[i] = new Simulation();
+				workers[i].index = i;
+				workers[i].epoch = Checkpoint.epoch;
+				workers[i].savedEpoch = Checkpoint.epoch;
+				int end = buffer.position() + sizes[i];
+				workers[i].read(buffer);
+				buffer.position(end);
+			}
+
+			return workers;
+		}
+	}
+
+	/**
+	 * Merge partial results of separate simulations and print the statistics.
+	 *
+	 * @param files Partial results file names.
+	 */
+	static void printMergedStatistics(List<String> files) {
+		Simulation total = new Simulation();
+		int flags = -1;
+		try {
+			for (String file : files) {
+				for (Simulation part : readStates(file)) {
+					total.merge(part);
+				}
+
+				if (flags != -1 && flags != flags()) {
+					System.out.println("Partial results of different game rules: " + file);
+					System.exit(1);
+				}
+				flags = flags();
+			}
+		} catch (IOException exception) {
+			System.out.println("Partial results are not loaded: " + exception.getMessage());
+			System.exit(1);
+		}
+
+		Main.model = Main.createModel();
+		Simulation.printStatistics(total);
+	}
+}
@@ -0,0 +1,601 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Exact RTP of the math model by enumeration of all stops combinations of all
+ * reels strips.
+ */
+class ExactRtp {
+	/** Math model of the enumerated game. */
+	private final GameModel model;
+
+	/**
+	 * Constructor with math model.
+	 *
+	 * @param model Math model of the enumerated game.
+	 */
+	ExactRtp(GameModel model) {
+		this.model = model;
+	}
+
+	/** Sums over all stops combinations of single reels strips set. */
+	private static class ExactSums {
+		/** Number of stops combinations. */
+		long combinations = 0L;
+
+		/** Number of combinations with free spins trigger (3+ scatters). */
+		long triggers = 0L;
+
+		/** Scatter wins in all combinations. */
+		long scatterWins = 0L;
+
+		/** Lines wins of the combinations without wild expansion. */
+		long linesWins = 0L;
+
+		/** Lines wins of the combinations without wild expansion and with trigger. */
+		long triggerLinesWins = 0L;
+
+		/** Expected lines wins of the combinations with wild expansion. */
+		double[] expandedWins = {};
+
+		/** Expected lines wins of the combinations with wild expansion and trigger. */
+		double[] triggerExpandedWins = {};
+
+		/**
+		 * Constructor with number of wilds distributions.
+		 *
+		 * @param size Number of wilds distributions used in the expansion.
+		 */
+		ExactSums(int size) {
+			expandedWins = new double[size];
+			triggerExpandedWins = new double[size];
+		}
+
+		/**
+		 * Add sums of other part of the combinations.
+		 *
+		 * @param other Sums to be added.
+		 */
+		void add(ExactSums other) {
+			combinations += other.combinations;
+			triggers += other.triggers;
+			scatterWins += other.scatterWins;
+			linesWins += other.linesWins;
+			triggerLinesWins += other.triggerLinesWins;
+			for (int t = 0; t < expandedWins.length; t++) {
+				expandedWins[t] += other.expandedWins[t];
+				triggerExpandedWins[t] += other.triggerExpandedWins[t];
+			}
+		}
+
+		/**
+		 * Expected lines win of single combination.
+		 *
+		 * @param t       Index of the wilds distribution.
+		 * @param trigger Only combinations with trigger (true) or all of them (false).
+		 *
+		 * @return Expected lines win.
+		 */
+		double linesWin(int t, boolean trigger) {
+			if (trigger == true) {
+				return (triggerLinesWins + triggerExpandedWins[t]) / combinations;
+			}
+			return (linesWins + expandedWins[t]) / combinations;
+		}
+	}
+
+	/**
+	 * Distribution of the wild expansion over the cells of every line. Cells are
+	 * selected in the same order and with the same probabilities as in the
+	 * expandWild. Bit i of the line mask is set when the cell of the line on reel
+	 * i turns into wild.
+	 *
+	 * @param thresholds    Wild expansion percentages.
+	 * @param numberOfWilds Number of wilds on the screen (1 or 2).
+	 * @param eligible      Cells which can turn into wild (bit i*3+j for cell i,j).
+	 *
+	 * @return Probabilities of the line masks for every line.
+	 */
+	private double[][] expansionDistribution(int[][] thresholds, int numberOfWilds, int eligible) {
+		int limit = numberOfWilds == 1 ? 3 : 2;
+		int last = thresholds.length - 1;
+
+		double[][] result = new double[model.lines.length][];
+		for (int l = 0; l < model.lines.length; l++) {
+			/* Probabilities by number of selected cells and line mask. */
+			double[][] states = new double[limit + 1][1 << thresholds.length];
+			states[0][0] = 1D;
+
+			for (int j = 0; j < 3; j++) {
+				for (int i = 0; i < thresholds.length; i++) {
+					double p = Math.min(100, Math.max(0, thresholds[i][j])) / 100D;
+					if ((eligible & 1 << (i * 3 + j)) == 0 || p == 0) {
+						continue;
+					}
+
+					/* Only first selected cells are turned into wilds. */
+					int bit = model.lines[l][i] == j ? 1 << i : 0;
+					for (int c = limit; c >= 0; c--) {
+						for (int m = 0; m < states[c].length; m++) {
+							double q = states[c][m];
+							if (q == 0) {
+								continue;
+							}
+							states[c][m] = q * (1D - p);
+							states[Math.min(c + 1, limit)][c < limit ? m | bit : m] += q * p;
+						}
+					}
+				}
+			}
+
+			/* Cells on the last reel are forced when too few cells are selected. */
+			int row = model.lines[l][last];
+			double[] distribution = new double[1 << thresholds.length];
+			for (int c = 0; c <= limit; c++) {
+				for (int m = 0; m < states[c].length; m++) {
+					int forced = 0;
+					if (numberOfWilds == 1 && c == 0 && row == 1) {
+						forced = (eligible & 1 << (last * 3 + 1));
+					}
+					if (numberOfWilds == 2 && c == 0 && row != 1) {
+						forced = (eligible & 1 << (last * 3 + row));
+					}
+					if (numberOfWilds == 2 && c == 1 && row == 1) {
+						forced = (eligible & 1 << (last * 3 + 1));
+					}
+					distribution[forced != 0 ? m | 1 << last : m] += states[c][m];
+				}
+			}
+			result[l] = distribution;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Sum of the wins of single line over all symbols on it. Line is evaluated as
+	 * in lineWin, by the first regular symbol and the number of the same symbols
+	 * (or substituted wilds) from left to right.
+	 *
+	 * @param cells Number of combinations with each symbol for each cell of the
+	 *              line.
+	 *
+	 * @return Sum of the line wins.
+	 */
+	private long lineWinsSum(long[][] cells) {
+		long[] totals = new long[cells.length + 1];
+		totals[cells.length] = 1L;
+		for (int i = cells.length - 1; i >= 0; i--) {
+			long total = 0L;
+			for (long count : cells[i]) {
+				total += count;
+			}
+			totals[i] = total;
+		}
+
+		/* Product of the cells totals after each reel. */
+		long[] rest = new long[cells.length + 1];
+		rest[cells.length] = 1L;
+		for (int i = cells.length - 1; i >= 0; i--) {
+			rest[i] = rest[i + 1] * totals[i];
+		}
+
+		long sum = 0L;
+		for (int symbol = 3; symbol < model.paytable[0].length; symbol++) {
+			/* Lines of wilds only and lines with still running combination. */
+			long wildsOnly = 1L;
+			long[] running = new long[cells.length + 1];
+
+			for (int i = 0; i < cells.length; i++) {
+				long wild = cells[i][1] + cells[i][2];
+				long matching = cells[i][symbol] + (model.wildsOff == false ? wild : 0L);
+
+				long[] next = new long[cells.length + 1];
+				for (int k = 1; k <= i; k++) {
+					next[k + 1] += running[k] * matching;
+					sum += running[k] * (totals[i] - matching) * rest[i + 1] * model.paytable[k][symbol];
+				}
+				next[i + 1] += wildsOnly * cells[i][symbol];
+
+				wildsOnly *= model.wildsOff == false ? wild : 0L;
+				running = next;
+			}
+
+			sum += running[cells.length] * model.paytable[cells.length][symbol];
+		}
+
+		return sum;
+	}
+
+	/**
+	 * Exact sums over all stops combinations of single reels strips set. Stops of
+	 * every reel are grouped by the positions of wilds and scatters on the screen.
+	 * Trigger, scatter win and wild expansion depend only on these groups and in
+	 * each group of combinations the symbols of the line cells are independent
+	 * from reel to reel, so the line wins are summed line by line. The result is
+	 * the same as the enumeration of the combinations one by one.
+	 *
+	 * @param strips     Reels strips.
+	 * @param tables     Indices of the wilds distributions in the wilds sets.
+	 * @param expansions Cache of the wild expansion distributions.
+	 *
+	 * @return Sums over all combinations.
+	 */
+	private ExactSums exactSums(int[][] strips, int[] tables, Map<Long, double[][]> expansions) {
+		/* Groups of stops (0 regular, 1 wild, 2 scatter for each cell) on each reel. */
+		List<List<Integer>> patterns = new ArrayList<List<Integer>>();
+		List<List<long[][]>> symbolsCounts = new ArrayList<List<long[][]>>();
+		List<List<Long>> stopsCounts = new ArrayList<List<Long>>();
+		for (int i = 0; i < strips.length; i++) {
+			patterns.add(new ArrayList<Integer>());
+			symbolsCounts.add(new ArrayList<long[][]>());
+			stopsCounts.add(new ArrayList<Long>());
+			int length = strips[i].length;
+			for (int r = 0; r < length; r++) {
+				int pattern = 0;
+				for (int j = 2; j >= 0; j--) {
+					int symbol = strips[i][(r - 1 + j + length) % length];
+					pattern = 3 * pattern + (symbol == 1 ? 1 : symbol == 16 ? 2 : 0);
+				}
+
+				int index = patterns.get(i).indexOf(pattern);
+				if (index == -1) {
+					index = patterns.get(i).size();
+					patterns.get(i).add(pattern);
+					symbolsCounts.get(i).add(new long[3][model.symbols.length]);
+					stopsCounts.get(i).add(0L);
+				}
+				for (int j = 0; j < 3; j++) {
+					symbolsCounts.get(i).get(index)[j][strips[i][(r - 1 + j + length) % length]]++;
+				}
+				stopsCounts.get(i).set(index, stopsCounts.get(i).get(index) + 1);
+			}
+		}
+
+		ExactSums sums = new ExactSums(tables.length);
+		int[] group = new int[strips.length];
+		while (true) {
+			/* Properties of the group of combinations. */
+			long combinations = 1L;
+			int w = 0;
+			int s = 0;
+			int eligible = 0;
+			for (int i = 0; i < strips.length; i++) {
+				combinations *= stopsCounts.get(i).get(group[i]);
+				for (int j = 0, pattern = patterns.get(i).get(group[i]); j < 3; j++, pattern /= 3) {
+					if (pattern % 3 == 1) {
+						w++;
+					} else if (pattern % 3 == 2) {
+						s++;
+					} else {
+						eligible |= 1 << (i * 3 + j);
+					}
+				}
+			}
+			boolean trigger = s >= 3;
+
+			sums.combinations += combinations;
+			sums.scatterWins += combinations * model.scatterMultipliers[s] * model.totalBet;
+			if (trigger == true) {
+				sums.triggers += combinations;
+			}
+
+			/* Line wins with cells of the mask turned into wilds. */
+			long[][] wins = new long[model.lines.length][1 << strips.length];
+			for (long[] values : wins) {
+				Arrays.fill(values, -1L);
+			}
+			long[][] cells = new long[strips.length][];
+			for (int l = 0; l < model.lines.length; l++) {
+				if (model.wildExpandOff == false && (w == 1 || w == 2)) {
+					continue;
+				}
+				for (int i = 0; i < strips.length; i++) {
+					cells[i] = symbolsCounts.get(i).get(group[i])[model.lines[l][i]];
+				}
+				long win = lineWinsSum(cells);
+
+				sums.linesWins += win;
+				if (trigger == true) {
+					sums.triggerLinesWins += win;
+				}
+			}
+
+			for (int t = 0; t < tables.length && model.wildExpandOff == false && (w == 1 || w == 2); t++) {
+				int[][] thresholds = model.wildsSets[tables[t]][w];
+				int numberOfWilds = w;
+				int mask = eligible;
+				double[][] distribution = expansions.computeIfAbsent(
+						(long) tables[t] << 20 | (long) w << 16 | mask,
+						key -> expansionDistribution(thresholds, numberOfWilds, mask));
+
+				double expected = 0D;
+				for (int l = 0; l < model.lines.length; l++) {
+					for (int m = 0; m < distribution[l].length; m++) {
+						if (distribution[l][m] == 0) {
+							continue;
+						}
+						if (wins[l][m] == -1L) {
+							for (int i = 0; i < strips.length; i++) {
+								if ((m & 1 << i) != 0) {
+									cells[i] = new long[model.symbols.length];
+									cells[i][1] = stopsCounts.get(i).get(group[i]);
+								} else {
+									cells[i] = symbolsCounts.get(i).get(group[i])[model.lines[l][i]];
+								}
+							}
+							wins[l][m] = lineWinsSum(cells);
+						}
+						expected += distribution[l][m] * wins[l][m];
+					}
+				}
+
+				sums.expandedWins[t] += expected;
+				if (trigger == true) {
+					sums.triggerExpandedWins[t] += expected;
+				}
+			}
+
+			/* Next group of combinations. */
+			int i = strips.length - 1;
+			while (i >= 0 && group[i] == patterns.get(i).size() - 1) {
+				group[i] = 0;
+				i--;
+			}
+			if (i < 0) {
+				break;
+			}
+			group[i]++;
+		}
+
+		return sums;
+	}
+
+	/**
+	 * Probabilities of the values in discrete distribution.
+	 *
+	 * @param distribution Discrete distribution.
+	 *
+	 * @return Probability of each value indexed by the value.
+	 */
+	private static double[] probabilities(int[] distribution) {
+		int max = 0;
+		for (int value : distribution) {
+			max = Math.max(max, value);
+		}
+
+		double[] result = new double[max + 1];
+		for (int value : distribution) {
+			result[value] += 1D / distribution.length;
+		}
+
+		return result;
+	}
+
+	/**
+	 * Expected value of discrete distribution.
+	 *
+	 * @param distribution Discrete distribution.
+	 *
+	 * @return Expected value.
+	 */
+	private static double expectation(int[] distribution) {
+		double sum = 0D;
+		for (int value : distribution) {
+			sum += value;
+		}
+		return sum / distribution.length;
+	}
+
+	/**
+	 * Binomial distribution probabilities.
+	 *
+	 * @param n Number of trials.
+	 * @param p Probability of success.
+	 *
+	 * @return Probability of each number of successes.
+	 */
+	private static double[] binomial(int n, double p) {
+		double[] result = new double[n + 1];
+		result[0] = 1D;
+		for (int k = 0; k < n; k++) {
+			for (int i = k + 1; i > 0; i--) {
+				result[i] = result[i] * (1D - p) + result[i - 1] * p;
+			}
+			result[0] *= 1D - p;
+		}
+		return result;
+	}
+
+	/**
+	 * Expected number of free spins played on each reels strips after single
+	 * trigger. Free spins are played in order of the queue, so all FS1 games are
+	 * played before FS2 games and all of them before FS3 games. First re-trigger
+	 * adds FS2 games, every next re-trigger adds FS3 games.
+	 *
+	 * @param retriggers Probabilities of re-trigger in FS1, FS2 and FS3.
+	 *
+	 * @return Expected number of free spins in FS1, FS2 and FS3.
+	 */
+	private double[] expectedFreeGames(double[] retriggers) {
+		double[] initial = probabilities(model.scatterDistritutions[0]);
+		double[] first = probabilities(model.scatterDistritutions[1]);
+
+		/* Distribution of the number of re-triggers in FS1 and FS2 games. */
+		double[] triggers = new double[initial.length + first.length];
+		double none = 0D;
+		for (int n0 = 0; n0 < initial.length; n0++) {
+			if (initial[n0] == 0) {
+				continue;
+			}
+			double[] x1 = binomial(n0, retriggers[0]);
+			none += initial[n0] * x1[0];
+			triggers[0] += initial[n0] * x1[0];
+			for (int k1 = 1; k1 <= n0; k1++) {
+				for (int n1 = 0; n1 < first.length; n1++) {
+					if (first[n1] == 0) {
+						continue;
+					}
+					double[] x2 = binomial(n1, retriggers[1]);
+					for (int k2 = 0; k2 <= n1; k2++) {
+						triggers[k1 + k2] += initial[n0] * x1[k1] * first[n1] * x2[k2];
+					}
+				}
+			}
+		}
+
+		/* Second re-trigger adds FS3 games by FS2 distribution, all others by FS3. */
+		double third = 0D;
+		for (int t = 2; t < triggers.length; t++) {
+			third += triggers[t]
+					* (expectation(model.scatterDistritutions[2])
+							+ (t - 2) * expectation(model.scatterDistritutions[3]));
+		}
+
+		/* FS3 games re-trigger FS3 games. */
+		double growth = retriggers[2] * expectation(model.scatterDistritutions[3]);
+
+		return new double[] { expectation(model.scatterDistritutions[0]),
+				(1D - none) * expectation(model.scatterDistritutions[1]),
+				growth < 1D ? third / (1D - growth) : Double.POSITIVE_INFINITY };
+	}
+
+	/**
+	 * Calculate exact RTP by enumeration of all stops combinations of all reels
+	 * strips. Wild expansion, free spins number, free spins multipliers and base
+	 * reels selection are taken by their exact probabilities.
+	 */
+	void print() {
+		Map<Long, double[][]> expansions = new HashMap<Long, double[][]>();
+
+		System.out.println("Reels\tCombinations\tLines\tScatters\tTriggers\tTime (s)");
+
+		/* Free spins use the wilds distributions of the base game reels. */
+		int[] baseTables = new int[model.baseReels.length];
+		for (int r = 0; r < baseTables.length; r++) {
+			baseTables[r] = r;
+		}
+		ExactSums[] free = new ExactSums[model.freeReels.length];
+		for (int s = 0; s < model.freeReels.length; s++) {
+			long time = System.currentTimeMillis();
+			free[s] = exactSums(model.freeReels[s], baseTables, expansions);
+			System.out.println("Free " + (s + 1) + "\t" + free[s].combinations + "\t" + free[s].linesWin(0, false)
+					+ "\t" + ((double) free[s].scatterWins / free[s].combinations) + "\t"
+					+ ((double) free[s].triggers / free[s].combinations) + "\t"
+					+ (System.currentTimeMillis() - time) / 1000D);
+		}
+
+		ExactSums[] base = new ExactSums[model.baseReels.length];
+		for (int r = 0; r < model.baseReels.length; r++) {
+			long time = System.currentTimeMillis();
+			base[r] = exactSums(model.baseReels[r], new int[] { r }, expansions);
+			System.out.println("Base " + (r + 1) + "\t" + base[r].combinations + "\t" + base[r].linesWin(0, false)
+					+ "\t" + ((double) base[r].scatterWins / base[r].combinations) + "\t"
+					+ ((double) base[r].triggers / base[r].combinations) + "\t"
+					+ (System.currentTimeMillis() - time) / 1000D);
+		}
+
+		double[] retriggers = new double[free.length];
+		for (int s = 0; s < free.length; s++) {
+			retriggers[s] = (double) free[s].triggers / free[s].combinations;
+		}
+		double[] games = expectedFreeGames(retriggers);
+		double multiplier = expectation(model.freeMultiplierDistribution);
+		double[] strips = probabilities(model.baseStripsDistribution);
+
+		double baseWin = 0D;
+		double freeWin = 0D;
+		double hitRate = 0D;
+		for (int r = 0; r < base.length; r++) {
+			double trigger = (double) base[r].triggers / base[r].combinations;
+
+			/* Base game line wins in the trigger spin already take the multiplier. */
+			baseWin += strips[r + 1] * (base[r].linesWin(0, false)
+					+ (multiplier - 1D) * base[r].linesWin(0, true)
+					+ (double) base[r].scatterWins / base[r].combinations);
+
+			double feature = 0D;
+			for (int s = 0; s < free.length && model.freeOff == false; s++) {
+				feature += games[s]
+						* (multiplier * free[s].linesWin(r, false) + (double) free[s].scatterWins / free[s].combinations);
+			}
+
+			freeWin += strips[r + 1] * trigger * feature;
+			hitRate += strips[r + 1] * trigger;
+		}
+
+		System.out.println();
+		System.out.println("Expected free spins per trigger:\t" + games[0] + "\t" + games[1] + "\t" + games[2]);
+		System.out.println();
+		System.out.println("Total RTP:\t" + ((baseWin + freeWin) / model.totalBet) + "\t\t"
+				+ (100.0D * (baseWin + freeWin) / model.totalBet) + "%");
+		System.out.println("Base Game RTP:\t" + (baseWin / model.totalBet) + "\t\t"
+				+ (100.0D * baseWin / model.totalBet) + "%");
+		System.out.println("Free Game RTP:\t" + (freeWin / model.totalBet) + "\t\t"
+				+ (100.0D * freeWin / model.totalBet) + "%");
+		System.out.println();
+		System.out.println("Hit Frequency into Free Game:\t" + hitRate + "\t\t" + (100.0D * hitRate) + "%");
+	}
+
+	/**
+	 * Exact probability of free spins trigger (3 or more scatters) in base game
+	 * with the selected reels strips. The numbers of scatters on the separate
+	 * reels are convolved.
+	 *
+	 * @param windows Packed windows of the base game reels strips.
+	 *
+	 * @return Trigger probability.
+	 */
+	static double triggerProbability(int[][] windows) {
+		double[] scatters = { 1D };
+		for (int i = 0; i < windows.length; i++) {
+			double[] reel = new double[4];
+			for (int window : windows[i]) {
+				int number = 0;
+				for (int k = 0; k < 3; k++) {
+					number += (window >>> (5 * k) & 0x1F) == 16 ? 1 : 0;
+				}
+				reel[number] += 1D / windows[i].length;
+			}
+
+			double[] next = new double[scatters.length + 3];
+			for (int a = 0; a < scatters.length; a++) {
+				for (int b = 0; b < reel.length; b++) {
+					next[a + b] += scatters[a] * reel[b];
+				}
+			}
+			scatters = next;
+		}
+
+		double probability = 0;
+		for (int n = 3; n < scatters.length; n++) {
+			probability += scatters[n];
+		}
+		return probability;
+	}
+}
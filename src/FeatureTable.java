@@ -0,0 +1,126 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Free spins feature payouts table. Payouts of whole features are played in
+ * advance for every base game strips and multiplier, so the simulation takes
+ * the free spins win of a trigger from the table instead of playing it.
+ */
+class FeatureTable {
+	/** Default number of payouts of every key in the feature payouts table. */
+	static final int DEFAULT_SIZE = 100000;
+
+	/** Number of payouts of every key in the feature payouts table (zero for played free spins). */
+	static int size = 0;
+
+	/** Standard error of the free spins win per base game of the feature payouts table (zero for no table). */
+	static double error = 0D;
+
+	/**
+	 * Build the free spins feature payouts table by playing features of every
+	 * base game strips and multiplier in parallel threads. Free game RTP of the
+	 * table and its standard error are reported by the exact trigger
+	 * probabilities of the strips. The simulation can not get closer to the
+	 * exact RTP than the table itself, so the error is kept for the confidence
+	 * intervals.
+	 *
+	 * @param model Math model without the table.
+	 * @param seed  Seed of the generators.
+	 *
+	 * @return Math model with the table.
+	 */
+	static GameModel build(GameModel model, long seed) {
+		long time = System.nanoTime();
+		SplittableRandom seeds = new SplittableRandom(seed);
+		int[] multipliers = model.freeMultipliers.values;
+		int maximum = 0;
+		for (int multiplier : multipliers) {
+			maximum = Math.max(maximum, multiplier);
+		}
+
+		int[][][] wins = new int[model.windowsSets.length][maximum + 1][0];
+		int[][][] games = new int[model.windowsSets.length][maximum + 1][0];
+		ExecutorService executor = Executors.newFixedThreadPool(Main.numberOfThreads);
+		List<Future<?>> futures = new ArrayList<Future<?>>();
+		for (int r = 0; r < wins.length; r++) {
+			for (int multiplier : multipliers) {
+				int strips = r;
+				GameEngine engine = new GameEngine(model, Main.createGenerator(seeds.nextLong()));
+				wins[r][multiplier] = new int[size];
+				games[r][multiplier] = new int[size];
+				futures.add(executor.submit(() -> {
+					for (int k = 0; k < size; k++) {
+						GameResult result = engine.playFreeGames(strips, multiplier);
+						wins[strips][multiplier][k] = result.freeWin;
+						games[strips][multiplier][k] = result.freeGames;
+					}
+				}));
+			}
+		}
+		executor.shutdown();
+
+		try {
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException | ExecutionException exception) {
+			throw new RuntimeException(exception);
+		}
+		time = System.nanoTime() - time;
+
+		/* Free game RTP of the table by the exact trigger probabilities of the strips. */
+		double rtp = 0;
+		double variance = 0;
+		for (int i = 0; i < model.baseStrips.values.length; i++) {
+			int r = model.baseStrips.values[i] - 1;
+			double trigger = (double) model.baseStrips.weights[i] / model.baseStrips.total
+					* ExactRtp.triggerProbability(model.windowsSets[r][0]);
+			for (int j = 0; j < multipliers.length; j++) {
+				RunningStatistics payouts = new RunningStatistics();
+				for (int payout : wins[r][multipliers[j]]) {
+					payouts.add(payout);
+				}
+				double probability = trigger * model.freeMultipliers.weights[j] / model.freeMultipliers.total;
+				rtp += probability * payouts.mean;
+				variance += probability * probability * payouts.variance() / size;
+			}
+		}
+		error = Math.sqrt(variance);
+
+		System.out.println("Feature table:\t" + wins.length * multipliers.length + " keys\t" + size
+				+ " payouts per key\t" + (8L * size * wins.length * multipliers.length) + " bytes\t"
+				+ (time / 1000000L) + " ms");
+		System.out.println("Free Game RTP of the table:\t" + (rtp / model.totalBet) + "\t\t+/-"
+				+ (Simulation.CONFIDENCE_Z * error / model.totalBet));
+		System.out.println();
+
+		return model.withFeatureTable(wins, games);
+	}
+}
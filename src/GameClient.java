@@ -0,0 +1,251 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Load generator of the game server. Every connection sends its requests one
+ * after another and the round trip time of each request is counted in a
+ * latency histogram.
+ */
+class GameClient {
+	/** Number of linear sub-buckets of every power of two (below 1% of the value). */
+	private static final int SUB_BUCKETS = 128;
+
+	/** Number of bits of the sub-bucket index. */
+	private static final int SUB_BITS = 7;
+
+	/**
+	 * Latency histogram in nanoseconds with logarithmic buckets split into
+	 * linear sub-buckets, so the percentiles of tens of microseconds and of
+	 * milliseconds have the same relative precision.
+	 */
+	private static class LatencyHistogram {
+		/** Counters of the buckets. */
+		final long[] counts = new long[(64 - SUB_BITS) * SUB_BUCKETS];
+
+		/** Maximum latency in nanoseconds. */
+		long max = 0;
+
+		/**
+		 * Bucket index of latency. Values below the number of sub-buckets have own
+		 * bucket and bigger values are split by their highest bit and the next
+		 * bits.
+		 *
+		 * @param nanos Latency in nanoseconds.
+		 *
+		 * @return Bucket index.
+		 */
+		static int bucket(long nanos) {
+			int bits = 64 - Long.numberOfLeadingZeros(nanos);
+			if (bits <= SUB_BITS) {
+				return (int) nanos;
+			}
+			return (bits - SUB_BITS) * SUB_BUCKETS + (int) (nanos >>> (bits - SUB_BITS - 1) & (SUB_BUCKETS - 1));
+		}
+
+		/**
+		 * Lower bound of bucket in nanoseconds.
+		 *
+		 * @param bucket Bucket index.
+		 *
+		 * @return Lower bound (inclusive).
+		 */
+		static long lower(int bucket) {
+			if (bucket < SUB_BUCKETS) {
+				return bucket;
+			}
+			return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (bucket / SUB_BUCKETS - 1);
+		}
+
+		/**
+		 * Width of bucket in nanoseconds.
+		 *
+		 * @param bucket Bucket index.
+		 *
+		 * @return Width of the bucket.
+		 */
+		static long width(int bucket) {
+			if (bucket < SUB_BUCKETS) {
+				return 1L;
+			}
+			return 1L << (bucket / SUB_BUCKETS - 1);
+		}
+
+		/**
+		 * Count single latency.
+		 *
+		 * @param nanos Latency in nanoseconds.
+		 */
+		void add(long nanos) {
+			counts[bucket(Math.max(0L, nanos))]++;
+			if (max < nanos) {
+				max = nanos;
+			}
+		}
+
+		/**
+		 * Add counters of other histogram.
+		 *
+		 * @param other Other histogram.
+		 */
+		void merge(LatencyHistogram other) {
+			for (int i = 0; i < counts.length; i++) {
+				counts[i] += other.counts[i];
+			}
+			max = Math.max(max, other.max);
+		}
+
+		/**
+		 * Latency percentile interpolated inside of its bucket.
+		 *
+		 * @param percent Percentile (0 to 100).
+		 *
+		 * @return Latency in microseconds.
+		 */
+		double percentile(double percent) {
+			long total = 0;
+			for (long count : counts) {
+				total += count;
+			}
+
+			double rank = total * percent / 100D;
+			long cumulative = 0;
+			for (int i = 0; i < counts.length; i++) {
+				if (counts[i] > 0 && cumulative + counts[i] >= rank) {
+					double nanos = lower(i) + width(i) * Math.max(0D, rank - cumulative) / counts[i];
+					return Math.min(nanos, max) / 1000D;
+				}
+				cumulative += counts[i];
+			}
+			return max / 1000D;
+		}
+	}
+
+	/**
+	 * Play requests over single connection.
+	 *
+	 * @param host     Server host.
+	 * @param port     Server port.
+	 * @param requests Number of requests.
+	 *
+	 * @return Latency histogram of the connection.
+	 *
+	 * @throws IOException If the connection fails.
+	 */
+	private static LatencyHistogram connection(String host, int port, long requests) throws IOException {
+		LatencyHistogram histogram = new LatencyHistogram();
+		try (Socket socket = new Socket(host, port)) {
+			socket.setTcpNoDelay(true);
+			InputStream in = new BufferedInputStream(socket.getInputStream(), 1 << 16);
+			OutputStream out = socket.getOutputStream();
+			byte[] request = { '\n' };
+
+			for (long r = 0; r < requests; r++) {
+				long start = System.nanoTime();
+				out.write(request);
+
+				int b = in.read();
+				while (b != '\n' && b != -1) {
+					b = in.read();
+				}
+				if (b == -1) {
+					throw new IOException("Connection closed by the server.");
+				}
+
+				histogram.add(System.nanoTime() - start);
+			}
+		}
+		return histogram;
+	}
+
+	/**
+	 * Run the load and print the latency report.
+	 *
+	 * @param host        Server host.
+	 * @param port        Server port.
+	 * @param connections Number of parallel connections.
+	 * @param requests    Total number of requests.
+	 */
+	static void run(String host, int port, int connections, long requests) {
+		ExecutorService executor = GameServer.connectionsExecutor();
+		List<Future<LatencyHistogram>> futures = new ArrayList<Future<LatencyHistogram>>();
+
+		long time = System.nanoTime();
+		for (int c = 0; c < connections; c++) {
+			long share = requests / connections + (c < requests % connections ? 1 : 0);
+			futures.add(executor.submit(() -> connection(host, port, share)));
+		}
+
+		LatencyHistogram total = new LatencyHistogram();
+		try {
+			for (Future<LatencyHistogram> future : futures) {
+				total.merge(future.get());
+			}
+		} catch (InterruptedException | ExecutionException exception) {
+			System.out.println("Load is not completed: " + exception.getCause());
+			System.exit(1);
+		}
+		time = System.nanoTime() - time;
+		executor.shutdown();
+
+		System.out.println("Requests:\t" + requests);
+		System.out.println("Connections:\t" + connections);
+		System.out.println("Time (s):\t" + (time / 1000000000D));
+		System.out.println("Throughput (spins/s):\t" + (requests * 1000000000D / time));
+		System.out.println();
+		System.out.println("Latency p50 (us):\t" + total.percentile(50));
+		System.out.println("Latency p90 (us):\t" + total.percentile(90));
+		System.out.println("Latency p99 (us):\t" + total.percentile(99));
+		System.out.println("Latency p99.9 (us):\t" + total.percentile(99.9));
+		System.out.println("Latency max (us):\t" + (total.max / 1000D));
+		System.out.println();
+
+		/* Buckets are grouped by doubling ranges of microseconds. */
+		System.out.println("Latency up to (us)\tCount");
+		long count = 0;
+		long limit = 1;
+		for (int i = 0; i < total.counts.length; i++) {
+			long upper = LatencyHistogram.lower(i) + LatencyHistogram.width(i);
+			while (upper > limit * 1000L && limit < Long.MAX_VALUE / 2000L) {
+				if (count > 0) {
+					System.out.println(limit + "\t" + count);
+				}
+				count = 0;
+				limit *= 2;
+			}
+			count += total.counts[i];
+		}
+		if (count > 0) {
+			System.out.println(limit + "\t" + count);
+		}
+	}
+}
@@ -0,0 +1,638 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Game engine plays base games with their free spins according to immutable
+ * math model. All mutable data of the game is in the engine state, so many
+ * engines can share single model and can be played in separate threads
+ * without locks.
+ */
+class GameEngine {
+	/** Bound of a long with nine decimal digit pairs. */
+	private static final long DIGIT_PAIRS = 1000000000000000000L;
+
+	/** Math model of the game. */
+	final GameModel model;
+
+	/** Mutable state of the game. */
+	final GameState state;
+
+	/** Result of the last base game (reused for every game). */
+	private final GameResult result;
+
+	/** Alternative lines evaluation (null for the scalar evaluation). */
+	LinesEvaluator evaluator = null;
+
+	/** Reference wild expansion (one random number for each screen cell). */
+	boolean expandReference = false;
+
+	/** Live metrics of the simulation (null for no metrics). */
+	SimulationMetrics metrics = null;
+
+	/** Stages of the current game are timed (only sampled games are timed). */
+	boolean timing = false;
+
+	/** Start of the current timed game in nanoseconds. */
+	long gameTime = 0L;
+
+	/** Start of the current stage of the timed game in nanoseconds. */
+	long stageTime = 0L;
+
+	/** Counter of the games for the sampling of the timed games. */
+	private int sampledGames = 0;
+
+	/** Winning symbols of the lines evaluated by the alternative evaluation. */
+	private final int[] lineSymbols;
+
+	/** Numbers of winning symbols of the lines evaluated by the alternative evaluation. */
+	private final int[] lineNumbers;
+
+	/** Wins of the lines evaluated by the alternative evaluation. */
+	private final int[] lineWins;
+
+	/**
+	 * Game engine constructor.
+	 *
+	 * @param model Math model of the game.
+	 * @param prng  Pseudo-random number generator of the engine.
+	 */
+	GameEngine(GameModel model, RandomGenerator prng) {
+		this.model = model;
+		this.state = new GameState(prng);
+		this.result = new GameResult(model.lines.length, state.view);
+		this.lineSymbols = new int[model.lines.length];
+		this.lineNumbers = new int[model.lines.length];
+		this.lineWins = new int[model.lines.length];
+	}
+
+	/**
+	 * Single reels spin to fill view with symbols. Every reel is a single load of
+	 * the packed window of the stop.
+	 *
+	 * @param windows Packed windows of the reels strips.
+	 */
+	void spin(int[][] windows) {
+		int[][] view = state.view;
+		RandomGenerator prng = state.prng;
+
+		int[] stops = state.stops;
+
+		for (int i = 0; i < view.length && i < windows.length; i++) {
+			stops[i] = prng.nextInt(windows[i].length);
+			int window = windows[i][stops[i]];
+			view[i][0] = window & 0x1F;
+			view[i][1] = (window >>> 5) & 0x1F;
+			view[i][2] = window >>> 10;
+		}
+	}
+
+	/**
+	 * Reels spin with stops chosen by the caller (stratified or antithetic
+	 * sampling of the stops).
+	 *
+	 * @param windows Packed windows of the reels strips.
+	 * @param stops   Stop of every reel.
+	 */
+	void spin(int[][] windows, int[] stops) {
+		int[][] view = state.view;
+		System.arraycopy(stops, 0, state.stops, 0, Math.min(stops.length, state.stops.length));
+
+		for (int i = 0; i < view.length && i < windows.length; i++) {
+			int window = windows[i][stops[i]];
+			view[i][0] = window & 0x1F;
+			view[i][1] = (window >>> 5) & 0x1F;
+			view[i][2] = window >>> 10;
+		}
+	}
+
+	/**
+	 * Calculate win in particular line. Symbols are read directly from the screen
+	 * view and the wilds are substituted on the fly, so nothing is allocated.
+	 *
+	 * @param view Symbols visible in screen view.
+	 * @param line Single line.
+	 *
+	 * @return Calculated win.
+	 */
+	int lineWin(int[][] view, int[] line) {
+		int symbol = 0;
+		int number = 0;
+		int win = 0;
+
+		if (model.lineWinsTable != null) {
+			/* Single lookup of the precomputed outcome. */
+			int outcome = model.lineWinsTable[view[0][line[0]] | view[1][line[1]] << 5 | view[2][line[2]] << 10
+					| view[3][line[3]] << 15 | view[4][line[4]] << 20];
+			symbol = model.outcomeSymbol[outcome];
+			number = model.outcomeNumber[outcome];
+			win = model.outcomeWin[outcome];
+		} else {
+			/* Keep first symbol in the line. */
+			symbol = view[0][line[0]];
+
+			/* Wild symbol passing to find first regular symbol. */
+			for (int i = 0; i < line.length; i++) {
+				/* First no wild symbol found. */
+				if (symbol != 1 && symbol != 2) {
+					break;
+				}
+
+				symbol = view[i][line[i]];
+			}
+
+			/*
+			 * Count symbols in winning line. Wilds are counted as the regular symbol when
+			 * substitution is on. Other wild are artificial they are not part of the pay
+			 * table.
+			 */
+			for (int i = 0; i < line.length; i++) {
+				int current = view[i][line[i]];
+				if (current == symbol || (model.wildsOff == false && (current == 1 || current == 2))) {
+					number++;
+				} else {
+					break;
+				}
+			}
+
+			win = model.paytable[number][symbol];
+		}
+
+		/* There is multiplier in free games mode. */
+		if (state.freeGamesRemaining > 0) {
+			win *= state.freeGamesMultiplier;
+		}
+
+		if (win > 0 && state.freeGamesRemaining == 0) {
+			result.addLine(symbol, number, win);
+		}
+
+		return (win);
+	}
+
+	/**
+	 * Calculate win in all possible lines.
+	 *
+	 * @param view Symbols visible in screen view.
+	 *
+	 * @return Calculated win.
+	 */
+	int linesWin(int[][] view) {
+		int win = 0;
+
+		/* Winning lines are reported only for the base game spin. */
+		if (state.freeGamesRemaining == 0) {
+			result.winningLines = 0;
+		}
+
+		if (evaluator != null) {
+			win = evaluator.linesWin(view, lineSymbols, lineNumbers, lineWins);
+
+			/* There is multiplier in free games mode. */
+			if (state.freeGamesRemaining > 0) {
+				return (win * state.freeGamesMultiplier);
+			}
+
+			for (int l = 0; l < lineWins.length && win > 0; l++) {
+				if (lineWins[l] > 0) {
+					result.line = l;
+					result.addLine(lineSymbols[l], lineNumbers[l], lineWins[l]);
+				}
+			}
+
+			return (win);
+		}
+
+		/* Check wins in all possible lines. */
+		for (int l = 0; l < model.lines.length; l++) {
+			/* Accumulate line win. */
+			result.line = l;
+			win += lineWin(view, model.lines[l]);
+		}
+
+		return (win);
+	}
+
+	/** Setup parameters for free spins mode. */
+	void freeGamesSetup() {
+		int[][] view = state.view;
+		RandomGenerator prng = state.prng;
+
+		int numberOfScatters = 0;
+		int numberOfWilds = 0;
+		for (int i = 0; i < view.length; i++) {
+			for (int j = 0; j < view[i].length; j++) {
+				if (view[i][j] == 1) {
+					numberOfWilds++;
+				}
+				if (view[i][j] == 16) {
+					numberOfScatters++;
+				}
+			}
+		}
+
+		state.scatterMultiplier = model.scatterMultipliers[numberOfScatters];
+
+		/* In base game 3+ scatters turn into free spins. */
+		if (numberOfScatters < 3 && state.freeGamesRemaining == 0) {
+			return;
+		} else if (numberOfScatters >= 3 && state.freeGamesRemaining == 0) {
+			int freeGamesNumber = model.scatters[0].sample(prng);
+			state.freeGamesMultiplier = model.freeMultipliers.sample(prng);
+			state.addFreeGames(freeGamesNumber, 1, numberOfWilds);
+			result.freeMultiplier = state.freeGamesMultiplier;
+			result.addSegment(1, freeGamesNumber);
+		} else if (numberOfScatters >= 3 && state.freeGamesRemaining > 0) {
+			/* Re-triggered games go from FS1 to FS2 and from FS2 or FS3 to FS3. */
+			int last = state.freeGamesStages[(state.freeGamesHead + state.freeGamesSegments - 1)
+					% state.freeGamesStages.length];
+			int next = last == 1 ? 2 : 3;
+
+			int freeGamesNumber = model.scatters[last].sample(prng);
+			state.addFreeGames(freeGamesNumber, next, numberOfWilds);
+			result.addSegment(next, freeGamesNumber);
+		}
+	}
+
+	/**
+	 * Expand wild. Cells are scanned row by row and each cell without wild or
+	 * scatter turns into wild with the probability of the wilds distribution, until
+	 * the limit of the converted cells is reached. The uniform numbers in [0, 100)
+	 * are decimal digit pairs of a single long, so there is a random number only
+	 * for the scanned cells and nothing is allocated.
+	 */
+	void expandWild() {
+		if (model.wildExpandOff == true) {
+			return;
+		}
+
+		if (expandReference == true) {
+			expandWildReference();
+			return;
+		}
+
+		int[][] view = state.view;
+		RandomGenerator prng = state.prng;
+
+		int numberOfWilds = 0;
+		for (int i = 0; i < view.length; i++) {
+			for (int j = 0; j < view[i].length; j++) {
+				if (view[i][j] == 1) {
+					numberOfWilds++;
+				}
+			}
+		}
+
+		if (numberOfWilds != 1 && numberOfWilds != 2) {
+			return;
+		}
+
+		int[][] thresholds = state.wilds[numberOfWilds];
+		int limit = numberOfWilds == 1 ? 3 : 2;
+		int converted = 0;
+		long digits = 0;
+		int left = 0;
+		for (int j = 0; j < view[0].length && converted < limit; j++) {
+			for (int i = 0; i < view.length && converted < limit; i++) {
+				if (view[i][j] == 1 || view[i][j] == 16 || thresholds[i][j] <= 0) {
+					continue;
+				}
+
+				if (thresholds[i][j] < 100) {
+					if (left == 0) {
+						digits = prng.nextLong(DIGIT_PAIRS);
+						left = 9;
+					}
+					int uniform = (int) (digits % 100);
+					digits /= 100;
+					left--;
+
+					if (uniform >= thresholds[i][j]) {
+						continue;
+					}
+				}
+
+				view[i][j] = 1;
+				converted++;
+			}
+		}
+
+		/* Fixed cells when too few cells are converted. */
+		if (numberOfWilds == 1 && converted == 0 && view[4][1] != 1 && view[4][1] != 16) {
+			view[4][1] = 1;
+		}
+		if (numberOfWilds == 2 && converted == 0 && view[4][0] != 1 && view[4][0] != 16) {
+			view[4][0] = 1;
+		}
+		if (numberOfWilds == 2 && converted == 0 && view[4][2] != 1 && view[4][2] != 16) {
+			view[4][2] = 1;
+		}
+		if (numberOfWilds == 2 && converted == 1 && view[4][1] != 1 && view[4][1] != 16) {
+			view[4][1] = 1;
+		}
+	}
+
+	/**
+	 * Reference wild expansion with uniform number for each screen cell.
+	 */
+	private void expandWildReference() {
+
+		int[][] view = state.view;
+		int[][][] wilds = state.wilds;
+		RandomGenerator prng = state.prng;
+
+		int numberOfWilds = 0;
+		for (int i = 0; i < view.length; i++) {
+			for (int j = 0; j < view[i].length; j++) {
+				if (view[i][j] == 1) {
+					numberOfWilds++;
+				}
+			}
+		}
+
+		if (numberOfWilds == 1) {
+			int[][] transforms = new int[][] {
+					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) },
+					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) },
+					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) },
+					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) },
+					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) } };
+			for (int i = 0; i < transforms.length; i++) {
+				for (int j = 0; j < transforms[i].length; j++) {
+					if (transforms[i][j] <= wilds[numberOfWilds][i][j] && view[i][j] != 1 && view[i][j] != 16) {
+						transforms[i][j] = 1;
+					} else {
+						transforms[i][j] = 0;
+					}
+				}
+			}
+			int sum = 0;
+			for (int i = 0; i < transforms.length; i++) {
+				for (int j = 0; j < transforms[i].length; j++) {
+					sum += transforms[i][j];
+				}
+			}
+			if (sum == 0 && view[4][1] != 1 && view[4][1] != 16) {
+				transforms[4][1] = 1;
+			}
+			for (int j = 0, k = 0; j < transforms[0].length && k < 3; j++) {
+				for (int i = 0; i < transforms.length && k < 3; i++) {
+					if (transforms[i][j] == 1) {
+						view[i][j] = 1;
+						k++;
+					}
+				}
+			}
+		} else if (numberOfWilds == 2) {
+			int[][] transforms = new int[][] {
+					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) },
+					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) },
+					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) },
+					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) },
+					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) } };
+			for (int i = 0; i < transforms.length; i++) {
+				for (int j = 0; j < transforms[i].length; j++) {
+					if (transforms[i][j] <= wilds[numberOfWilds][i][j] && view[i][j] != 1 && view[i][j] != 16) {
+						transforms[i][j] = 1;
+					} else {
+						transforms[i][j] = 0;
+					}
+				}
+			}
+			int sum = 0;
+			for (int i = 0; i < transforms.length; i++) {
+				for (int j = 0; j < transforms[i].length; j++) {
+					sum += transforms[i][j];
+				}
+			}
+			if (sum == 0 && view[4][0] != 1 && view[4][0] != 16) {
+				transforms[4][0] = 1;
+			}
+			if (sum == 0 && view[4][2] != 1 && view[4][2] != 16) {
+				transforms[4][2] = 1;
+			}
+			if (sum == 1 && view[4][1] != 1 && view[4][1] != 16) {
+				transforms[4][1] = 1;
+			}
+			for (int j = 0, k = 0; j < transforms[0].length && k < 2; j++) {
+				for (int i = 0; i < transforms.length && k < 2; i++) {
+					if (transforms[i][j] == 1) {
+						view[i][j] = 1;
+						k++;
+					}
+				}
+			}
+		}
+	}
+
+	/** Play single free spin game. */
+	private void singleFreeGame() {
+		if (model.freeOff == true) {
+			return;
+		}
+
+		/*
+		 * Spin reels. In re-triggered games from FS1 to FS2 and from FS2 to FS3. FS3
+		 * can not re-trigger FS.
+		 */
+		spin(state.windows[state.freeGamesStages[state.freeGamesHead]]);
+
+		freeGamesSetup();
+
+		expandWild();
+
+		/* Win accumulated by lines. */
+		result.addFreeSpin(linesWin(state.view) + (state.scatterMultiplier * model.totalBet));
+	}
+
+	/**
+	 * Play single base game with all free spins triggered by it.
+	 *
+	 * @return Result of the game (valid until the next game of this engine).
+	 */
+	GameResult playBaseGame() {
+		result.clear();
+
+		/* Only one of many games is timed, so the clock is rarely read. */
+		timing = metrics != null && (++sampledGames & SimulationMetrics.SAMPLE_MASK) == 0;
+		if (timing == true) {
+			gameTime = System.nanoTime();
+			stageTime = gameTime;
+		}
+
+		/* Select reels according base game strip distribution. */
+		int r = model.baseStrips.sample(state.prng) - 1;
+		state.windows = model.windowsSets[r];
+		state.wilds = model.wildsSets[r];
+
+		/* Support seed for LCG checking mode. */
+		if (state.lcgCheck == true) {
+			((LCGRandom) state.prng).seed(Math.abs(state.secure.nextInt()));
+		}
+
+		/* Spin reels. */
+		spin(state.windows[0]);
+		result.strips = r;
+		System.arraycopy(state.stops, 0, result.stops, 0, result.stops.length);
+		if (timing == true) {
+			stage(SimulationMetrics.SPIN);
+		}
+
+		return finishBaseGame();
+	}
+
+	/**
+	 * Add time of the finished stage of the timed game to the metrics.
+	 *
+	 * @param stage Stage index.
+	 */
+	void stage(int stage) {
+		long time = System.nanoTime();
+		metrics.stage(stage, time - stageTime);
+		stageTime = time;
+	}
+
+	/**
+	 * Finish base game which view is already spun (free spins setup, wild
+	 * expansion, lines and all triggered free spins).
+	 *
+	 * @return Result of the game (valid until the next game of this engine).
+	 */
+	GameResult finishBaseGame() {
+		freeGamesSetup();
+		if (timing == true) {
+			stage(SimulationMetrics.FREE_GAMES_SETUP);
+		}
+
+		expandWild();
+		if (timing == true) {
+			stage(SimulationMetrics.EXPAND_WILD);
+		}
+
+		/* Keep the view shown to the player. */
+		for (int i = 0; i < state.view.length; i++) {
+			System.arraycopy(state.view[i], 0, result.view[i], 0, state.view[i].length);
+		}
+
+		/* Win accumulated by lines. */
+		result.scatterWin = state.scatterMultiplier * model.totalBet;
+		result.baseWin = linesWin(state.view) + result.scatterWin;
+		if (timing == true) {
+			stage(SimulationMetrics.LINES_WIN);
+		}
+
+		/* Play all free games or take their payout from the table. */
+		if (model.featureWins != null && state.freeGamesRemaining > 0) {
+			featureFromTable();
+		} else {
+			finishFreeGames();
+		}
+		if (timing == true) {
+			stage(SimulationMetrics.FREE_GAMES);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Play free spins as triggered in base game with the selected reels strips,
+	 * without the base game itself. It is used for separate simulation of the
+	 * free spins feature value.
+	 *
+	 * @param strips Index of the base game reels strips.
+	 *
+	 * @return Result with the free spins wins (valid until the next game of this
+	 *         engine).
+	 */
+	GameResult playFreeGames(int strips) {
+		return playFreeGames(strips, model.freeMultipliers.sample(state.prng));
+	}
+
+	/**
+	 * Play free spins as triggered in base game with the selected reels strips
+	 * and free spins multiplier.
+	 *
+	 * @param strips     Index of the base game reels strips.
+	 * @param multiplier Free spins multiplier.
+	 *
+	 * @return Result with the free spins wins (valid until the next game of this
+	 *         engine).
+	 */
+	GameResult playFreeGames(int strips, int multiplier) {
+		result.clear();
+
+		state.windows = model.windowsSets[strips];
+		state.wilds = model.wildsSets[strips];
+
+		/* The same number of free spins as on the trigger in the base game. */
+		int freeGamesNumber = model.scatters[0].sample(state.prng);
+		state.freeGamesMultiplier = multiplier;
+		state.addFreeGames(freeGamesNumber, 1, 0);
+
+		finishFreeGames();
+
+		return result;
+	}
+
+	/**
+	 * Take the whole free spins feature from the feature payouts table instead of
+	 * playing it. The table is selected by the strips of the game and by the
+	 * multiplier drawn on the trigger.
+	 */
+	private void featureFromTable() {
+		int strips = 0;
+		while (model.windowsSets[strips] != state.windows) {
+			strips++;
+		}
+
+		int[] wins = model.featureWins[strips][state.freeGamesMultiplier];
+		int k = state.prng.nextInt(wins.length);
+		result.freeGames = model.featureGames[strips][state.freeGamesMultiplier][k];
+		result.addFreeSpin(wins[k]);
+
+		state.freeGamesMultiplier = 1;
+		state.clearFreeGames();
+	}
+
+	/** Play all queued free games and reset the free spins state. */
+	private void finishFreeGames() {
+		while (state.freeGamesRemaining > 0) {
+			result.freeGames++;
+
+			singleFreeGame();
+
+			state.removeFreeGame();
+		}
+		state.freeGamesMultiplier = 1;
+		state.clearFreeGames();
+	}
+
+	/**
+	 * Result of the last base game.
+	 *
+	 * @return Game result.
+	 */
+	GameResult result() {
+		return result;
+	}
+}
@@ -0,0 +1,1392 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable math model of the game (pay table, lines, reels strips, wilds and
+ * discrete distributions) together with the game rules flags. The model is
+ * never changed after construction, so single instance is shared between all
+ * game engines and threads.
+ */
+class GameModel {
+	/** List of symbols names. */
+	private static String[] standardSymbols = { "", "SYM01", "", "SYM03", "SYM04", "SYM05", "SYM06", "SYM07", "SYM08",
+			"SYM09", "SYM10", "SYM11", "SYM12", "", "", "", "SYM16", };
+
+	/** Slot game pay table. */
+	private static int[][] standardPaytable = { new int[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
+			new int[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
+			new int[] { 0, 0, 0, 30, 20, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
+			new int[] { 0, 0, 0, 150, 75, 50, 40, 5, 4, 4, 3, 3, 2, 0, 0, 0, 0 },
+			new int[] { 0, 0, 0, 250, 100, 100, 75, 50, 40, 20, 6, 5, 4, 0, 0, 0, 0 },
+			new int[] { 0, 0, 0, 500, 250, 175, 150, 100, 50, 30, 25, 15, 10, 0, 0, 0, 0 }, };
+
+	/** Scatter multipliers discrete distribution. */
+	private static int[] standardScatterMultipliers = { 0, 0, 0, 1, 2, 3 };
+
+	/** Lines combinations. */
+	private static int[][] standardLines = { new int[] { 1, 1, 1, 1, 1 }, new int[] { 0, 0, 0, 0, 0 },
+			new int[] { 2, 2, 2, 2, 2 }, new int[] { 0, 1, 2, 1, 0 }, new int[] { 2, 1, 0, 1, 2 },
+			new int[] { 0, 0, 1, 2, 2 }, new int[] { 2, 2, 1, 0, 0 }, new int[] { 1, 0, 1, 2, 1 },
+			new int[] { 1, 2, 1, 0, 1 }, new int[] { 0, 1, 1, 1, 2 }, new int[] { 2, 1, 1, 1, 0 },
+			new int[] { 1, 0, 0, 1, 2 }, new int[] { 1, 2, 2, 1, 0 }, new int[] { 1, 1, 0, 1, 2 },
+			new int[] { 1, 1, 2, 1, 0 }, new int[] { 0, 1, 0, 1, 2 }, new int[] { 2, 1, 2, 1, 0 },
+			new int[] { 2, 1, 0, 0, 1 }, new int[] { 0, 1, 2, 2, 1 }, new int[] { 0, 1, 1, 2, 1 },
+			new int[] { 0, 1, 0, 1, 0 }, new int[] { 2, 1, 2, 1, 2 }, new int[] { 0, 2, 0, 2, 0 },
+			new int[] { 2, 0, 2, 0, 2 }, new int[] { 0, 0, 2, 0, 0 }, new int[] { 2, 2, 0, 2, 2 },
+			new int[] { 0, 2, 2, 2, 0 }, new int[] { 2, 0, 0, 0, 2 }, new int[] { 1, 0, 2, 0, 1 },
+			new int[] { 1, 2, 0, 2, 1 }, new int[] { 0, 0, 0, 1, 2 }, new int[] { 2, 2, 2, 1, 0 },
+			new int[] { 2, 0, 1, 0, 2 }, new int[] { 0, 2, 1, 2, 0 }, new int[] { 1, 2, 1, 2, 1 },
+			new int[] { 1, 0, 1, 0, 1 }, new int[] { 0, 0, 0, 2, 2 }, new int[] { 2, 2, 2, 0, 0 },
+			new int[] { 0, 1, 1, 1, 0 }, new int[] { 2, 1, 1, 1, 2 }, new int[] { 1, 2, 2, 2, 1 },
+			new int[] { 1, 0, 0, 0, 1 }, new int[] { 0, 0, 2, 2, 2 }, new int[] { 2, 2, 0, 0, 0 },
+			new int[] { 1, 1, 0, 1, 1 }, new int[] { 1, 1, 2, 1, 1 }, new int[] { 2, 0, 1, 0, 1 },
+			new int[] { 0, 2, 1, 2, 1 }, new int[] { 1, 0, 2, 2, 0 }, new int[] { 1, 2, 0, 0, 2 }, };
+
+	/** Strips 1 in base game. */
+	private static int[][] baseReels1 = {
+			new int[] { 3, 7, 4, 7, 11, 12, 6, 11, 7, 7, 9, 4, 10, 12, 7, 7, 5, 9, 8, 1, 9, 8, 10, 9, 7, 5, 5, 7, 9, 10,
+					10, 12, 6, 6, 10, 10, 8, 11, 8, 7, 4, 3, 5, 12, 6, 9, 8, 1, 9, 8, 9, 8, 4, 3, 11, 11, 7, 9, 8, 11,
+					7, 3, 11 },
+			new int[] { 3, 9, 4, 11, 7, 4, 11, 9, 10, 5, 5, 11, 3, 9, 8, 1, 9, 8, 11, 6, 6, 6, 10, 10, 12, 12, 7, 6, 11,
+					10, 10, 10, 6, 11, 7, 4, 3, 10, 5, 6, 9, 4, 6, 7, 7, 7, 12, 12, 11, 3, 10, 11, 11, 8, 12, 9, 9, 9,
+					11, 7, 4, 11, 10 },
+			new int[] { 8, 11, 10, 7, 9, 11, 3, 8, 8, 7, 11, 3, 8, 8, 3, 3, 11, 6, 7, 4, 11, 6, 16, 12, 5, 12, 7, 4, 10,
+					10, 6, 8, 8, 6, 6, 6, 7, 3, 6, 10, 10, 6, 3, 10, 9, 7, 7, 4, 10, 3, 10, 8, 10, 16, 10, 5, 9, 5, 4,
+					9, 10, 3, 10 },
+			new int[] { 3, 8, 7, 5, 16, 6, 3, 5, 3, 9, 3, 7, 7, 12, 3, 7, 9, 4, 10, 6, 5, 8, 4, 7, 9, 11, 7, 6, 6, 5,
+					16, 8, 7, 7, 4, 8, 10, 9, 16, 10, 3, 5, 3, 8, 4, 9, 3, 4, 9, 10, 10, 7, 5, 5, 6, 10, 3, 12, 16, 10,
+					10, 5, 3 },
+			new int[] { 10, 3, 5, 3, 10, 8, 10, 7, 5, 6, 5, 5, 7, 3, 10, 3, 4, 8, 3, 12, 5, 4, 3, 8, 10, 4, 6, 3, 9, 8,
+					10, 10, 5, 10, 6, 3, 8, 5, 8, 8, 4, 5, 5, 7, 3, 4, 6, 6, 5, 3, 3, 5, 6, 3, 3, 12, 5, 4, 4, 3, 3, 5,
+					5 }, };
+
+	/** Strips 2 in base game. */
+	private static int[][] baseReels2 = {
+			new int[] { 7, 7, 4, 16, 3, 12, 6, 9, 7, 3, 9, 10, 10, 3, 7, 3, 7, 5, 8, 8, 9, 8, 3, 9, 7, 3, 11, 16, 9, 10,
+					10, 3, 6, 6, 10, 16, 8, 8, 8, 7, 10, 12, 4, 4, 6, 8, 4, 8, 7, 8, 9, 8, 10, 7, 11, 9, 7, 9, 8, 9, 7,
+					4, 4 },
+			new int[] { 12, 9, 4, 11, 9, 8, 1, 9, 8, 5, 3, 11, 3, 7, 7, 8, 11, 3, 3, 6, 6, 6, 8, 10, 4, 12, 7, 6, 3, 4,
+					10, 4, 5, 3, 8, 8, 4, 12, 12, 9, 8, 1, 9, 8, 7, 7, 12, 4, 11, 5, 10, 12, 11, 8, 8, 9, 9, 9, 10, 7,
+					11, 11, 10 },
+			new int[] { 8, 11, 10, 7, 9, 11, 5, 5, 3, 7, 11, 3, 8, 8, 5, 11, 11, 6, 7, 11, 5, 6, 11, 12, 5, 12, 7, 10,
+					10, 10, 8, 8, 8, 6, 6, 6, 7, 10, 9, 10, 10, 6, 10, 10, 9, 7, 7, 4, 10, 9, 10, 8, 10, 10, 10, 5, 9,
+					5, 10, 9, 10, 10, 10 },
+			new int[] { 8, 8, 7, 9, 10, 6, 5, 11, 5, 9, 3, 12, 7, 12, 7, 7, 9, 12, 10, 6, 8, 8, 12, 7, 9, 11, 12, 6, 6,
+					8, 8, 8, 7, 16, 4, 4, 4, 9, 8, 10, 3, 5, 12, 8, 4, 9, 3, 11, 9, 10, 16, 7, 11, 11, 6, 10, 12, 3, 3,
+					10, 5, 11, 5 },
+			new int[] { 10, 3, 8, 8, 10, 8, 10, 7, 9, 6, 8, 8, 7, 3, 10, 9, 10, 8, 8, 12, 5, 4, 10, 4, 10, 8, 12, 10, 3,
+					3, 12, 10, 5, 10, 6, 11, 8, 11, 11, 8, 8, 10, 10, 7, 11, 4, 3, 11, 11, 3, 3, 12, 6, 12, 3, 12, 10,
+					4, 12, 11, 11, 11, 12 }, };
+
+	/** Strips 3 in base game. */
+	private static int[][] baseReels3 = {
+			new int[] { 16, 7, 7, 16, 10, 12, 16, 9, 7, 16, 11, 4, 16, 12, 7, 16, 7, 12, 16, 7, 10, 16, 10, 9, 16, 11,
+					12, 16, 7, 10, 16, 12, 6, 16, 10, 10, 16, 8, 7, 16, 4, 12, 16, 12, 7, 16, 10, 10, 16, 10, 12, 16,
+					12, 8, 16, 8, 7, 16, 12, 12, 16, 11, 11 },
+			new int[] { 9, 8, 16, 3, 8, 16, 5, 8, 16, 5, 9, 16, 8, 9, 16, 8, 9, 16, 8, 9, 16, 8, 8, 16, 3, 9, 16, 6, 4,
+					16, 4, 4, 16, 3, 3, 16, 8, 3, 16, 6, 9, 16, 4, 7, 16, 3, 4, 16, 4, 5, 16, 4, 3, 16, 9, 9, 16, 9, 3,
+					16, 4, 3, 16 },
+			new int[] { 10, 10, 12, 11, 8, 11, 8, 12, 12, 6, 9, 12, 11, 7, 12, 7, 12, 3, 10, 9, 10, 8, 8, 12, 5, 4, 10,
+					4, 10, 8, 12, 10, 9, 12, 11, 10, 5, 10, 6, 11, 8, 8, 3, 7, 8, 8, 11, 11, 11, 6, 7, 6, 11, 16, 12,
+					12, 7, 6, 11, 7, 4, 10, 7 },
+			new int[] { 9, 12, 16, 11, 7, 16, 5, 5, 16, 5, 11, 16, 3, 7, 16, 7, 11, 16, 11, 6, 16, 6, 12, 16, 12, 12,
+					16, 6, 11, 16, 10, 8, 16, 11, 8, 16, 8, 12, 16, 6, 9, 16, 12, 7, 16, 7, 12, 16, 11, 5, 16, 12, 11,
+					16, 11, 8, 16, 9, 10, 16, 6, 12, 16 },
+			new int[] { 10, 3, 8, 8, 8, 8, 10, 7, 9, 6, 8, 8, 7, 3, 10, 9, 10, 8, 8, 12, 5, 4, 10, 4, 10, 8, 12, 10, 9,
+					12, 12, 10, 5, 10, 6, 11, 8, 11, 11, 8, 8, 10, 10, 7, 11, 4, 9, 11, 11, 8, 8, 12, 6, 12, 3, 12, 10,
+					4, 16, 11, 11, 11, 12 }, };
+
+	/** Strips 4 in base game. */
+	private static int[][] baseReels4 = {
+			new int[] { 7, 7, 4, 12, 3, 12, 6, 9, 7, 7, 9, 4, 10, 12, 7, 7, 7, 5, 8, 9, 9, 8, 10, 9, 7, 11, 11, 12, 9,
+					10, 10, 12, 6, 6, 10, 8, 8, 8, 8, 7, 8, 12, 12, 12, 8, 5, 8, 7, 9, 8, 9, 8, 8, 7, 11, 9, 7, 9, 8, 9,
+					7, 11, 11 },
+			new int[] { 12, 9, 4, 11, 7, 11, 5, 5, 10, 5, 11, 11, 3, 7, 6, 11, 1, 6, 11, 6, 6, 6, 16, 10, 12, 12, 7, 6,
+					11, 1, 6, 11, 5, 11, 8, 8, 8, 16, 12, 6, 6, 11, 1, 6, 11, 7, 12, 12, 11, 5, 10, 12, 11, 8, 16, 9, 9,
+					9, 10, 7, 11, 11, 10 },
+			new int[] { 8, 11, 10, 7, 9, 11, 12, 8, 8, 7, 11, 3, 8, 8, 11, 11, 11, 6, 7, 11, 11, 6, 16, 12, 5, 12, 7,
+					10, 11, 10, 8, 8, 8, 6, 6, 6, 7, 10, 9, 10, 10, 6, 10, 10, 9, 7, 7, 4, 10, 9, 10, 8, 10, 16, 10, 5,
+					12, 12, 10, 9, 10, 10, 10 },
+			new int[] { 8, 11, 7, 9, 10, 6, 11, 11, 11, 9, 3, 12, 6, 11, 1, 6, 11, 12, 10, 6, 8, 12, 12, 6, 11, 1, 6,
+					11, 6, 8, 8, 8, 7, 7, 4, 4, 4, 9, 8, 10, 3, 5, 12, 8, 4, 9, 11, 11, 9, 10, 11, 7, 11, 6, 11, 1, 6,
+					11, 3, 10, 5, 11, 12 },
+			new int[] { 10, 3, 8, 8, 9, 8, 10, 7, 9, 6, 8, 8, 7, 3, 10, 9, 10, 8, 8, 12, 5, 4, 10, 4, 10, 8, 12, 10, 9,
+					12, 11, 10, 5, 10, 6, 11, 8, 11, 12, 8, 11, 11, 10, 7, 12, 4, 9, 11, 11, 12, 8, 12, 6, 12, 3, 12,
+					10, 4, 10, 11, 11, 11, 12 }, };
+
+	/** Strips 5 in base game. */
+	private static int[][] baseReels5 = {
+			new int[] { 3, 7, 10, 10, 7, 10, 3, 3, 7, 10, 10, 7, 10, 3, 3, 7, 10, 10, 7, 10, 3, 3, 7, 10, 10, 7, 10, 3,
+					3, 7, 10, 10, 7, 10, 3, 3, 7, 10, 10, 7, 10, 3, 3, 7, 10, 10, 7, 10, 3, 3, 7, 10, 10, 7, 10, 3, 3,
+					7, 10, 10, 7, 10, 3 },
+			new int[] { 4, 4, 8, 16, 4, 8, 8, 4, 8, 16, 4, 8, 16, 8, 4, 4, 8, 16, 4, 8, 8, 4, 8, 16, 4, 8, 16, 8, 4, 4,
+					8, 16, 4, 8, 8, 4, 8, 16, 4, 8, 16, 8, 4, 4, 8, 16, 4, 8, 8, 4, 8, 16, 4, 8, 16, 8, 4, 8, 16, 4, 8,
+					16, 8 },
+			new int[] { 5, 5, 7, 10, 7, 10, 7, 10, 10, 5, 7, 10, 5, 7, 5, 5, 7, 10, 7, 10, 7, 10, 10, 5, 7, 10, 5, 7, 5,
+					5, 7, 10, 7, 10, 7, 10, 10, 5, 7, 10, 5, 7, 5, 5, 7, 10, 7, 10, 7, 10, 10, 5, 7, 10, 5, 7, 10, 10,
+					5, 7, 10, 5, 7 },
+			new int[] { 9, 6, 9, 16, 6, 6, 6, 9, 16, 9, 9, 6, 9, 16, 9, 6, 9, 16, 6, 6, 6, 9, 16, 9, 9, 6, 9, 16, 9, 6,
+					9, 16, 6, 6, 6, 9, 16, 9, 9, 6, 9, 16, 9, 6, 9, 16, 6, 6, 6, 9, 16, 9, 9, 6, 16, 9, 9, 16, 9, 9, 6,
+					9, 16 },
+			new int[] { 12, 9, 8, 12, 9, 8, 9, 8, 12, 8, 8, 9, 8, 8, 12, 9, 8, 12, 9, 8, 9, 8, 12, 8, 8, 9, 8, 8, 12, 9,
+					8, 12, 9, 8, 9, 8, 12, 8, 8, 9, 8, 8, 12, 9, 8, 12, 9, 8, 9, 8, 12, 8, 8, 9, 8, 8, 8, 12, 8, 8, 9,
+					8, 8 }, };
+
+	/** Strips 1 in free spins. */
+	private static int[][] freeReels1 = {
+			new int[] { 3, 7, 4, 11, 11, 12, 6, 11, 7, 3, 9, 4, 10, 12, 16, 7, 5, 9, 8, 1, 9, 8, 10, 9, 7, 16, 11, 7, 9,
+					10, 10, 12, 6, 6, 10, 16, 8, 8, 8, 7, 4, 12, 12, 12, 6, 9, 8, 1, 9, 8, 9, 8, 4, 7, 11, 4, 7, 9, 8,
+					11, 7, 16, 11 },
+			new int[] { 12, 9, 4, 11, 7, 4, 11, 9, 10, 5, 11, 11, 3, 7, 7, 8, 3, 11, 3, 6, 6, 6, 9, 8, 1, 9, 8, 6, 6, 7,
+					4, 11, 6, 11, 8, 8, 8, 8, 12, 6, 9, 4, 12, 7, 16, 7, 12, 12, 11, 9, 10, 12, 11, 8, 4, 9, 9, 9, 10,
+					7, 4, 11, 10 },
+			new int[] { 8, 11, 10, 7, 9, 11, 12, 8, 8, 7, 11, 3, 8, 8, 11, 16, 11, 6, 7, 4, 11, 6, 16, 12, 5, 12, 7, 4,
+					10, 10, 8, 8, 8, 6, 6, 6, 7, 10, 9, 10, 10, 6, 10, 10, 9, 7, 16, 4, 10, 9, 10, 8, 10, 11, 10, 5, 9,
+					5, 4, 9, 10, 10, 10 },
+			new int[] { 8, 8, 7, 9, 10, 6, 11, 11, 11, 9, 3, 12, 7, 12, 7, 16, 9, 4, 10, 6, 8, 8, 4, 7, 9, 16, 12, 6, 6,
+					8, 8, 8, 7, 16, 4, 8, 10, 9, 8, 10, 3, 5, 12, 8, 4, 9, 11, 4, 9, 10, 8, 7, 11, 11, 6, 10, 12, 16, 3,
+					10, 10, 11, 12 },
+			new int[] { 10, 3, 16, 8, 11, 8, 10, 7, 9, 6, 8, 8, 7, 3, 10, 9, 4, 8, 8, 12, 5, 4, 10, 8, 10, 4, 12, 16, 9,
+					12, 8, 10, 5, 10, 6, 11, 8, 16, 8, 8, 8, 5, 5, 7, 11, 4, 9, 11, 11, 16, 8, 12, 6, 12, 3, 7, 5, 4, 8,
+					11, 11, 11, 12 }, };
+
+	/** Strips 2 in free spins. */
+	private static int[][] freeReels2 = {
+			new int[] { 3, 7, 4, 16, 11, 12, 6, 11, 7, 7, 9, 4, 10, 12, 7, 7, 5, 9, 8, 1, 9, 8, 10, 9, 7, 11, 11, 7, 9,
+					10, 10, 12, 6, 6, 10, 10, 8, 8, 8, 7, 4, 12, 12, 12, 6, 9, 8, 1, 9, 8, 9, 8, 4, 7, 11, 9, 7, 9, 8,
+					11, 7, 11, 11 },
+			new int[] { 12, 9, 4, 11, 7, 4, 16, 9, 10, 5, 11, 11, 3, 7, 7, 8, 16, 11, 11, 6, 6, 6, 8, 10, 3, 12, 7, 6,
+					11, 10, 10, 10, 9, 11, 8, 8, 8, 9, 12, 6, 9, 4, 12, 7, 7, 7, 12, 16, 11, 9, 10, 12, 11, 8, 9, 9, 9,
+					9, 10, 7, 4, 11, 10 },
+			new int[] { 8, 11, 10, 7, 9, 11, 12, 8, 8, 7, 11, 3, 8, 8, 11, 11, 11, 6, 7, 4, 16, 6, 8, 12, 5, 12, 7, 4,
+					10, 16, 8, 8, 8, 6, 6, 6, 3, 10, 9, 10, 16, 6, 10, 10, 9, 7, 7, 4, 10, 9, 10, 8, 9, 9, 10, 5, 9, 5,
+					4, 9, 10, 10, 10 },
+			new int[] { 8, 8, 7, 9, 10, 6, 11, 11, 11, 9, 3, 12, 7, 12, 16, 7, 9, 4, 10, 6, 8, 8, 4, 7, 9, 11, 12, 6, 6,
+					8, 8, 8, 7, 16, 4, 8, 10, 9, 8, 10, 3, 5, 12, 8, 4, 9, 16, 4, 9, 10, 9, 7, 9, 9, 6, 10, 12, 11, 3,
+					10, 16, 11, 12 },
+			new int[] { 10, 3, 8, 8, 16, 8, 10, 7, 9, 6, 8, 8, 7, 3, 10, 9, 4, 8, 8, 16, 5, 4, 10, 8, 10, 8, 3, 10, 9,
+					12, 9, 10, 16, 10, 6, 11, 8, 11, 5, 8, 8, 5, 5, 7, 11, 8, 9, 11, 11, 8, 8, 12, 6, 12, 3, 12, 5, 4,
+					9, 11, 11, 11, 12 }, };
+
+	/** Strips 3 in free spins. */
+	private static int[][] freeReels3 = {
+			new int[] { 3, 7, 4, 6, 11, 12, 6, 11, 7, 7, 9, 4, 10, 12, 7, 7, 5, 9, 8, 1, 9, 8, 10, 9, 7, 11, 11, 7, 9,
+					10, 10, 12, 6, 6, 10, 6, 8, 8, 8, 7, 4, 12, 12, 12, 6, 9, 8, 1, 9, 8, 9, 8, 4, 7, 11, 6, 7, 9, 8,
+					11, 7, 11, 11 },
+			new int[] { 12, 9, 4, 11, 7, 4, 11, 9, 10, 5, 11, 11, 3, 7, 7, 8, 11, 11, 11, 6, 6, 6, 6, 10, 12, 12, 7, 6,
+					11, 10, 10, 10, 9, 11, 8, 8, 8, 6, 12, 6, 9, 4, 12, 7, 7, 7, 12, 12, 11, 9, 10, 12, 11, 8, 6, 9, 9,
+					9, 10, 7, 4, 11, 10 },
+			new int[] { 8, 11, 10, 7, 9, 11, 12, 8, 8, 7, 11, 3, 8, 8, 11, 11, 11, 6, 7, 4, 11, 6, 6, 12, 5, 12, 7, 4,
+					10, 10, 8, 8, 8, 6, 6, 6, 7, 10, 9, 10, 10, 6, 10, 10, 9, 7, 7, 4, 10, 9, 10, 8, 10, 6, 10, 5, 9, 5,
+					4, 9, 10, 10, 10 },
+			new int[] { 8, 8, 7, 9, 10, 6, 11, 11, 11, 9, 3, 12, 7, 12, 7, 7, 9, 4, 10, 6, 16, 8, 4, 7, 9, 11, 12, 6, 6,
+					8, 16, 8, 7, 6, 4, 8, 10, 9, 8, 10, 3, 5, 12, 8, 4, 9, 11, 4, 9, 10, 6, 7, 11, 11, 6, 10, 16, 11, 3,
+					10, 10, 11, 12 },
+			new int[] { 10, 3, 8, 8, 6, 8, 10, 7, 9, 6, 8, 8, 7, 3, 10, 9, 4, 8, 8, 12, 5, 4, 10, 16, 10, 4, 12, 10, 9,
+					12, 6, 10, 5, 10, 6, 11, 8, 11, 6, 8, 8, 5, 5, 7, 11, 4, 9, 11, 11, 16, 8, 12, 6, 12, 3, 12, 5, 4,
+					6, 11, 11, 11, 12 }, };
+
+	/** Wild expansion in base game after 1 wild. */
+	private static int[][] baseReels1Wilds1 = { new int[] { 0, 0, 0 }, new int[] { 2, 2, 2 }, new int[] { 2, 2, 2 },
+			new int[] { 2, 10, 2 }, new int[] { 10, 10, 10 }, };
+
+	/** Wild expansion discrete distribution. */
+	private static int[][] baseReels1Wilds2 = { new int[] { 2, 2, 2 }, new int[] { 2, 2, 2 }, new int[] { 2, 2, 2 },
+			new int[] { 2, 10, 2 }, new int[] { 10, 10, 10 }, };
+
+	/** Wild expansion discrete distribution. */
+	private static int[][] baseReels2Wilds1 = { new int[] { 2, 4, 5 }, new int[] { 4, 3, 4 }, new int[] { 5, 5, 5 },
+			new int[] { 6, 3, 4 }, new int[] { 4, 6, 2 }, };
+
+	/** Wild expansion discrete distribution. */
+	private static int[][] baseReels2Wilds2 = { new int[] { 2, 4, 5 }, new int[] { 4, 3, 4 }, new int[] { 5, 5, 5 },
+			new int[] { 6, 3, 4 }, new int[] { 4, 6, 2 }, };
+
+	/** Wild expansion discrete distribution. */
+	private static int[][] baseReels3Wilds1 = { new int[] { 2, 2, 4 }, new int[] { 2, 2, 2 }, new int[] { 2, 3, 2 },
+			new int[] { 2, 3, 2 }, new int[] { 2, 3, 2 }, };
+
+	/** Wild expansion discrete distribution. */
+	private static int[][] baseReels3Wilds2 = { new int[] { 3, 3, 2 }, new int[] { 3, 2, 3 }, new int[] { 3, 3, 2 },
+			new int[] { 2, 3, 2 }, new int[] { 3, 2, 3 }, };
+
+	/** Wild expansion discrete distribution. */
+	private static int[][] baseReels4Wilds1 = { new int[] { 2, 4, 5 }, new int[] { 15, 15, 15 },
+			new int[] { 20, 20, 20 }, new int[] { 6, 3, 4 }, new int[] { 4, 6, 2 }, };
+
+	/** Wild expansion discrete distribution. */
+	private static int[][] baseReels4Wilds2 = { new int[] { 2, 4, 5 }, new int[] { 15, 15, 15 },
+			new int[] { 20, 20, 20 }, new int[] { 6, 3, 4 }, new int[] { 4, 6, 2 }, };
+
+	/** Wild expansion discrete distribution. */
+	private static int[][] baseReels5Wilds1 = { new int[] { 0, 0, 0 }, new int[] { 0, 0, 0 }, new int[] { 0, 0, 0 },
+			new int[] { 0, 0, 0 }, new int[] { 0, 0, 0 }, };
+
+	/** Wild expansion discrete distribution. */
+	private static int[][] baseReels5Wilds2 = { new int[] { 0, 0, 0 }, new int[] { 0, 0, 0 }, new int[] { 0, 0, 0 },
+			new int[] { 0, 0, 0 }, new int[] { 0, 0, 0 }, };
+
+	/** Wild expansion discrete distribution. */
+	private static int[][] freeReels1Wilds1 = { new int[] { 2, 4, 5 }, new int[] { 10, 10, 10 }, new int[] { 5, 5, 5 },
+			new int[] { 6, 6, 6 }, new int[] { 4, 6, 2 }, };
+
+	/** Wild expansion discrete distribution. */
+	private static int[][] freeReels1Wilds2 = { new int[] { 2, 4, 5 }, new int[] { 5, 5, 5 }, new int[] { 5, 5, 5 },
+			new int[] { 4, 3, 4 }, new int[] { 4, 6, 2 }, };
+
+	/** Wild expansion discrete distribution. */
+	private static int[][] freeReels2Wilds1 = { new int[] { 2, 4, 5 }, new int[] { 4, 3, 4 }, new int[] { 5, 5, 5 },
+			new int[] { 5, 5, 5 }, new int[] { 4, 6, 2 }, };
+
+	/** Wild expansion discrete distribution. */
+	private static int[][] freeReels2Wilds2 = { new int[] { 2, 4, 5 }, new int[] { 4, 3, 4 }, new int[] { 5, 5, 5 },
+			new int[] { 5, 5, 5 }, new int[] { 4, 6, 2 }, };
+
+	/** Wild expansion discrete distribution. */
+	private static int[][] freeReels3Wilds1 = { new int[] { 2, 4, 5 }, new int[] { 20, 20, 20 }, new int[] { 5, 5, 5 },
+			new int[] { 6, 3, 4 }, new int[] { 4, 6, 2 }, };
+
+	/** Wild expansion discrete distribution. */
+	private static int[][] freeReels3Wilds2 = { new int[] { 2, 4, 5 }, new int[] { 20, 20, 20 }, new int[] { 5, 5, 5 },
+			new int[] { 6, 3, 4 }, new int[] { 4, 6, 2 }, };
+
+	/** Free spins multipliers discrete distribution. */
+	private static int[] standardFreeMultiplierDistribution = { 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6,
+			7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7,
+			8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8,
+			2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 2, 3, 4, 5, 6, 7, 2, 3, 4, 5, 6, 7, 2, 3, 4, 5,
+			6, 7, 2, 3, 4, 5, 6, 7, 2, 3, 4, 5, 6, 2, 3, 4, 5, 6, 2, 3, 4, 5, 6, 2, 3, 4, 5, 6, 2, 3, 4, 5, 6, 2, 3, 4,
+			5, 6, 2, 3, 4, 5, 6, 2, 3, 4, 5, 6, 2, 3, 4, 5, 6, 2, 3, 4, 5, 6, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3,
+			4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3,
+			4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 2, 3, 4,
+			2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4,
+			2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4,
+			2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4,
+			2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4,
+			3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3,
+			3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3 };
+
+	/** Base game scatter discrete distribution. */
+	private static int[] baseScatterDistritution = { 10, 12, 14, 15, 17, 20, 22, 25, 30, 40, 10, 12, 14, 15, 17, 20, 22,
+			25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20,
+			25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20,
+			25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 12, 15, 17, 20, 25, 12,
+			15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17,
+			20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 15, 17, 20, 25, 15, 17, 20, 25, 15, 17,
+			20, 25, 15, 17, 20, 25, 15, 17, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 20, 25,
+			20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 25, 25, 25, 25, 25, 25, 25, 25, 25,
+			25 };
+
+	/** Free spins scatter discrete distribution. */
+	private static int[] free1ScatterDistritution = { 10, 12, 14, 15, 17, 20, 22, 25, 30, 40, 10, 12, 14, 15, 17, 20,
+			22, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17,
+			20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17,
+			20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 12, 15, 17, 20, 25,
+			12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15,
+			17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 15, 17, 20, 25, 15, 17, 20, 25, 15,
+			17, 20, 25, 15, 17, 20, 25, 15, 17, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 20,
+			25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 25, 25, 25, 25, 25, 25, 25, 25,
+			25, 25 };
+
+	/** Free spins scatter discrete distribution. */
+	private static int[] free2ScatterDistritution = { 10, 12, 14, 15, 17, 20, 22, 25, 30, 40, 10, 12, 14, 15, 17, 20,
+			22, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17,
+			20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17,
+			20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 12, 15, 17, 20, 25,
+			12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15,
+			17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 15, 17, 20, 25, 15, 17, 20, 25, 15,
+			17, 20, 25, 15, 17, 20, 25, 15, 17, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 20,
+			25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 25, 25, 25, 25, 25, 25, 25, 25,
+			25, 25 };
+
+	/** Free spins scatter discrete distribution. */
+	private static int[] free3ScatterDistritution = { 10, 12, 14, 15, 17, 20, 22, 25, 30, 40, 10, 12, 14, 15, 17, 20,
+			22, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17,
+			20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17,
+			20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 12, 15, 17, 20, 25,
+			12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15,
+			17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 15, 17, 20, 25, 15, 17, 20, 25, 15,
+			17, 20, 25, 15, 17, 20, 25, 15, 17, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 20,
+			25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 25, 25, 25, 25, 25, 25, 25, 25,
+			25, 25 };
+
+	/** Base game strips discrete distribution. */
+	private static int[] standardBaseStripsDistribution = { 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5,
+			1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1,
+			2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2,
+			4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4,
+			5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4,
+			5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4,
+			5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4,
+			5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 5, 5, 5, 5, 5, 5, 5,
+			5, 5, 5, 5, 5, 5, 5, 5 };
+
+	/** All scatters discrete distribution together. */
+	private static int[][] standardScatterDistritutions = { baseScatterDistritution, free1ScatterDistritution,
+			free2ScatterDistritution, free3ScatterDistritution };
+
+	/** Base reels strips. */
+	private static int[][][] standardBaseReels = { baseReels1, baseReels2, baseReels3, baseReels4, baseReels5 };
+
+	/** Free reels strips. */
+	private static int[][][] standardFreeReels = { freeReels1, freeReels2, freeReels3 };
+
+	/** Wild symbols distributions together. */
+	private static int[][][][] standardWildsSets = {
+			new int[][][] { new int[][] {}, baseReels1Wilds1, baseReels1Wilds2 },
+			new int[][][] { new int[][] {}, baseReels2Wilds1, baseReels2Wilds2 },
+			new int[][][] { new int[][] {}, baseReels3Wilds1, baseReels3Wilds2 },
+			new int[][][] { new int[][] {}, baseReels4Wilds1, baseReels4Wilds2 },
+			new int[][][] { new int[][] {}, baseReels5Wilds1, baseReels5Wilds2 },
+			new int[][][] { new int[][] {}, freeReels1Wilds1, freeReels1Wilds2 },
+			new int[][][] { new int[][] {}, freeReels2Wilds1, freeReels2Wilds2 },
+			new int[][][] { new int[][] {}, freeReels3Wilds1, freeReels3Wilds2 }, };
+
+	/** List of symbols names. */
+	final String[] symbols;
+
+	/** Slot game pay table. */
+	final int[][] paytable;
+
+	/** Scatter multipliers discrete distribution. */
+	final int[] scatterMultipliers;
+
+	/** Lines combinations. */
+	final int[][] lines;
+
+	/** Base reels strips. */
+	final int[][][] baseReels;
+
+	/** Free reels strips. */
+	final int[][][] freeReels;
+
+	/** All strips together (base game strips followed by the free spins strips). */
+	final int[][][][] reelsSets;
+
+	/**
+	 * Screen windows of all strips together. Each stop of a strip is packed in
+	 * single int with the symbols above, on and below the stop (5 bits each).
+	 */
+	final int[][][][] windowsSets;
+
+	/** Wild symbols distributions together. */
+	final int[][][][] wildsSets;
+
+	/** Base game strips discrete distribution. */
+	final int[] baseStripsDistribution;
+
+	/** All scatters discrete distribution together (base game, FS1, FS2 and FS3). */
+	final int[][] scatterDistritutions;
+
+	/** Free spins multipliers discrete distribution. */
+	final int[] freeMultiplierDistribution;
+
+	/** Base game strips sampler. */
+	final AliasDistribution baseStrips;
+
+	/** Scatters samplers (base game, FS1, FS2 and FS3). */
+	final AliasDistribution[] scatters;
+
+	/** Free spins multipliers sampler. */
+	final AliasDistribution freeMultipliers;
+
+	/** Total bet in single base game spin. */
+	final int totalBet;
+
+	/** Free spins flag. */
+	final boolean freeOff;
+
+	/** Wild substitution flag. */
+	final boolean wildsOff;
+
+	/** Wild expansion flag. */
+	final boolean wildExpandOff;
+
+	/** Line wins lookup table by packed line symbols (null if not used). */
+	final byte[] lineWinsTable;
+
+	/** Winning symbol of the line outcomes in the lookup table. */
+	final int[] outcomeSymbol;
+
+	/** Number of winning symbols of the line outcomes in the lookup table. */
+	final int[] outcomeNumber;
+
+	/** Base win of the line outcomes in the lookup table. */
+	final int[] outcomeWin;
+
+	/**
+	 * Free spins feature payouts by base game strips and multiplier (null if the
+	 * free spins are played).
+	 */
+	final int[][][] featureWins;
+
+	/** Number of free spins of the feature payouts by base game strips and multiplier. */
+	final int[][][] featureGames;
+
+	/**
+	 * Math model constructor.
+	 *
+	 * @param symbols                    List of symbols names.
+	 * @param paytable                   Pay table.
+	 * @param scatterMultipliers         Scatter multipliers.
+	 * @param lines                      Lines combinations.
+	 * @param baseReels                  Base reels strips.
+	 * @param freeReels                  Free reels strips.
+	 * @param wildsSets                  Wild symbols distributions.
+	 * @param baseStripsDistribution     Base game strips distribution.
+	 * @param scatterDistritutions       Scatters distributions.
+	 * @param freeMultiplierDistribution Free spins multipliers distribution.
+	 * @param freeOff                    Free spins flag.
+	 * @param wildsOff                   Wild substitution flag.
+	 * @param wildExpandOff              Wild expansion flag.
+	 */
+	GameModel(String[] symbols, int[][] paytable, int[] scatterMultipliers, int[][] lines, int[][][] baseReels,
+			int[][][] freeReels, int[][][][] wildsSets, int[] baseStripsDistribution, int[][] scatterDistritutions,
+			int[] freeMultiplierDistribution, boolean freeOff, boolean wildsOff, boolean wildExpandOff) {
+		this.symbols = symbols;
+		this.paytable = paytable;
+		this.scatterMultipliers = scatterMultipliers;
+		this.lines = lines;
+		this.baseReels = baseReels;
+		this.freeReels = freeReels;
+		this.wildsSets = wildsSets;
+		this.baseStripsDistribution = baseStripsDistribution;
+		this.scatterDistritutions = scatterDistritutions;
+		this.freeMultiplierDistribution = freeMultiplierDistribution;
+
+		/* Repeated values are converted to weights, so no shuffling is needed. */
+		baseStrips = AliasDistribution.of(baseStripsDistribution);
+		scatters = new AliasDistribution[scatterDistritutions.length];
+		for (int s = 0; s < scatters.length; s++) {
+			scatters[s] = AliasDistribution.of(scatterDistritutions[s]);
+		}
+		freeMultipliers = AliasDistribution.of(freeMultiplierDistribution);
+		this.freeOff = freeOff;
+		this.wildsOff = wildsOff;
+		this.wildExpandOff = wildExpandOff;
+
+		reelsSets = new int[baseReels.length][][][];
+		for (int r = 0; r < baseReels.length; r++) {
+			reelsSets[r] = new int[1 + freeReels.length][][];
+			reelsSets[r][0] = baseReels[r];
+			System.arraycopy(freeReels, 0, reelsSets[r], 1, freeReels.length);
+		}
+		windowsSets = windows(reelsSets);
+
+		totalBet = lines.length;
+
+		lineWinsTable = null;
+		outcomeSymbol = new int[0];
+		outcomeNumber = new int[0];
+		outcomeWin = new int[0];
+
+		featureWins = null;
+		featureGames = null;
+	}
+
+	/**
+	 * Pack the screen window of every strip stop, so the wrap around of the strip
+	 * ends is resolved once.
+	 *
+	 * @param reelsSets Strips of all reels sets.
+	 *
+	 * @return Packed windows of all reels sets.
+	 */
+	private static int[][][][] windows(int[][][][] reelsSets) {
+		int[][][][] windows = new int[reelsSets.length][][][];
+		for (int s = 0; s < reelsSets.length; s++) {
+			windows[s] = new int[reelsSets[s].length][][];
+			for (int t = 0; t < reelsSets[s].length; t++) {
+				windows[s][t] = new int[reelsSets[s][t].length][];
+				for (int i = 0; i < reelsSets[s][t].length; i++) {
+					int[] reel = reelsSets[s][t][i];
+					windows[s][t][i] = new int[reel.length];
+					for (int r = 0; r < reel.length; r++) {
+						int u = reel[(r + reel.length - 1) % reel.length];
+						int d = reel[(r + 1) % reel.length];
+						windows[s][t][i][r] = u | reel[r] << 5 | d << 10;
+					}
+				}
+			}
+		}
+		return windows;
+	}
+
+	/**
+	 * Math model of the game with its standard data.
+	 *
+	 * @param freeOff       Free spins flag.
+	 * @param wildsOff      Wild substitution flag.
+	 * @param wildExpandOff Wild expansion flag.
+	 */
+	GameModel(boolean freeOff, boolean wildsOff, boolean wildExpandOff) {
+		this(standardSymbols, standardPaytable, standardScatterMultipliers, standardLines, standardBaseReels,
+				standardFreeReels, standardWildsSets, standardBaseStripsDistribution, standardScatterDistritutions,
+				standardFreeMultiplierDistribution, freeOff, wildsOff, wildExpandOff);
+	}
+
+	/**
+	 * Copy of math model with line wins lookup table and feature payouts table.
+	 *
+	 * @param model         Math model to be copied.
+	 * @param lineWinsTable Line wins lookup table.
+	 * @param outcomeSymbol Winning symbol of the line outcomes.
+	 * @param outcomeNumber Number of winning symbols of the line outcomes.
+	 * @param outcomeWin    Base win of the line outcomes.
+	 * @param featureWins   Free spins feature payouts.
+	 * @param featureGames  Number of free spins of the feature payouts.
+	 */
+	private GameModel(GameModel model, byte[] lineWinsTable, int[] outcomeSymbol, int[] outcomeNumber,
+			int[] outcomeWin, int[][][] featureWins, int[][][] featureGames) {
+		symbols = model.symbols;
+		paytable = model.paytable;
+		scatterMultipliers = model.scatterMultipliers;
+		lines = model.lines;
+		baseReels = model.baseReels;
+		freeReels = model.freeReels;
+		reelsSets = model.reelsSets;
+		windowsSets = model.windowsSets;
+		wildsSets = model.wildsSets;
+		baseStripsDistribution = model.baseStripsDistribution;
+		scatterDistritutions = model.scatterDistritutions;
+		freeMultiplierDistribution = model.freeMultiplierDistribution;
+		baseStrips = model.baseStrips;
+		scatters = model.scatters;
+		freeMultipliers = model.freeMultipliers;
+		totalBet = model.totalBet;
+		freeOff = model.freeOff;
+		wildsOff = model.wildsOff;
+		wildExpandOff = model.wildExpandOff;
+
+		this.lineWinsTable = lineWinsTable;
+		this.outcomeSymbol = outcomeSymbol;
+		this.outcomeNumber = outcomeNumber;
+		this.outcomeWin = outcomeWin;
+		this.featureWins = featureWins;
+		this.featureGames = featureGames;
+	}
+
+	/**
+	 * Variant of the math model with single changed table. Keys are paytable<n>
+	 * (pay table row of n symbols), scatters (scatter multipliers), multipliers
+	 * (free spins multipliers distribution) and wilds<set>.<n> (wild expansion
+	 * percentages of reels set for n wilds, reel by reel). Reels strips are never
+	 * changed, so all variants can share the same reels stops.
+	 *
+	 * @param key    Name of the changed table.
+	 * @param values New values of the table.
+	 *
+	 * @return Math model variant.
+	 *
+	 * @throws IllegalArgumentException If the key or the number of values is not
+	 *                                  valid or the variant fails the model
+	 *                                  check.
+	 */
+	GameModel withOverride(String key, int[] values) {
+		int[][] paytable = this.paytable;
+		int[] scatterMultipliers = this.scatterMultipliers;
+		int[] freeMultiplierDistribution = this.freeMultiplierDistribution;
+		int[][][][] wildsSets = this.wildsSets;
+
+		try {
+			if (key.startsWith("paytable") == true) {
+				int n = Integer.parseInt(key.substring(8));
+				if (values.length != paytable[n].length) {
+					throw new IllegalArgumentException("Pay table row needs " + paytable[n].length + " values.");
+				}
+				paytable = paytable.clone();
+				paytable[n] = values.clone();
+			} else if (key.equals("scatters") == true) {
+				if (values.length != scatterMultipliers.length) {
+					throw new IllegalArgumentException("Scatters need " + scatterMultipliers.length + " values.");
+				}
+				scatterMultipliers = values.clone();
+			} else if (key.equals("multipliers") == true) {
+				freeMultiplierDistribution = values.clone();
+			} else if (key.startsWith("wilds") == true) {
+				String[] indices = key.substring(5).split("\\.");
+				int set = Integer.parseInt(indices[0]) - 1;
+				int n = Integer.parseInt(indices[1]);
+				int[][] table = wildsSets[set][n];
+				if (values.length != table.length * table[0].length) {
+					throw new IllegalArgumentException("Wilds need " + table.length * table[0].length + " values.");
+				}
+
+				wildsSets = wildsSets.clone();
+				wildsSets[set] = wildsSets[set].clone();
+				wildsSets[set][n] = new int[table.length][table[0].length];
+				for (int i = 0; i < table.length; i++) {
+					System.arraycopy(values, i * table[i].length, wildsSets[set][n][i], 0, table[i].length);
+				}
+			} else {
+				throw new IllegalArgumentException("Unknown model table: " + key);
+			}
+		} catch (IndexOutOfBoundsException | NumberFormatException exception) {
+			throw new IllegalArgumentException("Invalid model table: " + key);
+		}
+
+		try {
+			check(symbols, paytable, scatterMultipliers, lines, baseReels, freeReels, wildsSets,
+					baseStripsDistribution, scatterDistritutions, freeMultiplierDistribution);
+		} catch (IOException exception) {
+			throw new IllegalArgumentException(exception.getMessage());
+		}
+
+		return new GameModel(symbols, paytable, scatterMultipliers, lines, baseReels, freeReels, wildsSets,
+				baseStripsDistribution, scatterDistritutions, freeMultiplierDistribution, freeOff, wildsOff,
+				wildExpandOff);
+	}
+
+	/**
+	 * Build the line wins lookup table for all combinations of five symbols (five
+	 * bits per symbol). The table keeps index of the outcome (symbol, number of
+	 * symbols and base win), because there are only few winning outcomes.
+	 *
+	 * @return Math model with line wins lookup table.
+	 */
+	GameModel withLineWinsTable() {
+		byte[] table = new byte[1 << 25];
+		int[][] ids = new int[paytable.length][paytable[0].length];
+		List<int[]> outcomes = new ArrayList<int[]>();
+		outcomes.add(new int[] { 0, 0, 0 });
+
+		/* Line evaluation by substitution of the wilds in the line. */
+		int[] line = new int[5];
+		int[] combination = new int[5];
+		int combinations = (int) Math.pow(symbols.length, line.length);
+		for (int key = 0; key < combinations; key++) {
+			for (int i = 0, value = key; i < line.length; i++, value /= symbols.length) {
+				combination[i] = value % symbols.length;
+				line[i] = combination[i];
+			}
+
+			int symbol = line[0];
+			for (int i = 0; i < line.length; i++) {
+				if (symbol != 1 && symbol != 2) {
+					break;
+				}
+				symbol = line[i];
+			}
+			for (int i = 0; i < line.length && wildsOff == false; i++) {
+				if (line[i] == 1 || line[i] == 2) {
+					line[i] = symbol;
+				}
+			}
+			int number = 0;
+			for (int i = 0; i < line.length && line[i] == symbol; i++) {
+				number++;
+			}
+
+			if (paytable[number][symbol] <= 0) {
+				continue;
+			}
+
+			if (ids[number][symbol] == 0) {
+				ids[number][symbol] = outcomes.size();
+				outcomes.add(new int[] { symbol, number, paytable[number][symbol] });
+			}
+
+			table[combination[0] | combination[1] << 5 | combination[2] << 10 | combination[3] << 15
+					| combination[4] << 20] = (byte) ids[number][symbol];
+		}
+
+		int[] symbol = new int[outcomes.size()];
+		int[] number = new int[outcomes.size()];
+		int[] win = new int[outcomes.size()];
+		for (int i = 0; i < outcomes.size(); i++) {
+			symbol[i] = outcomes.get(i)[0];
+			number[i] = outcomes.get(i)[1];
+			win[i] = outcomes.get(i)[2];
+		}
+
+		return new GameModel(this, table, symbol, number, win, featureWins, featureGames);
+	}
+
+	/**
+	 * Copy of math model with free spins feature payouts table. Every triggered
+	 * feature takes random payout of its strips and multiplier instead of
+	 * playing the free spins.
+	 *
+	 * @param wins  Feature payouts by base game strips and multiplier.
+	 * @param games Number of free spins of the payouts.
+	 *
+	 * @return Math model with feature payouts table.
+	 */
+	GameModel withFeatureTable(int[][][] wins, int[][][] games) {
+		return new GameModel(this, lineWinsTable, outcomeSymbol, outcomeNumber, outcomeWin, wins, games);
+	}
+
+	/**
+	 * Hash of the math model tables (64-bit FNV-1a of all values and sizes), so
+	 * files made with one model can be checked against the loaded model.
+	 *
+	 * @return Hash of the model.
+	 */
+	long hash() {
+		Object[] tables = { paytable, scatterMultipliers, lines, baseReels, freeReels, wildsSets,
+				baseStripsDistribution, scatterDistritutions, freeMultiplierDistribution };
+		return hash(0xCBF29CE484222325L, tables);
+	}
+
+	/**
+	 * Add values of nested integer arrays to the hash.
+	 *
+	 * @param hash  Current hash.
+	 * @param table Array of integers or array of arrays.
+	 *
+	 * @return Updated hash.
+	 */
+	private static long hash(long hash, Object table) {
+		if (table instanceof int[]) {
+			int[] values = (int[]) table;
+			hash = (hash ^ values.length) * 0x100000001B3L;
+			for (int value : values) {
+				hash = (hash ^ value) * 0x100000001B3L;
+			}
+			return hash;
+		}
+
+		Object[] tables = (Object[]) table;
+		hash = (hash ^ tables.length) * 0x100000001B3L;
+		for (Object inner : tables) {
+			hash = hash(hash, inner);
+		}
+		return hash;
+	}
+
+	/** Compiled math model file identifier. */
+	private static final int BINARY_MAGIC = 0x5454474D;
+
+	/** Compiled math model file format version. */
+	private static final int BINARY_VERSION = 1;
+
+	/**
+	 * Load math model from text or compiled binary file. The compiled form is
+	 * recognized by its identifier and it is read with a single memory mapping
+	 * of the file.
+	 *
+	 * @param file          File name.
+	 * @param freeOff       Free spins flag.
+	 * @param wildsOff      Wild substitution flag.
+	 * @param wildExpandOff Wild expansion flag.
+	 *
+	 * @return Loaded math model.
+	 *
+	 * @throws IOException If the file is not readable or its content is not
+	 *                     valid.
+	 */
+	static GameModel read(String file, boolean freeOff, boolean wildsOff, boolean wildExpandOff) throws IOException {
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		try {
+			if (buffer.remaining() >= 4 && buffer.getInt(0) == BINARY_MAGIC) {
+				return readBinary(buffer, freeOff, wildsOff, wildExpandOff);
+			}
+			return readText(StandardCharsets.UTF_8.decode(buffer).toString(), freeOff, wildsOff, wildExpandOff);
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException
+				| IllegalArgumentException exception) {
+			throw new IOException("Invalid model file " + file + ": " + exception.getMessage());
+		}
+	}
+
+	/**
+	 * Parse math model text form. Every line is keyword followed by values and
+	 * lines starting with # are comments. Repeated keywords add rows.
+	 *
+	 * <pre>
+	 * symbols - SYM01 - SYM03 ...     (- for unused symbol)
+	 * pay 0 0 0 ...                   (row per number of symbols)
+	 * scatters 0 0 0 1 2 3
+	 * line 1 1 1 1 1                  (row per line)
+	 * base 1 10 6 4 ...               (reel of base game strips set 1)
+	 * free 1 10 6 4 ...               (reel of free spins strips set 1)
+	 * wilds 1 1 0 0 0                 (reel of set 1 percentages for 1 wild)
+	 * strips 1 2 3 4 5 ...
+	 * scatterdistribution 10 12 ...   (base game, FS1, FS2 and FS3)
+	 * multipliers 2 3 4 ...
+	 * </pre>
+	 *
+	 * @param text          Text form of the model.
+	 * @param freeOff       Free spins flag.
+	 * @param wildsOff      Wild substitution flag.
+	 * @param wildExpandOff Wild expansion flag.
+	 *
+	 * @return Math model.
+	 *
+	 * @throws IOException If the text is not valid.
+	 */
+	private static GameModel readText(String text, boolean freeOff, boolean wildsOff, boolean wildExpandOff)
+			throws IOException {
+		String[] symbols = null;
+		List<int[]> paytable = new ArrayList<int[]>();
+		int[] scatterMultipliers = null;
+		List<int[]> lines = new ArrayList<int[]>();
+		List<List<int[]>> baseReels = new ArrayList<List<int[]>>();
+		List<List<int[]>> freeReels = new ArrayList<List<int[]>>();
+		List<List<List<int[]>>> wilds = new ArrayList<List<List<int[]>>>();
+		int[] baseStripsDistribution = null;
+		List<int[]> scatterDistritutions = new ArrayList<int[]>();
+		int[] freeMultiplierDistribution = null;
+
+		String[] rows = text.split("\\r?\\n");
+		for (int r = 0; r < rows.length; r++) {
+			String row = rows[r].trim();
+			if (row.isEmpty() == true || row.startsWith("#") == true) {
+				continue;
+			}
+
+			String[] tokens = row.split("\\s+");
+			String key = tokens[0];
+			if (key.equals("symbols") == true) {
+				symbols = new String[tokens.length - 1];
+				for (int i = 1; i < tokens.length; i++) {
+					symbols[i - 1] = tokens[i].equals("-") ? "" : tokens[i];
+				}
+				continue;
+			}
+
+			int[] values = new int[tokens.length - 1];
+			try {
+				for (int i = 1; i < tokens.length; i++) {
+					values[i - 1] = Integer.parseInt(tokens[i]);
+				}
+			} catch (NumberFormatException exception) {
+				throw new IOException("Invalid number on line " + (r + 1) + ".");
+			}
+
+			if (key.equals("pay") == true) {
+				paytable.add(values);
+			} else if (key.equals("scatters") == true) {
+				scatterMultipliers = values;
+			} else if (key.equals("line") == true) {
+				lines.add(values);
+			} else if ((key.equals("base") == true || key.equals("free") == true) && values.length > 1) {
+				List<List<int[]>> sets = key.equals("base") == true ? baseReels : freeReels;
+				element(sets, values[0] - 1, r).add(Arrays.copyOfRange(values, 1, values.length));
+			} else if (key.equals("wilds") == true && values.length > 2) {
+				List<List<int[]>> tables = element(wilds, values[0] - 1, r);
+				element(tables, values[1], r).add(Arrays.copyOfRange(values, 2, values.length));
+			} else if (key.equals("strips") == true) {
+				baseStripsDistribution = values;
+			} else if (key.equals("scatterdistribution") == true) {
+				scatterDistritutions.add(values);
+			} else if (key.equals("multipliers") == true) {
+				freeMultiplierDistribution = values;
+			} else {
+				throw new IOException("Unknown keyword on line " + (r + 1) + ": " + key);
+			}
+		}
+
+		if (symbols == null || paytable.isEmpty() == true || scatterMultipliers == null || lines.isEmpty() == true
+				|| baseReels.isEmpty() == true || baseStripsDistribution == null
+				|| freeMultiplierDistribution == null) {
+			throw new IOException("Incomplete model.");
+		}
+
+		int[][][][] wildsSets = new int[wilds.size()][][][];
+		for (int s = 0; s < wildsSets.length; s++) {
+			wildsSets[s] = new int[wilds.get(s).size()][][];
+			for (int n = 0; n < wildsSets[s].length; n++) {
+				wildsSets[s][n] = wilds.get(s).get(n).toArray(new int[0][]);
+			}
+		}
+
+		int[][] pays = paytable.toArray(new int[0][]);
+		int[][] combinations = lines.toArray(new int[0][]);
+		int[][][] base = strips(baseReels);
+		int[][][] free = strips(freeReels);
+		int[][] distributions = scatterDistritutions.toArray(new int[0][]);
+		check(symbols, pays, scatterMultipliers, combinations, base, free, wildsSets, baseStripsDistribution,
+				distributions, freeMultiplierDistribution);
+
+		return new GameModel(symbols, pays, scatterMultipliers, combinations, base, free, wildsSets,
+				baseStripsDistribution, distributions, freeMultiplierDistribution, freeOff, wildsOff, wildExpandOff);
+	}
+
+	/**
+	 * Check the shape of loaded math model against the fixed layout of the
+	 * engines (five reels with three rows, 5 bits symbols ids, pay table rows by
+	 * number of symbols, FS1, FS2 and FS3 stages and byte ids of the line
+	 * outcomes). Pays and multipliers can not be negative and wilds tables keep
+	 * percentages.
+	 *
+	 * @param symbols                    List of symbols names.
+	 * @param paytable                   Pay table.
+	 * @param scatterMultipliers         Scatter multipliers.
+	 * @param lines                      Lines combinations.
+	 * @param baseReels                  Base reels strips.
+	 * @param freeReels                  Free reels strips.
+	 * @param wildsSets                  Wild symbols distributions.
+	 * @param baseStripsDistribution     Base game strips distribution.
+	 * @param scatterDistritutions       Scatters distributions.
+	 * @param freeMultiplierDistribution Free spins multipliers distribution.
+	 *
+	 * @throws IOException If the model does not fit the engines.
+	 */
+	private static void check(String[] symbols, int[][] paytable, int[] scatterMultipliers, int[][] lines,
+			int[][][] baseReels, int[][][] freeReels, int[][][][] wildsSets, int[] baseStripsDistribution,
+			int[][] scatterDistritutions, int[] freeMultiplierDistribution) throws IOException {
+		if (symbols.length > 32) {
+			throw new IOException("Invalid model: more than 32 symbols.");
+		}
+
+		if (paytable.length != 6) {
+			throw new IOException("Invalid model: pay table needs 6 rows.");
+		}
+		int outcomes = 0;
+		for (int[] row : paytable) {
+			if (row.length != symbols.length) {
+				throw new IOException("Invalid model: pay table rows need " + symbols.length + " values.");
+			}
+			for (int symbol = 0; symbol < row.length; symbol++) {
+				if (row[symbol] < 0) {
+					throw new IOException("Invalid model: negative line win of symbol " + symbol + ".");
+				}
+				if (row[symbol] > 0 && symbol >= 13) {
+					throw new IOException("Invalid model: line win of symbol " + symbol + " is not counted.");
+				}
+				if (row[symbol] > 0) {
+					outcomes++;
+				}
+			}
+		}
+		if (outcomes > Byte.MAX_VALUE) {
+			throw new IOException("Invalid model: more than " + Byte.MAX_VALUE + " line wins.");
+		}
+
+		for (int[] line : lines) {
+			if (line.length != 5) {
+				throw new IOException("Invalid model: lines need 5 rows indices.");
+			}
+			for (int row : line) {
+				if (row < 0 || row > 2) {
+					throw new IOException("Invalid model: line row " + row + " is not in 0..2.");
+				}
+			}
+		}
+
+		/* The most scatters on the screen is the sum of the most on every reel. */
+		int most = 0;
+		for (int[][][] sets : new int[][][][] { baseReels, freeReels }) {
+			for (int[][] reels : sets) {
+				if (reels.length != 5) {
+					throw new IOException("Invalid model: strips need 5 reels.");
+				}
+				int scatters = 0;
+				for (int[] reel : reels) {
+					if (reel.length == 0) {
+						throw new IOException("Invalid model: empty reel.");
+					}
+					int window = 0;
+					for (int r = 0; r < reel.length; r++) {
+						if (reel[r] < 0 || reel[r] >= symbols.length) {
+							throw new IOException("Invalid model: unknown symbol " + reel[r] + " on reel.");
+						}
+						int count = 0;
+						for (int j = 0; j < 3; j++) {
+							count += reel[(r + j) % reel.length] == 16 ? 1 : 0;
+						}
+						window = Math.max(window, count);
+					}
+					scatters += window;
+				}
+				most = Math.max(most, scatters);
+			}
+		}
+		if (scatterMultipliers.length <= most) {
+			throw new IOException("Invalid model: scatters need " + (most + 1) + " values.");
+		}
+		for (int value : scatterMultipliers) {
+			if (value < 0) {
+				throw new IOException("Invalid model: negative scatter multiplier " + value + ".");
+			}
+		}
+		if (freeMultiplierDistribution.length == 0) {
+			throw new IOException("Invalid model: free spins need multipliers.");
+		}
+		for (int value : freeMultiplierDistribution) {
+			if (value < 0) {
+				throw new IOException("Invalid model: negative free spins multiplier " + value + ".");
+			}
+		}
+
+		if (freeReels.length != 3 || scatterDistritutions.length != 4) {
+			throw new IOException("Invalid model: free spins need 3 strips and 4 scatter distributions.");
+		}
+		for (int value : baseStripsDistribution) {
+			if (value < 1 || value > baseReels.length) {
+				throw new IOException("Invalid model: base game strips " + value + " do not exist.");
+			}
+		}
+
+		if (wildsSets.length < baseReels.length) {
+			throw new IOException("Invalid model: wilds need " + baseReels.length + " sets.");
+		}
+		for (int s = 0; s < baseReels.length; s++) {
+			if (wildsSets[s].length < 3) {
+				throw new IOException("Invalid model: wilds set " + (s + 1) + " needs tables for 1 and 2 wilds.");
+			}
+			for (int n = 1; n < 3; n++) {
+				boolean valid = wildsSets[s][n].length == 5;
+				for (int i = 0; i < wildsSets[s][n].length; i++) {
+					valid = valid && wildsSets[s][n][i].length == 3;
+				}
+				if (valid == false) {
+					throw new IOException("Invalid model: wilds tables need 5 reels with 3 rows.");
+				}
+			}
+			for (int[][] table : wildsSets[s]) {
+				for (int[] reel : table) {
+					for (int percent : reel) {
+						if (percent < 0 || percent > 100) {
+							throw new IOException("Invalid model: wilds percent " + percent + " is not in 0..100.");
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Element of growing list, which is extended with empty lists up to the
+	 * index.
+	 *
+	 * @param <T>   Type of the elements of the inner lists.
+	 * @param lists List of lists.
+	 * @param index Index of the element.
+	 * @param row   Index of the text line (for the error message).
+	 *
+	 * @return Inner list.
+	 *
+	 * @throws IOException If the index is negative.
+	 */
+	private static <T> List<T> element(List<List<T>> lists, int index, int row) throws IOException {
+		if (index < 0) {
+			throw new IOException("Invalid index on line " + (row + 1) + ".");
+		}
+		while (lists.size() <= index) {
+			lists.add(new ArrayList<T>());
+		}
+		return lists.get(index);
+	}
+
+	/**
+	 * Convert strips sets from lists to arrays.
+	 *
+	 * @param sets Strips sets as lists of reels.
+	 *
+	 * @return Strips sets.
+	 */
+	private static int[][][] strips(List<List<int[]>> sets) {
+		int[][][] strips = new int[sets.size()][][];
+		for (int s = 0; s < strips.length; s++) {
+			strips[s] = sets.get(s).toArray(new int[0][]);
+		}
+		return strips;
+	}
+
+	/**
+	 * Write the text form of this math model.
+	 *
+	 * @param file File name.
+	 *
+	 * @throws IOException If the file is not writable.
+	 */
+	void writeText(String file) throws IOException {
+		StringBuilder text = new StringBuilder();
+		text.append("# Math model of the game.\n");
+
+		text.append("symbols");
+		for (String symbol : symbols) {
+			text.append(' ').append(symbol.isEmpty() == true ? "-" : symbol);
+		}
+		text.append('\n');
+
+		for (int[] row : paytable) {
+			append(text, "pay", row);
+		}
+		append(text, "scatters", scatterMultipliers);
+		for (int[] line : lines) {
+			append(text, "line", line);
+		}
+		for (int s = 0; s < baseReels.length; s++) {
+			for (int[] reel : baseReels[s]) {
+				append(text, "base " + (s + 1), reel);
+			}
+		}
+		for (int s = 0; s < freeReels.length; s++) {
+			for (int[] reel : freeReels[s]) {
+				append(text, "free " + (s + 1), reel);
+			}
+		}
+		for (int s = 0; s < wildsSets.length; s++) {
+			for (int n = 0; n < wildsSets[s].length; n++) {
+				for (int[] reel : wildsSets[s][n]) {
+					append(text, "wilds " + (s + 1) + " " + n, reel);
+				}
+			}
+		}
+		append(text, "strips", baseStripsDistribution);
+		for (int[] distribution : scatterDistritutions) {
+			append(text, "scatterdistribution", distribution);
+		}
+		append(text, "multipliers", freeMultiplierDistribution);
+
+		Files.write(Paths.get(file), text.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Append single line of the text form.
+	 *
+	 * @param text   Text form.
+	 * @param key    Keyword of the line.
+	 * @param values Values of the line.
+	 */
+	private static void append(StringBuilder text, String key, int[] values) {
+		text.append(key);
+		for (int value : values) {
+			text.append(' ').append(value);
+		}
+		text.append('\n');
+	}
+
+	/**
+	 * Read math model compiled binary form. All tables are stored as integers
+	 * with their sizes in front, so every innermost array is filled by single
+	 * bulk get.
+	 *
+	 * @param buffer        Compiled form.
+	 * @param freeOff       Free spins flag.
+	 * @param wildsOff      Wild substitution flag.
+	 * @param wildExpandOff Wild expansion flag.
+	 *
+	 * @return Math model.
+	 *
+	 * @throws IOException If the format version is not supported or the model
+	 *                     is not valid.
+	 */
+	private static GameModel readBinary(ByteBuffer buffer, boolean freeOff, boolean wildsOff, boolean wildExpandOff)
+			throws IOException {
+		IntBuffer ints = buffer.asIntBuffer();
+		ints.get();
+		if (ints.get() != BINARY_VERSION) {
+			throw new IOException("Unsupported model file version.");
+		}
+
+		int[][] paytable = ints2(ints);
+		int[] scatterMultipliers = ints1(ints);
+		int[][] lines = ints2(ints);
+		int[][][] baseReels = ints3(ints);
+		int[][][] freeReels = ints3(ints);
+		int[][][][] wildsSets = new int[ints.get()][][][];
+		for (int s = 0; s < wildsSets.length; s++) {
+			wildsSets[s] = ints3(ints);
+		}
+		int[] baseStripsDistribution = ints1(ints);
+		int[][] scatterDistritutions = ints2(ints);
+		int[] freeMultiplierDistribution = ints1(ints);
+
+		/* Symbols names follow the integer tables. */
+		buffer.position(4 * ints.position());
+		String[] symbols = new String[buffer.getInt()];
+		for (int i = 0; i < symbols.length; i++) {
+			byte[] name = new byte[buffer.getInt()];
+			buffer.get(name);
+			symbols[i] = new String(name, StandardCharsets.UTF_8);
+		}
+
+		check(symbols, paytable, scatterMultipliers, lines, baseReels, freeReels, wildsSets, baseStripsDistribution,
+				scatterDistritutions, freeMultiplierDistribution);
+
+		return new GameModel(symbols, paytable, scatterMultipliers, lines, baseReels, freeReels, wildsSets,
+				baseStripsDistribution, scatterDistritutions, freeMultiplierDistribution, freeOff, wildsOff,
+				wildExpandOff);
+	}
+
+	/**
+	 * Read array of integers with its size in front.
+	 *
+	 * @param ints Input buffer.
+	 *
+	 * @return Array.
+	 */
+	private static int[] ints1(IntBuffer ints) {
+		int[] array = new int[ints.get()];
+		ints.get(array);
+		return array;
+	}
+
+	/**
+	 * Read two dimensional array of integers with its sizes in front.
+	 *
+	 * @param ints Input buffer.
+	 *
+	 * @return Array.
+	 */
+	private static int[][] ints2(IntBuffer ints) {
+		int[][] array = new int[ints.get()][];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = ints1(ints);
+		}
+		return array;
+	}
+
+	/**
+	 * Read three dimensional array of integers with its sizes in front.
+	 *
+	 * @param ints Input buffer.
+	 *
+	 * @return Array.
+	 */
+	private static int[][][] ints3(IntBuffer ints) {
+		int[][][] array = new int[ints.get()][][];
+		for (int i = 0; i < array.length; i++) {
+			array[i] = ints2(ints);
+		}
+		return array;
+	}
+
+	/**
+	 * Write the compiled binary form of this math model.
+	 *
+	 * @param file File name.
+	 *
+	 * @throws IOException If the file is not writable.
+	 */
+	void writeBinary(String file) throws IOException {
+		List<Integer> ints = new ArrayList<Integer>();
+		ints.add(BINARY_MAGIC);
+		ints.add(BINARY_VERSION);
+		add(ints, paytable);
+		add(ints, scatterMultipliers);
+		add(ints, lines);
+		add(ints, baseReels);
+		add(ints, freeReels);
+		ints.add(wildsSets.length);
+		for (int[][][] set : wildsSets) {
+			add(ints, set);
+		}
+		add(ints, baseStripsDistribution);
+		add(ints, scatterDistritutions);
+		add(ints, freeMultiplierDistribution);
+
+		byte[][] names = new byte[symbols.length][];
+		int size = 4 * ints.size() + 4;
+		for (int i = 0; i < symbols.length; i++) {
+			names[i] = symbols[i].getBytes(StandardCharsets.UTF_8);
+			size += 4 + names[i].length;
+		}
+
+		ByteBuffer buffer = ByteBuffer.allocate(size);
+		for (int value : ints) {
+			buffer.putInt(value);
+		}
+		buffer.putInt(names.length);
+		for (byte[] name : names) {
+			buffer.putInt(name.length);
+			buffer.put(name);
+		}
+		buffer.flip();
+
+		try (FileChannel channel = FileChannel.open(Paths.get(file), StandardOpenOption.CREATE,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (buffer.hasRemaining() == true) {
+				channel.write(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Add array of integers with its size in front.
+	 *
+	 * @param ints  Integers of the compiled form.
+	 * @param array Array.
+	 */
+	private static void add(List<Integer> ints, int[] array) {
+		ints.add(array.length);
+		for (int value : array) {
+			ints.add(value);
+		}
+	}
+
+	/**
+	 * Add two dimensional array of integers with its sizes in front.
+	 *
+	 * @param ints  Integers of the compiled form.
+	 * @param array Array.
+	 */
+	private static void add(List<Integer> ints, int[][] array) {
+		ints.add(array.length);
+		for (int[] row : array) {
+			add(ints, row);
+		}
+	}
+
+	/**
+	 * Add three dimensional array of integers with its sizes in front.
+	 *
+	 * @param ints  Integers of the compiled form.
+	 * @param array Array.
+	 */
+	private static void add(List<Integer> ints, int[][][] array) {
+		ints.add(array.length);
+		for (int[][] table : array) {
+			add(ints, table);
+		}
+	}
+}
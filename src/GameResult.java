@@ -0,0 +1,162 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+/**
+ * Compact result of single base game with all its free spins. The result
+ * object is reused by its engine, so nothing is allocated per game.
+ */
+class GameResult {
+	/** Win in the base game spin (lines and scatters). */
+	int baseWin = 0;
+
+	/** Scatters win in the base game spin. */
+	int scatterWin = 0;
+
+	/** Screen view of the base game spin (after the wild expansion). */
+	int[][] view;
+
+	/** Index of the base game reels strips. */
+	int strips = 0;
+
+	/** Reels stops of the base game spin. */
+	int[] stops;
+
+	/** Free spins multiplier (zero when the free spins are not triggered). */
+	int freeMultiplier = 0;
+
+	/** Number of the free spins segments (trigger and re-triggers). */
+	int segments = 0;
+
+	/** Reels strips indices of the first free spins segments. */
+	int[] segmentStages = new int[16];
+
+	/** Numbers of free spins of the first free spins segments. */
+	int[] segmentCounts = new int[16];
+
+	/** Total win in the free spins. */
+	int freeWin = 0;
+
+	/** Number of free spins awarded by the base game (with the re-triggers). */
+	int freeGames = 0;
+
+	/** Number of played free spins (zero when the free spins are switched off). */
+	int freeSpins = 0;
+
+	/** Wins of the played free spins. */
+	int[] freeWins = new int[256];
+
+	/** Number of the winning lines in the base game spin. */
+	int winningLines = 0;
+
+	/** Index of the currently evaluated line. */
+	int line = 0;
+
+	/** Indices of the winning lines in the base game spin. */
+	int[] lineIndices;
+
+	/** Symbols of the winning lines in the base game spin. */
+	int[] lineSymbols;
+
+	/** Numbers of symbols of the winning lines in the base game spin. */
+	int[] lineNumbers;
+
+	/** Wins of the winning lines in the base game spin. */
+	int[] lineWins;
+
+	/**
+	 * Game result constructor.
+	 *
+	 * @param numberOfLines Number of lines in the game.
+	 * @param view          Screen view size.
+	 */
+	GameResult(int numberOfLines, int[][] view) {
+		this.view = new int[view.length][];
+		for (int i = 0; i < view.length; i++) {
+			this.view[i] = new int[view[i].length];
+		}
+		stops = new int[view.length];
+
+		lineIndices = new int[numberOfLines];
+		lineSymbols = new int[numberOfLines];
+		lineNumbers = new int[numberOfLines];
+		lineWins = new int[numberOfLines];
+	}
+
+	/** Clear the result before the next base game. */
+	void clear() {
+		baseWin = 0;
+		scatterWin = 0;
+		freeWin = 0;
+		freeGames = 0;
+		freeSpins = 0;
+		winningLines = 0;
+		freeMultiplier = 0;
+		segments = 0;
+	}
+
+	/**
+	 * Add winning line of the base game spin.
+	 *
+	 * @param symbol Winning symbol.
+	 * @param number Number of winning symbols.
+	 * @param win    Line win.
+	 */
+	void addLine(int symbol, int number, int win) {
+		lineIndices[winningLines] = line;
+		lineSymbols[winningLines] = symbol;
+		lineNumbers[winningLines] = number;
+		lineWins[winningLines] = win;
+		winningLines++;
+	}
+
+	/**
+	 * Add free spins segment (trigger or re-trigger). Only the first segments
+	 * are kept, but all of them are counted.
+	 *
+	 * @param stage Index of the reels strips (1 to 3 for FS1 to FS3).
+	 * @param count Number of free spins.
+	 */
+	void addSegment(int stage, int count) {
+		if (segments < segmentStages.length) {
+			segmentStages[segments] = stage;
+			segmentCounts[segments] = count;
+		}
+		segments++;
+	}
+
+	/**
+	 * Add win of played free spin.
+	 *
+	 * @param win Free spin win.
+	 */
+	void addFreeSpin(int win) {
+		/* Long free spins series are very rare, so the buffer grows on demand. */
+		if (freeSpins == freeWins.length) {
+			int[] wins = new int[2 * freeWins.length];
+			System.arraycopy(freeWins, 0, wins, 0, freeSpins);
+			freeWins = wins;
+		}
+
+		freeWins[freeSpins++] = win;
+		freeWin += win;
+	}
+}
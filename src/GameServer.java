@@ -0,0 +1,348 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Game server for live play. Every connection is served in its own (virtual
+ * if available) thread with game engine taken from a pool, so the engines and
+ * their generators are never shared between threads. Each request line
+ * (anything terminated by new line) plays single base game with all its free
+ * spins and the response is single JSON line written directly as bytes in a
+ * reused buffer:
+ *
+ * {"view":[[..],..],"lines":[[line,symbol,number,win],..],"scatter":..,
+ * "base":..,"freeGames":..,"free":[..],"win":..}
+ */
+class GameServer {
+	/** Constant parts of the response. */
+	private static final byte[] VIEW = "{\"view\":[".getBytes(StandardCharsets.US_ASCII);
+
+	/** Constant parts of the response. */
+	private static final byte[] LINES = "],\"lines\":[".getBytes(StandardCharsets.US_ASCII);
+
+	/** Constant parts of the response. */
+	private static final byte[] SCATTER = "],\"scatter\":".getBytes(StandardCharsets.US_ASCII);
+
+	/** Constant parts of the response. */
+	private static final byte[] BASE = ",\"base\":".getBytes(StandardCharsets.US_ASCII);
+
+	/** Constant parts of the response. */
+	private static final byte[] FREE_GAMES = ",\"freeGames\":".getBytes(StandardCharsets.US_ASCII);
+
+	/** Constant parts of the response. */
+	private static final byte[] FREE = ",\"free\":[".getBytes(StandardCharsets.US_ASCII);
+
+	/** Constant parts of the response. */
+	private static final byte[] WIN = "],\"win\":".getBytes(StandardCharsets.US_ASCII);
+
+	/** Game engine with its own response buffer. */
+	private static class Session {
+		/** Game engine of the session. */
+		final GameEngine engine;
+
+		/** Response buffer. */
+		byte[] buffer = new byte[1 << 12];
+
+		/** Length of the response in the buffer. */
+		int length = 0;
+
+		/**
+		 * Session constructor.
+		 *
+		 * @param engine Game engine of the session.
+		 */
+		Session(GameEngine engine) {
+			this.engine = engine;
+		}
+
+		/**
+		 * Ensure space in the response buffer.
+		 *
+		 * @param size Number of bytes to be added.
+		 */
+		private void reserve(int size) {
+			if (length + size > buffer.length) {
+				byte[] bigger = new byte[2 * (length + size)];
+				System.arraycopy(buffer, 0, bigger, 0, length);
+				buffer = bigger;
+			}
+		}
+
+		/**
+		 * Append constant bytes.
+		 *
+		 * @param bytes Bytes to append.
+		 */
+		void put(byte[] bytes) {
+			reserve(bytes.length);
+			System.arraycopy(bytes, 0, buffer, length, bytes.length);
+			length += bytes.length;
+		}
+
+		/**
+		 * Append single character.
+		 *
+		 * @param character ASCII character.
+		 */
+		void put(char character) {
+			reserve(1);
+			buffer[length++] = (byte) character;
+		}
+
+		/**
+		 * Append decimal integer without intermediate string.
+		 *
+		 * @param value Integer value.
+		 */
+		void put(int value) {
+			reserve(11);
+			if (value < 0) {
+				buffer[length++] = '-';
+				value = -value;
+			}
+
+			int start = length;
+			do {
+				buffer[length++] = (byte) ('0' + value % 10);
+				value /= 10;
+			} while (value > 0);
+
+			/* Digits are written in reversed order. */
+			for (int i = start, j = length - 1; i < j; i++, j--) {
+				byte digit = buffer[i];
+				buffer[i] = buffer[j];
+				buffer[j] = digit;
+			}
+		}
+
+		/**
+		 * Play single base game, serialize the result and count it in the metrics
+		 * of the engine.
+		 */
+		void play() {
+			GameResult result = engine.playBaseGame();
+			length = 0;
+
+			put(VIEW);
+			for (int i = 0; i < result.view.length; i++) {
+				if (i > 0) {
+					put(',');
+				}
+				put('[');
+				for (int j = 0; j < result.view[i].length; j++) {
+					if (j > 0) {
+						put(',');
+					}
+					put(result.view[i][j]);
+				}
+				put(']');
+			}
+
+			put(LINES);
+			for (int l = 0; l < result.winningLines; l++) {
+				if (l > 0) {
+					put(',');
+				}
+				put('[');
+				put(result.lineIndices[l]);
+				put(',');
+				put(result.lineSymbols[l]);
+				put(',');
+				put(result.lineNumbers[l]);
+				put(',');
+				put(result.lineWins[l]);
+				put(']');
+			}
+
+			put(SCATTER);
+			put(result.scatterWin);
+			put(BASE);
+			put(result.baseWin);
+			put(FREE_GAMES);
+			put(result.freeGames);
+
+			put(FREE);
+			for (int f = 0; f < result.freeSpins; f++) {
+				if (f > 0) {
+					put(',');
+				}
+				put(result.freeWins[f]);
+			}
+
+			put(WIN);
+			put(result.baseWin + result.freeWin);
+			put('}');
+			put('\n');
+
+			/* Timed games include the serialization of the response. */
+			if (engine.metrics != null) {
+				engine.metrics.game(result, engine.model.totalBet);
+				if (engine.timing == true) {
+					engine.metrics.latency(System.nanoTime() - engine.gameTime);
+				}
+			}
+		}
+	}
+
+	/** Factory of the game engines (every engine with its own generator). */
+	private final Supplier<GameEngine> engines;
+
+	/** Engines of the closed connections ready for reuse. */
+	private final Queue<Session> pool = new ConcurrentLinkedQueue<Session>();
+
+	/** Number of the connections closed with error. */
+	private final AtomicLong failures = new AtomicLong();
+
+	/**
+	 * Game server constructor.
+	 *
+	 * @param engines Factory of the game engines.
+	 */
+	GameServer(Supplier<GameEngine> engines) {
+		this.engines = engines;
+	}
+
+	/**
+	 * Executor with single virtual thread per task when the runtime supports
+	 * virtual threads, otherwise cached platform threads.
+	 *
+	 * @return Executor of the connections.
+	 */
+	static ExecutorService connectionsExecutor() {
+		try {
+			return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException exception) {
+			return Executors.newCachedThreadPool();
+		}
+	}
+
+	/**
+	 * Take session from the pool or create new one.
+	 *
+	 * @return Game session.
+	 */
+	private Session acquire() {
+		Session session = pool.poll();
+		if (session != null) {
+			return session;
+		}
+
+		/* Generators seeds are taken in order. */
+		synchronized (engines) {
+			return new Session(engines.get());
+		}
+	}
+
+	/**
+	 * Serve requests of single connection until it is closed.
+	 *
+	 * @param socket Client connection.
+	 */
+	private void serve(Socket socket) {
+		Session session = acquire();
+		try (socket) {
+			socket.setTcpNoDelay(true);
+			InputStream in = new BufferedInputStream(socket.getInputStream());
+			OutputStream out = new BufferedOutputStream(socket.getOutputStream(), 1 << 12);
+
+			for (int b = in.read(); b != -1; b = in.read()) {
+				if (b != '\n') {
+					continue;
+				}
+
+				session.play();
+				out.write(session.buffer, 0, session.length);
+
+				/* Pipelined requests are answered together. */
+				if (in.available() == 0) {
+					out.flush();
+				}
+			}
+			out.flush();
+		} catch (IOException exception) {
+			System.out.println("Connection error " + failures.incrementAndGet() + ": " + exception.getMessage());
+		} finally {
+			pool.add(session);
+		}
+	}
+
+	/**
+	 * Accept connections until the process is stopped. The server is only local
+	 * (loopback address) if no host is given, because there is no authentication.
+	 *
+	 * @param host Host name or address of the listening interface (null for the
+	 *             loopback address).
+	 * @param port TCP port.
+	 *
+	 * @throws IOException If the port can not be bound.
+	 */
+	void run(String host, int port) throws IOException {
+		ExecutorService executor = connectionsExecutor();
+		try (ServerSocket server = new ServerSocket()) {
+			server.setReuseAddress(true);
+			server.bind(host == null ? new InetSocketAddress(InetAddress.getLoopbackAddress(), port)
+					: new InetSocketAddress(host, port), 1 << 10);
+
+			while (true) {
+				Socket socket = server.accept();
+				executor.execute(() -> serve(socket));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Start game server with the engines of the factory and run it until the
+	 * process is stopped.
+	 *
+	 * @param host    Host name or address of the listening interface (null for
+	 *                the loopback address).
+	 * @param port    TCP port.
+	 * @param engines Factory of the game engines.
+	 */
+	static void start(String host, int port, Supplier<GameEngine> engines) {
+		System.out.println("Game server on " + (host == null ? "localhost" : host) + " port " + port + ".");
+		try {
+			new GameServer(engines).run(host, port);
+		} catch (IOException exception) {
+			System.out.println("Game server is stopped: " + exception.getMessage());
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,144 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.security.SecureRandom;
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+/**
+ * Mutable state of single game engine (generators, screen view, current reels
+ * and the free spins queue). Every engine has its own state, so the engines
+ * can be played in parallel threads without locks.
+ */
+class GameState {
+	/** Cryptographically secure number generator. */
+	Random secure = new SecureRandom();
+
+	/** Pseudo-random number generator. */
+	RandomGenerator prng;
+
+	/** Linear congruential generator is reseeded before every base game. */
+	boolean lcgCheck = false;
+
+	/** Current reels windows reference. */
+	int[][][] windows = {};
+
+	/** Current wilds distributions reference. */
+	int[][][] wilds = {};
+
+	/** Current visible symbols on the screen. */
+	int[][] view = { new int[] { -1, -1, -1 }, new int[] { -1, -1, -1 }, new int[] { -1, -1, -1 },
+			new int[] { -1, -1, -1 }, new int[] { -1, -1, -1 } };
+
+	/** Reels stops of the last spin. */
+	int[] stops = new int[view.length];
+
+	/** Current scatter multiplier. */
+	int scatterMultiplier = 1;
+
+	/**
+	 * Free spins to be played are kept as segments in a ring buffer. Each segment
+	 * has number of free spins, index of the reels strips (1 to 3 for FS1 to FS3)
+	 * and index of the wilds distribution (number of wilds at the trigger).
+	 */
+	int[] freeGamesCounts = new int[64];
+
+	/** Reels strips indices of the free spins segments. */
+	int[] freeGamesStages = new int[64];
+
+	/** Wilds distributions indices of the free spins segments. */
+	int[] freeGamesWilds = new int[64];
+
+	/** Ring buffer index of the first free spins segment. */
+	int freeGamesHead = 0;
+
+	/** Number of free spins segments. */
+	int freeGamesSegments = 0;
+
+	/** Number of free spins to be played. */
+	int freeGamesRemaining = 0;
+
+	/** Current free spins multiplier. */
+	int freeGamesMultiplier = 1;
+
+	/**
+	 * Game state constructor.
+	 *
+	 * @param prng Pseudo-random number generator of the game.
+	 */
+	GameState(RandomGenerator prng) {
+		this.prng = prng;
+	}
+
+	/**
+	 * Append segment of free spins at the end of the free spins queue.
+	 *
+	 * @param number Number of free spins.
+	 * @param stage  Index of the reels strips.
+	 * @param wilds  Index of the wilds distribution.
+	 */
+	void addFreeGames(int number, int stage, int wilds) {
+		if (number <= 0) {
+			return;
+		}
+
+		/* Long chains of re-triggers are very rare, so the buffer grows on demand. */
+		if (freeGamesSegments == freeGamesCounts.length) {
+			int[] counts = new int[2 * freeGamesCounts.length];
+			int[] stages = new int[2 * freeGamesStages.length];
+			int[] wildsIndices = new int[2 * freeGamesWilds.length];
+			for (int i = 0; i < freeGamesSegments; i++) {
+				counts[i] = freeGamesCounts[(freeGamesHead + i) % freeGamesCounts.length];
+				stages[i] = freeGamesStages[(freeGamesHead + i) % freeGamesStages.length];
+				wildsIndices[i] = freeGamesWilds[(freeGamesHead + i) % freeGamesWilds.length];
+			}
+			freeGamesCounts = counts;
+			freeGamesStages = stages;
+			freeGamesWilds = wildsIndices;
+			freeGamesHead = 0;
+		}
+
+		int tail = (freeGamesHead + freeGamesSegments) % freeGamesCounts.length;
+		freeGamesCounts[tail] = number;
+		freeGamesStages[tail] = stage;
+		freeGamesWilds[tail] = wilds;
+		freeGamesSegments++;
+		freeGamesRemaining += number;
+	}
+
+	/** Remove the first free spin from the free spins queue. */
+	void removeFreeGame() {
+		freeGamesRemaining--;
+		freeGamesCounts[freeGamesHead]--;
+		if (freeGamesCounts[freeGamesHead] == 0) {
+			freeGamesHead = (freeGamesHead + 1) % freeGamesCounts.length;
+			freeGamesSegments--;
+		}
+	}
+
+	/** Remove all free spins from the free spins queue. */
+	void clearFreeGames() {
+		freeGamesHead = 0;
+		freeGamesSegments = 0;
+		freeGamesRemaining = 0;
+	}
+}
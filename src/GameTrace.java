@@ -0,0 +1,475 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Binary trace of the played games for audit and replay. The file has fixed
+ * header and fixed-width record per game. Every game is played with its own
+ * generator seeded by the seed in the record, so any game can be played again
+ * from its record alone. Simulation threads claim their own chunks of the
+ * file, so the threads are not synchronized per game. Records are collected
+ * in small blocks in memory and every block is written to its place in the
+ * chunk at once, which is cheaper than page fault of mapped file for every 64
+ * records. Records of the unfinished chunks stay empty (zero flags). The file
+ * is read in memory-mapped chunks, so its size is not limited by single
+ * mapping.
+ *
+ * Header layout (big-endian, 64 bytes):
+ *
+ * <pre>
+ *  0 int   file identifier
+ *  4 int   format version
+ *  8 int   size of the record
+ * 12 int   game rules flags (free spins, wilds, wild expansion)
+ * 16 int   total bet
+ * 20 long  hash of the math model
+ * 28 byte  length of the generator name
+ * 29 byte  generator name (ASCII, up to 35 characters)
+ * </pre>
+ *
+ * Record layout (big-endian, 64 bytes):
+ *
+ * <pre>
+ *  0 long  game seed
+ *  8 int   base game win
+ * 12 int   scatters win
+ * 16 int   free spins win
+ * 20 int   number of free spins
+ * 24 short reels stops (5)
+ * 34 byte  base game strips index
+ * 35 byte  flags (record, trigger, feature table, segments overflow)
+ * 36 byte  free spins multiplier
+ * 37 byte  number of free spins segments
+ * 38 byte  pairs of segment stage and number of free spins (13)
+ * </pre>
+ */
+class GameTrace {
+	/** Trace file identifier. */
+	static final int MAGIC = 0x54545452;
+
+	/** Trace file format version. */
+	static final int VERSION = 2;
+
+	/** Size of the file header. */
+	static final int HEADER = 64;
+
+	/** Size of single game record. */
+	static final int RECORD = 64;
+
+	/** Maximum length of the generator name in the header. */
+	static final int NAME = HEADER - 29;
+
+	/** Number of reels stops in the record. */
+	static final int STOPS = 5;
+
+	/** Number of free spins segments in the record. */
+	static final int SEGMENTS = 13;
+
+	/** Flag of written record. */
+	static final int WRITTEN = 1;
+
+	/** Flag of triggered free spins. */
+	static final int TRIGGER = 2;
+
+	/** Flag of free spins payout taken from the feature table. */
+	static final int FEATURE_TABLE = 4;
+
+	/** Flag of more free spins segments than the record keeps. */
+	static final int OVERFLOW = 8;
+
+	/** Number of records in a chunk of single thread. */
+	private static final int CHUNK = 1 << 16;
+
+	/** Number of records written to the file at once (small enough to stay in the processor cache). */
+	private static final int BLOCK = 1 << 10;
+
+	/** Trace file channel. */
+	private final FileChannel channel;
+
+	/** Index of the first record of the next chunk. */
+	private final AtomicLong next = new AtomicLong();
+
+	/** Writers of the simulation threads. */
+	private final List<Writer> writers = new ArrayList<Writer>();
+
+	/**
+	 * Create new trace file with its header.
+	 *
+	 * @param file      File name.
+	 * @param flags     Game rules flags of the traced simulation.
+	 * @param totalBet  Total bet of single base game.
+	 * @param modelHash Hash of the math model.
+	 * @param generator Name of the games generator.
+	 *
+	 * @throws IOException If the file is not writable.
+	 */
+	GameTrace(String file, int flags, int totalBet, long modelHash, String generator) throws IOException {
+		byte[] name = generator.getBytes(StandardCharsets.US_ASCII);
+		if (name.length > NAME) {
+			throw new IOException("Generator name is longer than " + NAME + " characters.");
+		}
+
+		channel = FileChannel.open(Paths.get(file), StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+
+		ByteBuffer header = ByteBuffer.allocate(HEADER);
+		header.putInt(MAGIC);
+		header.putInt(VERSION);
+		header.putInt(RECORD);
+		header.putInt(flags);
+		header.putInt(totalBet);
+		header.putLong(modelHash);
+		header.put((byte) name.length);
+		header.put(name);
+		header.position(0);
+		while (header.hasRemaining() == true) {
+			channel.write(header, header.position());
+		}
+	}
+
+	/**
+	 * Writer of single simulation thread.
+	 *
+	 * @return Trace writer.
+	 */
+	synchronized Writer writer() {
+		Writer writer = new Writer();
+		writers.add(writer);
+		return writer;
+	}
+
+	/**
+	 * Write the unfinished blocks of all writers and close the file. Simulation
+	 * threads must be stopped before.
+	 *
+	 * @throws IOException If the file is not writable.
+	 */
+	synchronized void close() throws IOException {
+		for (Writer writer : writers) {
+			writer.write();
+		}
+		channel.force(false);
+		channel.close();
+	}
+
+	/** Appender of the game records of single simulation thread. */
+	class Writer {
+		/** Records of the current block. */
+		private final ByteBuffer block = ByteBuffer.allocate(BLOCK * RECORD);
+
+		/** Index of the first record of the current block. */
+		private long first = 0L;
+
+		/** Number of records left in the claimed chunk. */
+		private int left = 0;
+
+		/**
+		 * Append record of single game.
+		 *
+		 * @param seed   Seed of the game generator.
+		 * @param result Result of the game.
+		 * @param table  Free spins payout is taken from the feature table.
+		 *
+		 * @throws IOException If the file is not writable.
+		 */
+		void append(long seed, GameResult result, boolean table) throws IOException {
+			/* Place in the file is claimed with the first record of the chunk. */
+			if (left == 0) {
+				first = next.getAndAdd(CHUNK);
+				left = CHUNK;
+			}
+
+			int flags = WRITTEN;
+			flags |= result.freeGames > 0 ? TRIGGER : 0;
+			flags |= result.freeGames > 0 && table == true ? FEATURE_TABLE : 0;
+			flags |= result.segments > SEGMENTS ? OVERFLOW : 0;
+
+			int end = block.position() + RECORD;
+			block.putLong(seed);
+			block.putInt(result.baseWin);
+			block.putInt(result.scatterWin);
+			block.putInt(result.freeWin);
+			block.putInt(result.freeGames);
+			for (int i = 0; i < STOPS; i++) {
+				block.putShort((short) (i < result.stops.length ? result.stops[i] : 0));
+			}
+			block.put((byte) result.strips);
+			block.put((byte) flags);
+			block.put((byte) result.freeMultiplier);
+			block.put((byte) Math.min(result.segments, 255));
+			int kept = Math.min(Math.min(result.segments, SEGMENTS), result.segmentStages.length);
+			for (int s = 0; s < kept; s++) {
+				block.put((byte) result.segmentStages[s]);
+				block.put((byte) result.segmentCounts[s]);
+			}
+
+			/* Most games have no free spins, so the rest of the record is cleared at once. */
+			Arrays.fill(block.array(), block.position(), end, (byte) 0);
+			block.position(end);
+
+			left--;
+			if (block.hasRemaining() == false) {
+				write();
+			}
+		}
+
+		/**
+		 * Write the records of the current block to their place in the file.
+		 *
+		 * @throws IOException If the file is not writable.
+		 */
+		void write() throws IOException {
+			block.flip();
+			long position = HEADER + first * RECORD;
+			first += block.remaining() / RECORD;
+			while (block.hasRemaining() == true) {
+				position += channel.write(block, position);
+			}
+			block.clear();
+		}
+	}
+
+	/** Reader of existing trace file, which maps the records chunk by chunk. */
+	static class Reader implements Closeable {
+		/** Trace file channel. */
+		private final FileChannel channel;
+
+		/** Game rules flags of the traced simulation. */
+		final int flags;
+
+		/** Total bet of single base game. */
+		final int totalBet;
+
+		/** Hash of the math model. */
+		final long modelHash;
+
+		/** Name of the games generator. */
+		final String generator;
+
+		/** Number of the records (written or not). */
+		final long records;
+
+		/** Mapped chunk of the records. */
+		private MappedByteBuffer chunk = null;
+
+		/** Index of the first record in the mapped chunk. */
+		private long first = -1L;
+
+		/**
+		 * Open trace file and read its header.
+		 *
+		 * @param file File name.
+		 *
+		 * @throws IOException If the file is not readable or it is not trace.
+		 */
+		Reader(String file) throws IOException {
+			channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+
+			ByteBuffer header = ByteBuffer.allocate(HEADER);
+			while (header.hasRemaining() == true && channel.read(header, header.position()) > 0) {
+			}
+			if (header.hasRemaining() == true || header.getInt(0) != MAGIC || header.getInt(4) != VERSION
+					|| header.getInt(8) != RECORD || header.get(28) < 0 || header.get(28) > NAME) {
+				channel.close();
+				throw new IOException("Invalid trace file " + file + ".");
+			}
+
+			flags = header.getInt(12);
+			totalBet = header.getInt(16);
+			modelHash = header.getLong(20);
+			generator = new String(header.array(), 29, header.get(28), StandardCharsets.US_ASCII);
+			records = (channel.size() - HEADER) / RECORD;
+		}
+
+		/**
+		 * Offset of the record in the mapped chunk. The chunk of the record is
+		 * mapped if it is not mapped yet.
+		 *
+		 * @param index Index of the record.
+		 *
+		 * @return Offset of the record.
+		 *
+		 * @throws IOException If the file is not readable.
+		 */
+		private int offset(long index) throws IOException {
+			if (index < 0 || index >= records) {
+				throw new IOException("No record " + index + " in the trace.");
+			}
+
+			if (chunk == null || index < first || index >= first + CHUNK) {
+				first = index - index % CHUNK;
+				chunk = channel.map(FileChannel.MapMode.READ_ONLY, HEADER + first * RECORD,
+						Math.min(CHUNK, records - first) * RECORD);
+			}
+			return (int) (index - first) * RECORD;
+		}
+
+		/**
+		 * Flags of the record (zero for not written record).
+		 *
+		 * @param index Index of the record.
+		 *
+		 * @return Flags of the record.
+		 *
+		 * @throws IOException If the file is not readable.
+		 */
+		int flags(long index) throws IOException {
+			int position = offset(index);
+			return chunk.get(position + 35);
+		}
+
+		/**
+		 * Seed of the game generator.
+		 *
+		 * @param index Index of the record.
+		 *
+		 * @return Seed of the game.
+		 *
+		 * @throws IOException If the file is not readable.
+		 */
+		long seed(long index) throws IOException {
+			int position = offset(index);
+			return chunk.getLong(position);
+		}
+
+		/**
+		 * Base game win.
+		 *
+		 * @param index Index of the record.
+		 *
+		 * @return Base game win.
+		 *
+		 * @throws IOException If the file is not readable.
+		 */
+		int baseWin(long index) throws IOException {
+			int position = offset(index);
+			return chunk.getInt(position + 8);
+		}
+
+		/**
+		 * Scatters win.
+		 *
+		 * @param index Index of the record.
+		 *
+		 * @return Scatters win.
+		 *
+		 * @throws IOException If the file is not readable.
+		 */
+		int scatterWin(long index) throws IOException {
+			int position = offset(index);
+			return chunk.getInt(position + 12);
+		}
+
+		/**
+		 * Free spins win.
+		 *
+		 * @param index Index of the record.
+		 *
+		 * @return Free spins win.
+		 *
+		 * @throws IOException If the file is not readable.
+		 */
+		int freeWin(long index) throws IOException {
+			int position = offset(index);
+			return chunk.getInt(position + 16);
+		}
+
+		/**
+		 * Number of free spins.
+		 *
+		 * @param index Index of the record.
+		 *
+		 * @return Number of free spins.
+		 *
+		 * @throws IOException If the file is not readable.
+		 */
+		int freeGames(long index) throws IOException {
+			int position = offset(index);
+			return chunk.getInt(position + 20);
+		}
+
+		/**
+		 * Stop of single reel.
+		 *
+		 * @param index Index of the record.
+		 * @param reel  Index of the reel.
+		 *
+		 * @return Reel stop.
+		 *
+		 * @throws IOException If the file is not readable.
+		 */
+		int stop(long index, int reel) throws IOException {
+			int position = offset(index);
+			return chunk.getShort(position + 24 + 2 * reel);
+		}
+
+		/**
+		 * Base game strips index.
+		 *
+		 * @param index Index of the record.
+		 *
+		 * @return Strips index.
+		 *
+		 * @throws IOException If the file is not readable.
+		 */
+		int strips(long index) throws IOException {
+			int position = offset(index);
+			return chunk.get(position + 34);
+		}
+
+		/**
+		 * Free spins multiplier.
+		 *
+		 * @param index Index of the record.
+		 *
+		 * @return Free spins multiplier.
+		 *
+		 * @throws IOException If the file is not readable.
+		 */
+		int multiplier(long index) throws IOException {
+			int position = offset(index);
+			return chunk.get(position + 36);
+		}
+
+		/**
+		 * Close the file.
+		 *
+		 * @throws IOException If the file is not closed.
+		 */
+		@Override
+		public void close() throws IOException {
+			channel.close();
+		}
+	}
+}
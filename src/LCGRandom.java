@@ -0,0 +1,74 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.util.Random;
+
+/**
+ * Linear congruential random number generator class. The modulus is expected
+ * to be power of two and the random bits are taken from the top of the state.
+ */
+class LCGRandom extends Random {
+	/** Multiplicative factor. */
+	private long a;
+
+	/** Additive factor. */
+	private long c;
+
+	/** Modulus. */
+	private long m;
+
+	/** Number of bits in the state. */
+	private int k;
+
+	/** Current state. */
+	private long x;
+
+	/**
+	 * Constructor with parameters.
+	 * 
+	 * @param a Multiplicative factor.
+	 * @param c Additive factor.
+	 * @param m Modulus.
+	 */
+	LCGRandom(long a, long c, long m) {
+		this.a = a;
+		this.c = c;
+		this.m = m;
+		k = 64 - Long.numberOfLeadingZeros(m - 1);
+		x = 1;
+	}
+
+	/** Seed the generator. */
+	void seed(long x) {
+		this.x = Math.floorMod(x, m);
+	}
+
+	/**
+	 * Generate next random bits. Bounded values are produced by the rejection
+	 * sampling of the base class, so they are not biased.
+	 */
+	@Override
+	protected int next(int bits) {
+		x = (a * x + c) % m;
+		return (int) (x >>> (k - bits));
+	}
+}
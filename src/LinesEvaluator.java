@@ -0,0 +1,39 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+/**
+ * Alternative evaluation of all lines of a screen view. Implementations are
+ * not thread safe, so every game engine has its own instance.
+ */
+interface LinesEvaluator {
+	/**
+	 * Evaluate all lines of the view without free spins multiplier.
+	 *
+	 * @param view    Symbols visible in screen view.
+	 * @param symbols Winning symbol of each line (output).
+	 * @param numbers Number of winning symbols of each line (output).
+	 * @param wins    Win of each line (output).
+	 *
+	 * @return Total win in all lines.
+	 */
+	int linesWin(int[][] view, int[] symbols, int[] numbers, int[] wins);
+}
@@ -20,926 +20,378 @@
 *                                                                              *
 *==============================================================================*/
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.security.SecureRandom;
 import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Main application class. Command line arguments are parsed in the settings
+ * of the simulation and the selected mode is run by its own class.
+ */
+class Main {
+	/** Math model of the simulated game. */
+	static GameModel model = null;
 
-/** Linear congruential random number generator class. */
-class LCGRandom extends Random {
-	/** Multiplicative factor. */
-	private long a;
+	/** Verbose output flag. */
+	private static boolean verboseOutput = false;
 
-	/** Additive factor. */
-	private long c;
+	/** Free spins flag. */
+	static boolean freeOff = false;
 
-	/** Modulus. */
-	private long m;
+	/** Wild substitution flag. */
+	static boolean wildsOff = false;
 
-	/** Current state. */
-	private long x;
+	/** Wild expansion flag. */
+	static boolean wildExpandOff = false;
 
-	/**
-	 * Constructor with parameters.
-	 * 
-	 * @param a Multiplicative factor.
-	 * @param c Additive factor.
-	 * @param m Modulus.
-	 */
-	LCGRandom(long a, long c, long m) {
-		this.a = a;
-		this.c = c;
-		this.m = m;
-		x = 1;
-	}
+	/** Linear congruential generator check of performance flag. */
+	static boolean lcgCheck = false;
 
-	/** Seed the generator. */
-	void seed(long x) {
-		this.x = x;
-	}
+	/** Name of the pseudo-random number generator algorithm. */
+	static String generatorName = "secure";
 
-	/** Get next integer in range [0, limit). */
-	@Override
-	public int nextInt(int limit) {
-		x = (a * x + c) % m;
-		return (int) x;
-	}
-}
+	/** Generators factories by algorithm (the lookup is slow for a generator per traced game). */
+	private static Map<String, RandomGeneratorFactory<RandomGenerator>> generatorFactories =
+			new ConcurrentHashMap<String, RandomGeneratorFactory<RandomGenerator>>();
 
-/** Main application class. */
-class Main {
-	/** Free spins helper class. Only keeps information of free spin properties. */
-	private static class FreeSpin {
-		public int freeGamesNumber = 0;
-		public int[][] reels = {};
-		public int[][] wilds = {};
-
-		public FreeSpin(int freeGamesNumber, int[][] reels, int[][] wilds) {
-			this.freeGamesNumber = freeGamesNumber;
-			this.reels = reels;
-			this.wilds = wilds;
-		}
-	}
+	/** Seed of the pseudo-random number generators (null for random seed). */
+	private static Long generatorSeed = null;
 
-	/** LCG number generator. */
-	private static Random lcg = new LCGRandom(1664525L, 1013904223L, 4294967296L);
-
-	/** Cryptographically secure number generator. */
-	private static Random secure = new SecureRandom();
-
-	/** Pseudo-random number generator. */
-	private static Random prng = secure;
-
-	/** List of symbols names. */
-	private static String[] symbols = { "", "SYM01", "", "SYM03", "SYM04", "SYM05", "SYM06", "SYM07", "SYM08", "SYM09",
-			"SYM10", "SYM11", "SYM12", "", "", "", "SYM16", };
-
-	/** Slot game pay table. */
-	private static int[][] paytable = { new int[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
-			new int[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
-			new int[] { 0, 0, 0, 30, 20, 4, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
-			new int[] { 0, 0, 0, 150, 75, 50, 40, 5, 4, 4, 3, 3, 2, 0, 0, 0, 0 },
-			new int[] { 0, 0, 0, 250, 100, 100, 75, 50, 40, 20, 6, 5, 4, 0, 0, 0, 0 },
-			new int[] { 0, 0, 0, 500, 250, 175, 150, 100, 50, 30, 25, 15, 10, 0, 0, 0, 0 }, };
-
-	/** Scatter multipliers discrete distribution. */
-	private static int[] scatterMultipliers = { 0, 0, 0, 1, 2, 3 };
-
-	/** Lines combinations. */
-	private static int[][] lines = { new int[] { 1, 1, 1, 1, 1 }, new int[] { 0, 0, 0, 0, 0 },
-			new int[] { 2, 2, 2, 2, 2 }, new int[] { 0, 1, 2, 1, 0 }, new int[] { 2, 1, 0, 1, 2 },
-			new int[] { 0, 0, 1, 2, 2 }, new int[] { 2, 2, 1, 0, 0 }, new int[] { 1, 0, 1, 2, 1 },
-			new int[] { 1, 2, 1, 0, 1 }, new int[] { 0, 1, 1, 1, 2 }, new int[] { 2, 1, 1, 1, 0 },
-			new int[] { 1, 0, 0, 1, 2 }, new int[] { 1, 2, 2, 1, 0 }, new int[] { 1, 1, 0, 1, 2 },
-			new int[] { 1, 1, 2, 1, 0 }, new int[] { 0, 1, 0, 1, 2 }, new int[] { 2, 1, 2, 1, 0 },
-			new int[] { 2, 1, 0, 0, 1 }, new int[] { 0, 1, 2, 2, 1 }, new int[] { 0, 1, 1, 2, 1 },
-			new int[] { 0, 1, 0, 1, 0 }, new int[] { 2, 1, 2, 1, 2 }, new int[] { 0, 2, 0, 2, 0 },
-			new int[] { 2, 0, 2, 0, 2 }, new int[] { 0, 0, 2, 0, 0 }, new int[] { 2, 2, 0, 2, 2 },
-			new int[] { 0, 2, 2, 2, 0 }, new int[] { 2, 0, 0, 0, 2 }, new int[] { 1, 0, 2, 0, 1 },
-			new int[] { 1, 2, 0, 2, 1 }, new int[] { 0, 0, 0, 1, 2 }, new int[] { 2, 2, 2, 1, 0 },
-			new int[] { 2, 0, 1, 0, 2 }, new int[] { 0, 2, 1, 2, 0 }, new int[] { 1, 2, 1, 2, 1 },
-			new int[] { 1, 0, 1, 0, 1 }, new int[] { 0, 0, 0, 2, 2 }, new int[] { 2, 2, 2, 0, 0 },
-			new int[] { 0, 1, 1, 1, 0 }, new int[] { 2, 1, 1, 1, 2 }, new int[] { 1, 2, 2, 2, 1 },
-			new int[] { 1, 0, 0, 0, 1 }, new int[] { 0, 0, 2, 2, 2 }, new int[] { 2, 2, 0, 0, 0 },
-			new int[] { 1, 1, 0, 1, 1 }, new int[] { 1, 1, 2, 1, 1 }, new int[] { 2, 0, 1, 0, 1 },
-			new int[] { 0, 2, 1, 2, 1 }, new int[] { 1, 0, 2, 2, 0 }, new int[] { 1, 2, 0, 0, 2 }, };
-
-	/** Strips 1 in base game. */
-	private static int[][] baseReels1 = {
-			new int[] { 3, 7, 4, 7, 11, 12, 6, 11, 7, 7, 9, 4, 10, 12, 7, 7, 5, 9, 8, 1, 9, 8, 10, 9, 7, 5, 5, 7, 9, 10,
-					10, 12, 6, 6, 10, 10, 8, 11, 8, 7, 4, 3, 5, 12, 6, 9, 8, 1, 9, 8, 9, 8, 4, 3, 11, 11, 7, 9, 8, 11,
-					7, 3, 11 },
-			new int[] { 3, 9, 4, 11, 7, 4, 11, 9, 10, 5, 5, 11, 3, 9, 8, 1, 9, 8, 11, 6, 6, 6, 10, 10, 12, 12, 7, 6, 11,
-					10, 10, 10, 6, 11, 7, 4, 3, 10, 5, 6, 9, 4, 6, 7, 7, 7, 12, 12, 11, 3, 10, 11, 11, 8, 12, 9, 9, 9,
-					11, 7, 4, 11, 10 },
-			new int[] { 8, 11, 10, 7, 9, 11, 3, 8, 8, 7, 11, 3, 8, 8, 3, 3, 11, 6, 7, 4, 11, 6, 16, 12, 5, 12, 7, 4, 10,
-					10, 6, 8, 8, 6, 6, 6, 7, 3, 6, 10, 10, 6, 3, 10, 9, 7, 7, 4, 10, 3, 10, 8, 10, 16, 10, 5, 9, 5, 4,
-					9, 10, 3, 10 },
-			new int[] { 3, 8, 7, 5, 16, 6, 3, 5, 3, 9, 3, 7, 7, 12, 3, 7, 9, 4, 10, 6, 5, 8, 4, 7, 9, 11, 7, 6, 6, 5,
-					16, 8, 7, 7, 4, 8, 10, 9, 16, 10, 3, 5, 3, 8, 4, 9, 3, 4, 9, 10, 10, 7, 5, 5, 6, 10, 3, 12, 16, 10,
-					10, 5, 3 },
-			new int[] { 10, 3, 5, 3, 10, 8, 10, 7, 5, 6, 5, 5, 7, 3, 10, 3, 4, 8, 3, 12, 5, 4, 3, 8, 10, 4, 6, 3, 9, 8,
-					10, 10, 5, 10, 6, 3, 8, 5, 8, 8, 4, 5, 5, 7, 3, 4, 6, 6, 5, 3, 3, 5, 6, 3, 3, 12, 5, 4, 4, 3, 3, 5,
-					5 }, };
-
-	/** Strips 2 in base game. */
-	private static int[][] baseReels2 = {
-			new int[] { 7, 7, 4, 16, 3, 12, 6, 9, 7, 3, 9, 10, 10, 3, 7, 3, 7, 5, 8, 8, 9, 8, 3, 9, 7, 3, 11, 16, 9, 10,
-					10, 3, 6, 6, 10, 16, 8, 8, 8, 7, 10, 12, 4, 4, 6, 8, 4, 8, 7, 8, 9, 8, 10, 7, 11, 9, 7, 9, 8, 9, 7,
-					4, 4 },
-			new int[] { 12, 9, 4, 11, 9, 8, 1, 9, 8, 5, 3, 11, 3, 7, 7, 8, 11, 3, 3, 6, 6, 6, 8, 10, 4, 12, 7, 6, 3, 4,
-					10, 4, 5, 3, 8, 8, 4, 12, 12, 9, 8, 1, 9, 8, 7, 7, 12, 4, 11, 5, 10, 12, 11, 8, 8, 9, 9, 9, 10, 7,
-					11, 11, 10 },
-			new int[] { 8, 11, 10, 7, 9, 11, 5, 5, 3, 7, 11, 3, 8, 8, 5, 11, 11, 6, 7, 11, 5, 6, 11, 12, 5, 12, 7, 10,
-					10, 10, 8, 8, 8, 6, 6, 6, 7, 10, 9, 10, 10, 6, 10, 10, 9, 7, 7, 4, 10, 9, 10, 8, 10, 10, 10, 5, 9,
-					5, 10, 9, 10, 10, 10 },
-			new int[] { 8, 8, 7, 9, 10, 6, 5, 11, 5, 9, 3, 12, 7, 12, 7, 7, 9, 12, 10, 6, 8, 8, 12, 7, 9, 11, 12, 6, 6,
-					8, 8, 8, 7, 16, 4, 4, 4, 9, 8, 10, 3, 5, 12, 8, 4, 9, 3, 11, 9, 10, 16, 7, 11, 11, 6, 10, 12, 3, 3,
-					10, 5, 11, 5 },
-			new int[] { 10, 3, 8, 8, 10, 8, 10, 7, 9, 6, 8, 8, 7, 3, 10, 9, 10, 8, 8, 12, 5, 4, 10, 4, 10, 8, 12, 10, 3,
-					3, 12, 10, 5, 10, 6, 11, 8, 11, 11, 8, 8, 10, 10, 7, 11, 4, 3, 11, 11, 3, 3, 12, 6, 12, 3, 12, 10,
-					4, 12, 11, 11, 11, 12 }, };
-
-	/** Strips 3 in base game. */
-	private static int[][] baseReels3 = {
-			new int[] { 16, 7, 7, 16, 10, 12, 16, 9, 7, 16, 11, 4, 16, 12, 7, 16, 7, 12, 16, 7, 10, 16, 10, 9, 16, 11,
-					12, 16, 7, 10, 16, 12, 6, 16, 10, 10, 16, 8, 7, 16, 4, 12, 16, 12, 7, 16, 10, 10, 16, 10, 12, 16,
-					12, 8, 16, 8, 7, 16, 12, 12, 16, 11, 11 },
-			new int[] { 9, 8, 16, 3, 8, 16, 5, 8, 16, 5, 9, 16, 8, 9, 16, 8, 9, 16, 8, 9, 16, 8, 8, 16, 3, 9, 16, 6, 4,
-					16, 4, 4, 16, 3, 3, 16, 8, 3, 16, 6, 9, 16, 4, 7, 16, 3, 4, 16, 4, 5, 16, 4, 3, 16, 9, 9, 16, 9, 3,
-					16, 4, 3, 16 },
-			new int[] { 10, 10, 12, 11, 8, 11, 8, 12, 12, 6, 9, 12, 11, 7, 12, 7, 12, 3, 10, 9, 10, 8, 8, 12, 5, 4, 10,
-					4, 10, 8, 12, 10, 9, 12, 11, 10, 5, 10, 6, 11, 8, 8, 3, 7, 8, 8, 11, 11, 11, 6, 7, 6, 11, 16, 12,
-					12, 7, 6, 11, 7, 4, 10, 7 },
-			new int[] { 9, 12, 16, 11, 7, 16, 5, 5, 16, 5, 11, 16, 3, 7, 16, 7, 11, 16, 11, 6, 16, 6, 12, 16, 12, 12,
-					16, 6, 11, 16, 10, 8, 16, 11, 8, 16, 8, 12, 16, 6, 9, 16, 12, 7, 16, 7, 12, 16, 11, 5, 16, 12, 11,
-					16, 11, 8, 16, 9, 10, 16, 6, 12, 16 },
-			new int[] { 10, 3, 8, 8, 8, 8, 10, 7, 9, 6, 8, 8, 7, 3, 10, 9, 10, 8, 8, 12, 5, 4, 10, 4, 10, 8, 12, 10, 9,
-					12, 12, 10, 5, 10, 6, 11, 8, 11, 11, 8, 8, 10, 10, 7, 11, 4, 9, 11, 11, 8, 8, 12, 6, 12, 3, 12, 10,
-					4, 16, 11, 11, 11, 12 }, };
-
-	/** Strips 4 in base game. */
-	private static int[][] baseReels4 = {
-			new int[] { 7, 7, 4, 12, 3, 12, 6, 9, 7, 7, 9, 4, 10, 12, 7, 7, 7, 5, 8, 9, 9, 8, 10, 9, 7, 11, 11, 12, 9,
-					10, 10, 12, 6, 6, 10, 8, 8, 8, 8, 7, 8, 12, 12, 12, 8, 5, 8, 7, 9, 8, 9, 8, 8, 7, 11, 9, 7, 9, 8, 9,
-					7, 11, 11 },
-			new int[] { 12, 9, 4, 11, 7, 11, 5, 5, 10, 5, 11, 11, 3, 7, 6, 11, 1, 6, 11, 6, 6, 6, 16, 10, 12, 12, 7, 6,
-					11, 1, 6, 11, 5, 11, 8, 8, 8, 16, 12, 6, 6, 11, 1, 6, 11, 7, 12, 12, 11, 5, 10, 12, 11, 8, 16, 9, 9,
-					9, 10, 7, 11, 11, 10 },
-			new int[] { 8, 11, 10, 7, 9, 11, 12, 8, 8, 7, 11, 3, 8, 8, 11, 11, 11, 6, 7, 11, 11, 6, 16, 12, 5, 12, 7,
-					10, 11, 10, 8, 8, 8, 6, 6, 6, 7, 10, 9, 10, 10, 6, 10, 10, 9, 7, 7, 4, 10, 9, 10, 8, 10, 16, 10, 5,
-					12, 12, 10, 9, 10, 10, 10 },
-			new int[] { 8, 11, 7, 9, 10, 6, 11, 11, 11, 9, 3, 12, 6, 11, 1, 6, 11, 12, 10, 6, 8, 12, 12, 6, 11, 1, 6,
-					11, 6, 8, 8, 8, 7, 7, 4, 4, 4, 9, 8, 10, 3, 5, 12, 8, 4, 9, 11, 11, 9, 10, 11, 7, 11, 6, 11, 1, 6,
-					11, 3, 10, 5, 11, 12 },
-			new int[] { 10, 3, 8, 8, 9, 8, 10, 7, 9, 6, 8, 8, 7, 3, 10, 9, 10, 8, 8, 12, 5, 4, 10, 4, 10, 8, 12, 10, 9,
-					12, 11, 10, 5, 10, 6, 11, 8, 11, 12, 8, 11, 11, 10, 7, 12, 4, 9, 11, 11, 12, 8, 12, 6, 12, 3, 12,
-					10, 4, 10, 11, 11, 11, 12 }, };
-
-	/** Strips 5 in base game. */
-	private static int[][] baseReels5 = {
-			new int[] { 3, 7, 10, 10, 7, 10, 3, 3, 7, 10, 10, 7, 10, 3, 3, 7, 10, 10, 7, 10, 3, 3, 7, 10, 10, 7, 10, 3,
-					3, 7, 10, 10, 7, 10, 3, 3, 7, 10, 10, 7, 10, 3, 3, 7, 10, 10, 7, 10, 3, 3, 7, 10, 10, 7, 10, 3, 3,
-					7, 10, 10, 7, 10, 3 },
-			new int[] { 4, 4, 8, 16, 4, 8, 8, 4, 8, 16, 4, 8, 16, 8, 4, 4, 8, 16, 4, 8, 8, 4, 8, 16, 4, 8, 16, 8, 4, 4,
-					8, 16, 4, 8, 8, 4, 8, 16, 4, 8, 16, 8, 4, 4, 8, 16, 4, 8, 8, 4, 8, 16, 4, 8, 16, 8, 4, 8, 16, 4, 8,
-					16, 8 },
-			new int[] { 5, 5, 7, 10, 7, 10, 7, 10, 10, 5, 7, 10, 5, 7, 5, 5, 7, 10, 7, 10, 7, 10, 10, 5, 7, 10, 5, 7, 5,
-					5, 7, 10, 7, 10, 7, 10, 10, 5, 7, 10, 5, 7, 5, 5, 7, 10, 7, 10, 7, 10, 10, 5, 7, 10, 5, 7, 10, 10,
-					5, 7, 10, 5, 7 },
-			new int[] { 9, 6, 9, 16, 6, 6, 6, 9, 16, 9, 9, 6, 9, 16, 9, 6, 9, 16, 6, 6, 6, 9, 16, 9, 9, 6, 9, 16, 9, 6,
-					9, 16, 6, 6, 6, 9, 16, 9, 9, 6, 9, 16, 9, 6, 9, 16, 6, 6, 6, 9, 16, 9, 9, 6, 16, 9, 9, 16, 9, 9, 6,
-					9, 16 },
-			new int[] { 12, 9, 8, 12, 9, 8, 9, 8, 12, 8, 8, 9, 8, 8, 12, 9, 8, 12, 9, 8, 9, 8, 12, 8, 8, 9, 8, 8, 12, 9,
-					8, 12, 9, 8, 9, 8, 12, 8, 8, 9, 8, 8, 12, 9, 8, 12, 9, 8, 9, 8, 12, 8, 8, 9, 8, 8, 8, 12, 8, 8, 9,
-					8, 8 }, };
-
-	/** Strips 1 in free spins. */
-	private static int[][] freeReels1 = {
-			new int[] { 3, 7, 4, 11, 11, 12, 6, 11, 7, 3, 9, 4, 10, 12, 16, 7, 5, 9, 8, 1, 9, 8, 10, 9, 7, 16, 11, 7, 9,
-					10, 10, 12, 6, 6, 10, 16, 8, 8, 8, 7, 4, 12, 12, 12, 6, 9, 8, 1, 9, 8, 9, 8, 4, 7, 11, 4, 7, 9, 8,
-					11, 7, 16, 11 },
-			new int[] { 12, 9, 4, 11, 7, 4, 11, 9, 10, 5, 11, 11, 3, 7, 7, 8, 3, 11, 3, 6, 6, 6, 9, 8, 1, 9, 8, 6, 6, 7,
-					4, 11, 6, 11, 8, 8, 8, 8, 12, 6, 9, 4, 12, 7, 16, 7, 12, 12, 11, 9, 10, 12, 11, 8, 4, 9, 9, 9, 10,
-					7, 4, 11, 10 },
-			new int[] { 8, 11, 10, 7, 9, 11, 12, 8, 8, 7, 11, 3, 8, 8, 11, 16, 11, 6, 7, 4, 11, 6, 16, 12, 5, 12, 7, 4,
-					10, 10, 8, 8, 8, 6, 6, 6, 7, 10, 9, 10, 10, 6, 10, 10, 9, 7, 16, 4, 10, 9, 10, 8, 10, 11, 10, 5, 9,
-					5, 4, 9, 10, 10, 10 },
-			new int[] { 8, 8, 7, 9, 10, 6, 11, 11, 11, 9, 3, 12, 7, 12, 7, 16, 9, 4, 10, 6, 8, 8, 4, 7, 9, 16, 12, 6, 6,
-					8, 8, 8, 7, 16, 4, 8, 10, 9, 8, 10, 3, 5, 12, 8, 4, 9, 11, 4, 9, 10, 8, 7, 11, 11, 6, 10, 12, 16, 3,
-					10, 10, 11, 12 },
-			new int[] { 10, 3, 16, 8, 11, 8, 10, 7, 9, 6, 8, 8, 7, 3, 10, 9, 4, 8, 8, 12, 5, 4, 10, 8, 10, 4, 12, 16, 9,
-					12, 8, 10, 5, 10, 6, 11, 8, 16, 8, 8, 8, 5, 5, 7, 11, 4, 9, 11, 11, 16, 8, 12, 6, 12, 3, 7, 5, 4, 8,
-					11, 11, 11, 12 }, };
-
-	/** Strips 2 in free spins. */
-	private static int[][] freeReels2 = {
-			new int[] { 3, 7, 4, 16, 11, 12, 6, 11, 7, 7, 9, 4, 10, 12, 7, 7, 5, 9, 8, 1, 9, 8, 10, 9, 7, 11, 11, 7, 9,
-					10, 10, 12, 6, 6, 10, 10, 8, 8, 8, 7, 4, 12, 12, 12, 6, 9, 8, 1, 9, 8, 9, 8, 4, 7, 11, 9, 7, 9, 8,
-					11, 7, 11, 11 },
-			new int[] { 12, 9, 4, 11, 7, 4, 16, 9, 10, 5, 11, 11, 3, 7, 7, 8, 16, 11, 11, 6, 6, 6, 8, 10, 3, 12, 7, 6,
-					11, 10, 10, 10, 9, 11, 8, 8, 8, 9, 12, 6, 9, 4, 12, 7, 7, 7, 12, 16, 11, 9, 10, 12, 11, 8, 9, 9, 9,
-					9, 10, 7, 4, 11, 10 },
-			new int[] { 8, 11, 10, 7, 9, 11, 12, 8, 8, 7, 11, 3, 8, 8, 11, 11, 11, 6, 7, 4, 16, 6, 8, 12, 5, 12, 7, 4,
-					10, 16, 8, 8, 8, 6, 6, 6, 3, 10, 9, 10, 16, 6, 10, 10, 9, 7, 7, 4, 10, 9, 10, 8, 9, 9, 10, 5, 9, 5,
-					4, 9, 10, 10, 10 },
-			new int[] { 8, 8, 7, 9, 10, 6, 11, 11, 11, 9, 3, 12, 7, 12, 16, 7, 9, 4, 10, 6, 8, 8, 4, 7, 9, 11, 12, 6, 6,
-					8, 8, 8, 7, 16, 4, 8, 10, 9, 8, 10, 3, 5, 12, 8, 4, 9, 16, 4, 9, 10, 9, 7, 9, 9, 6, 10, 12, 11, 3,
-					10, 16, 11, 12 },
-			new int[] { 10, 3, 8, 8, 16, 8, 10, 7, 9, 6, 8, 8, 7, 3, 10, 9, 4, 8, 8, 16, 5, 4, 10, 8, 10, 8, 3, 10, 9,
-					12, 9, 10, 16, 10, 6, 11, 8, 11, 5, 8, 8, 5, 5, 7, 11, 8, 9, 11, 11, 8, 8, 12, 6, 12, 3, 12, 5, 4,
-					9, 11, 11, 11, 12 }, };
-
-	/** Strips 3 in free spins. */
-	private static int[][] freeReels3 = {
-			new int[] { 3, 7, 4, 6, 11, 12, 6, 11, 7, 7, 9, 4, 10, 12, 7, 7, 5, 9, 8, 1, 9, 8, 10, 9, 7, 11, 11, 7, 9,
-					10, 10, 12, 6, 6, 10, 6, 8, 8, 8, 7, 4, 12, 12, 12, 6, 9, 8, 1, 9, 8, 9, 8, 4, 7, 11, 6, 7, 9, 8,
-					11, 7, 11, 11 },
-			new int[] { 12, 9, 4, 11, 7, 4, 11, 9, 10, 5, 11, 11, 3, 7, 7, 8, 11, 11, 11, 6, 6, 6, 6, 10, 12, 12, 7, 6,
-					11, 10, 10, 10, 9, 11, 8, 8, 8, 6, 12, 6, 9, 4, 12, 7, 7, 7, 12, 12, 11, 9, 10, 12, 11, 8, 6, 9, 9,
-					9, 10, 7, 4, 11, 10 },
-			new int[] { 8, 11, 10, 7, 9, 11, 12, 8, 8, 7, 11, 3, 8, 8, 11, 11, 11, 6, 7, 4, 11, 6, 6, 12, 5, 12, 7, 4,
-					10, 10, 8, 8, 8, 6, 6, 6, 7, 10, 9, 10, 10, 6, 10, 10, 9, 7, 7, 4, 10, 9, 10, 8, 10, 6, 10, 5, 9, 5,
-					4, 9, 10, 10, 10 },
-			new int[] { 8, 8, 7, 9, 10, 6, 11, 11, 11, 9, 3, 12, 7, 12, 7, 7, 9, 4, 10, 6, 16, 8, 4, 7, 9, 11, 12, 6, 6,
-					8, 16, 8, 7, 6, 4, 8, 10, 9, 8, 10, 3, 5, 12, 8, 4, 9, 11, 4, 9, 10, 6, 7, 11, 11, 6, 10, 16, 11, 3,
-					10, 10, 11, 12 },
-			new int[] { 10, 3, 8, 8, 6, 8, 10, 7, 9, 6, 8, 8, 7, 3, 10, 9, 4, 8, 8, 12, 5, 4, 10, 16, 10, 4, 12, 10, 9,
-					12, 6, 10, 5, 10, 6, 11, 8, 11, 6, 8, 8, 5, 5, 7, 11, 4, 9, 11, 11, 16, 8, 12, 6, 12, 3, 12, 5, 4,
-					6, 11, 11, 11, 12 }, };
-
-	/** Wild expansion in base game after 1 wild. */
-	private static int[][] baseReels1Wilds1 = { new int[] { 0, 0, 0 }, new int[] { 2, 2, 2 }, new int[] { 2, 2, 2 },
-			new int[] { 2, 10, 2 }, new int[] { 10, 10, 10 }, };
-
-	/** Wild expansion discrete distribution. */
-	private static int[][] baseReels1Wilds2 = { new int[] { 2, 2, 2 }, new int[] { 2, 2, 2 }, new int[] { 2, 2, 2 },
-			new int[] { 2, 10, 2 }, new int[] { 10, 10, 10 }, };
-
-	/** Wild expansion discrete distribution. */
-	private static int[][] baseReels2Wilds1 = { new int[] { 2, 4, 5 }, new int[] { 4, 3, 4 }, new int[] { 5, 5, 5 },
-			new int[] { 6, 3, 4 }, new int[] { 4, 6, 2 }, };
-
-	/** Wild expansion discrete distribution. */
-	private static int[][] baseReels2Wilds2 = { new int[] { 2, 4, 5 }, new int[] { 4, 3, 4 }, new int[] { 5, 5, 5 },
-			new int[] { 6, 3, 4 }, new int[] { 4, 6, 2 }, };
-
-	/** Wild expansion discrete distribution. */
-	private static int[][] baseReels3Wilds1 = { new int[] { 2, 2, 4 }, new int[] { 2, 2, 2 }, new int[] { 2, 3, 2 },
-			new int[] { 2, 3, 2 }, new int[] { 2, 3, 2 }, };
-
-	/** Wild expansion discrete distribution. */
-	private static int[][] baseReels3Wilds2 = { new int[] { 3, 3, 2 }, new int[] { 3, 2, 3 }, new int[] { 3, 3, 2 },
-			new int[] { 2, 3, 2 }, new int[] { 3, 2, 3 }, };
-
-	/** Wild expansion discrete distribution. */
-	private static int[][] baseReels4Wilds1 = { new int[] { 2, 4, 5 }, new int[] { 15, 15, 15 },
-			new int[] { 20, 20, 20 }, new int[] { 6, 3, 4 }, new int[] { 4, 6, 2 }, };
-
-	/** Wild expansion discrete distribution. */
-	private static int[][] baseReels4Wilds2 = { new int[] { 2, 4, 5 }, new int[] { 15, 15, 15 },
-			new int[] { 20, 20, 20 }, new int[] { 6, 3, 4 }, new int[] { 4, 6, 2 }, };
-
-	/** Wild expansion discrete distribution. */
-	private static int[][] baseReels5Wilds1 = { new int[] { 0, 0, 0 }, new int[] { 0, 0, 0 }, new int[] { 0, 0, 0 },
-			new int[] { 0, 0, 0 }, new int[] { 0, 0, 0 }, };
-
-	/** Wild expansion discrete distribution. */
-	private static int[][] baseReels5Wilds2 = { new int[] { 0, 0, 0 }, new int[] { 0, 0, 0 }, new int[] { 0, 0, 0 },
-			new int[] { 0, 0, 0 }, new int[] { 0, 0, 0 }, };
-
-	/** Wild expansion discrete distribution. */
-	private static int[][] freeReels1Wilds1 = { new int[] { 2, 4, 5 }, new int[] { 10, 10, 10 }, new int[] { 5, 5, 5 },
-			new int[] { 6, 6, 6 }, new int[] { 4, 6, 2 }, };
-
-	/** Wild expansion discrete distribution. */
-	private static int[][] freeReels1Wilds2 = { new int[] { 2, 4, 5 }, new int[] { 5, 5, 5 }, new int[] { 5, 5, 5 },
-			new int[] { 4, 3, 4 }, new int[] { 4, 6, 2 }, };
-
-	/** Wild expansion discrete distribution. */
-	private static int[][] freeReels2Wilds1 = { new int[] { 2, 4, 5 }, new int[] { 4, 3, 4 }, new int[] { 5, 5, 5 },
-			new int[] { 5, 5, 5 }, new int[] { 4, 6, 2 }, };
-
-	/** Wild expansion discrete distribution. */
-	private static int[][] freeReels2Wilds2 = { new int[] { 2, 4, 5 }, new int[] { 4, 3, 4 }, new int[] { 5, 5, 5 },
-			new int[] { 5, 5, 5 }, new int[] { 4, 6, 2 }, };
-
-	/** Wild expansion discrete distribution. */
-	private static int[][] freeReels3Wilds1 = { new int[] { 2, 4, 5 }, new int[] { 20, 20, 20 }, new int[] { 5, 5, 5 },
-			new int[] { 6, 3, 4 }, new int[] { 4, 6, 2 }, };
-
-	/** Wild expansion discrete distribution. */
-	private static int[][] freeReels3Wilds2 = { new int[] { 2, 4, 5 }, new int[] { 20, 20, 20 }, new int[] { 5, 5, 5 },
-			new int[] { 6, 3, 4 }, new int[] { 4, 6, 2 }, };
-
-	/** Free spins multipliers discrete distribution. */
-	private static int[] freeMultiplierDistribution = { 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8,
-			2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2,
-			3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3,
-			4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 8, 2, 3, 4, 5, 6, 7, 2, 3, 4, 5, 6, 7, 2, 3, 4, 5, 6, 7, 2, 3, 4, 5, 6, 7,
-			2, 3, 4, 5, 6, 7, 2, 3, 4, 5, 6, 2, 3, 4, 5, 6, 2, 3, 4, 5, 6, 2, 3, 4, 5, 6, 2, 3, 4, 5, 6, 2, 3, 4, 5, 6,
-			2, 3, 4, 5, 6, 2, 3, 4, 5, 6, 2, 3, 4, 5, 6, 2, 3, 4, 5, 6, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5,
-			2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5,
-			2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 5, 2, 3, 4, 2, 3, 4, 2, 3,
-			4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3,
-			4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3,
-			4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3,
-			4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 2, 3, 4, 3, 3,
-			3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3,
-			3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3, 3 };
-
-	/** Base game scatter discrete distribution. */
-	private static int[] baseScatterDistritution = { 10, 12, 14, 15, 17, 20, 22, 25, 30, 40, 10, 12, 14, 15, 17, 20, 22,
-			25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20,
-			25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20,
-			25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 12, 15, 17, 20, 25, 12,
-			15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17,
-			20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 15, 17, 20, 25, 15, 17, 20, 25, 15, 17,
-			20, 25, 15, 17, 20, 25, 15, 17, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 20, 25,
-			20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 25, 25, 25, 25, 25, 25, 25, 25, 25,
-			25 };
-
-	/** Free spins scatter discrete distribution. */
-	private static int[] free1ScatterDistritution = { 10, 12, 14, 15, 17, 20, 22, 25, 30, 40, 10, 12, 14, 15, 17, 20,
-			22, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17,
-			20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17,
-			20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 12, 15, 17, 20, 25,
-			12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15,
-			17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 15, 17, 20, 25, 15, 17, 20, 25, 15,
-			17, 20, 25, 15, 17, 20, 25, 15, 17, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 20,
-			25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 25, 25, 25, 25, 25, 25, 25, 25,
-			25, 25 };
-
-	/** Free spins scatter discrete distribution. */
-	private static int[] free2ScatterDistritution = { 10, 12, 14, 15, 17, 20, 22, 25, 30, 40, 10, 12, 14, 15, 17, 20,
-			22, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17,
-			20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17,
-			20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 12, 15, 17, 20, 25,
-			12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15,
-			17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 15, 17, 20, 25, 15, 17, 20, 25, 15,
-			17, 20, 25, 15, 17, 20, 25, 15, 17, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 20,
-			25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 25, 25, 25, 25, 25, 25, 25, 25,
-			25, 25 };
-
-	/** Free spins scatter discrete distribution. */
-	private static int[] free3ScatterDistritution = { 10, 12, 14, 15, 17, 20, 22, 25, 30, 40, 10, 12, 14, 15, 17, 20,
-			22, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17,
-			20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17,
-			20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 10, 12, 14, 15, 17, 20, 25, 30, 40, 12, 15, 17, 20, 25,
-			12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15,
-			17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 12, 15, 17, 20, 25, 15, 17, 20, 25, 15, 17, 20, 25, 15,
-			17, 20, 25, 15, 17, 20, 25, 15, 17, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 15, 20, 25, 20,
-			25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 20, 25, 25, 25, 25, 25, 25, 25, 25, 25,
-			25, 25 };
-
-	/** Base game strips discrete distribution. */
-	private static int[] baseStripsDistribution = { 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3,
-			4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4,
-			5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 3, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1, 2, 4, 5, 1,
-			2, 4, 5, 1, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4,
-			5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 2, 4,
-			5, 2, 4, 5, 2, 4, 5, 2, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5,
-			4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5,
-			4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 4, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5, 5,
-			5, 5, 5, 5, 5 };
-
-	/** All scatters discrete distribution together. */
-	private static int[][] scatterDistritutions = { baseScatterDistritution, free1ScatterDistritution,
-			free2ScatterDistritution, free3ScatterDistritution };
-
-	/** Base reels strips. */
-	private static int[][][] baseReels = { baseReels1, baseReels2, baseReels3, baseReels4, baseReels5 };
-
-	/** Base reels strips. */
-	private static int[][][] freeReels = { freeReels1, freeReels2, freeReels3 };
-
-	/** Reels strips 1. */
-	private static int[][][] reels1 = { baseReels1, freeReels1, freeReels2, freeReels3 };
-
-	/** Reels strips 2. */
-	private static int[][][] reels2 = { baseReels2, freeReels1, freeReels2, freeReels3 };
-
-	/** Reels strips 3. */
-	private static int[][][] reels3 = { baseReels3, freeReels1, freeReels2, freeReels3 };
-
-	/** Reels strips 4. */
-	private static int[][][] reels4 = { baseReels4, freeReels1, freeReels2, freeReels3 };
-
-	/** Reels strips 5. */
-	private static int[][][] reels5 = { baseReels5, freeReels1, freeReels2, freeReels3 };
-
-	/** All strips together. */
-	private static int[][][][] reelsSets = { reels1, reels2, reels3, reels4, reels5 };
-
-	/** Wild symbols distributions together. */
-	private static int[][][][] wildsSets = { new int[][][] { new int[][] {}, baseReels1Wilds1, baseReels1Wilds2 },
-			new int[][][] { new int[][] {}, baseReels2Wilds1, baseReels2Wilds2 },
-			new int[][][] { new int[][] {}, baseReels3Wilds1, baseReels3Wilds2 },
-			new int[][][] { new int[][] {}, baseReels4Wilds1, baseReels4Wilds2 },
-			new int[][][] { new int[][] {}, baseReels5Wilds1, baseReels5Wilds2 },
-			new int[][][] { new int[][] {}, freeReels1Wilds1, freeReels1Wilds2 },
-			new int[][][] { new int[][] {}, freeReels2Wilds1, freeReels2Wilds2 },
-			new int[][][] { new int[][] {}, freeReels3Wilds1, freeReels3Wilds2 }, };
-
-	/** Current reels reference. */
-	private static int[][][] reels = {};
-
-	/** Current wilds distributions reference. */
-	private static int[][][] wilds = {};
-
-	/** Current visible symbols on the screen. */
-	private static int[][] view = { new int[] { -1, -1, -1 }, new int[] { -1, -1, -1 }, new int[] { -1, -1, -1 },
-			new int[] { -1, -1, -1 }, new int[] { -1, -1, -1 } };
-
-	/** Current scatter multiplier. */
-	private static int scatterMultiplier = 1;
-
-	/** Total bet in single base game spin. */
-	private static int totalBet = lines.length;
-
-	/** List of free spins to be played. */
-	private static List<FreeSpin> freeGamesList = new ArrayList<FreeSpin>();
-
-	/** Current free spins multiplier. */
-	private static int freeGamesMultiplier = 1;
-
-	/** Total amount of won money. */
-	private static long wonMoney = 0L;
-
-	/** Total amount of lost money. */
-	private static long lostMoney = 0L;
-
-	/** Total amount of won money in base game. */
-	private static long baseMoney = 0L;
+	/** Live metrics of the simulation (null for no metrics). */
+	static SimulationMetrics metrics = null;
 
-	/** Total amount of won money in free spins. */
-	private static long freeMoney = 0L;
-
-	/** Max amount of won money in base game. */
-	private static long baseMaxWin = 0L;
+	/** Trace file name of the played games (null for no trace). */
+	private static String traceFile = null;
 
-	/** Max amount of won money in free spins. */
-	private static long freeMaxWin = 0L;
+	/** Trace of the played games (null for no trace). */
+	private static GameTrace trace = null;
 
-	/** Histogram of the wins in the base game. */
-	private static Map<Integer, Integer> baseWinsHistogram = new HashMap<Integer, Integer>();
+	/** Trace file name to be replayed (null for no replay). */
+	private static String replayFile = null;
 
-	/** Histogram of the wins in the free spins. */
-	private static Map<Integer, Integer> freeWinsHistogram = new HashMap<Integer, Integer>();
+	/** Index of the replayed game in the trace (negative for no game). */
+	private static long replayIndex = -1L;
 
-	/** Total number of base games played. */
-	private static long totalNumberOfGames = 0L;
+	/** Range of the total wins in total bets of the listed traced games (null for no list). */
+	private static double[] replayWins = null;
 
-	/** Total number of free spins played. */
-	private static long totalNumberOfFreeGames = 0L;
+	/** Port of the metrics HTTP endpoint (negative for no metrics, zero for JFR events only). */
+	private static int metricsPort = -1;
 
-	/** Total number of free spins started. */
-	private static long totalNumberOfFreeGameStarts = 0L;
+	/** Line wins lookup table usage flag. */
+	private static boolean lineWinsTableMode = false;
 
-	/** Hit rate of wins in base game. */
-	private static long baseGameHitRate = 0L;
+	/** Exact RTP calculation mode flag. */
+	private static boolean exactMode = false;
 
-	/** Hit rate of wins in free spins. */
-	private static long freeGamesHitRate = 0L;
+	/** Performance measurement mode flag. */
+	private static boolean benchmarkMode = false;
 
-	/** Verbose output flag. */
-	private static boolean verboseOutput = false;
+	/** Vector API lines evaluation flag. */
+	private static boolean vectorMode = false;
 
-	/** Free spins flag. */
-	private static boolean freeOff = false;
+	/** Reference wild expansion flag. */
+	static boolean expandReference = false;
 
-	/** Wild substitution flag. */
-	private static boolean wildsOff = false;
+	/** Wild expansion equivalence check mode flag. */
+	private static boolean expandCheck = false;
 
-	/** Wild expansion flag. */
-	private static boolean wildExpandOff = false;
+	/** Target half-width of the total RTP confidence interval (zero for fixed number of games). */
+	private static double targetHalfWidth = 0D;
 
-	/** Linear congruential generator check of performance flag. */
-	private static boolean lcgCheck = false;
-
-	/** Symbols win hit rate in base game. */
-	private static long[][] baseSymbolMoney = { new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
-			new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
-			new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
-			new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 } };
-
-	/** Symbols hit rate in base game. */
-	private static long[][] baseGameSymbolsHitRate = { new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
-			new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
-			new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
-			new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 } };
-
-	/** Static constructor for discrete distributions shuffling. */
-	static {
-		for (int last = freeMultiplierDistribution.length - 1, r = -1, swap = -1; last > 0; last--) {
-			r = secure.nextInt(last + 1);
-			swap = freeMultiplierDistribution[last];
-			freeMultiplierDistribution[last] = freeMultiplierDistribution[r];
-			freeMultiplierDistribution[r] = swap;
-		}
-		for (int last = baseScatterDistritution.length - 1, r = -1, swap = -1; last > 0; last--) {
-			r = secure.nextInt(last + 1);
-			swap = baseScatterDistritution[last];
-			baseScatterDistritution[last] = baseScatterDistritution[r];
-			baseScatterDistritution[r] = swap;
-		}
-		for (int last = free1ScatterDistritution.length - 1, r = -1, swap = -1; last > 0; last--) {
-			r = secure.nextInt(last + 1);
-			swap = free1ScatterDistritution[last];
-			free1ScatterDistritution[last] = free1ScatterDistritution[r];
-			free1ScatterDistritution[r] = swap;
-		}
-		for (int last = free2ScatterDistritution.length - 1, r = -1, swap = -1; last > 0; last--) {
-			r = secure.nextInt(last + 1);
-			swap = free2ScatterDistritution[last];
-			free2ScatterDistritution[last] = free2ScatterDistritution[r];
-			free2ScatterDistritution[r] = swap;
-		}
-		for (int last = free3ScatterDistritution.length - 1, r = -1, swap = -1; last > 0; last--) {
-			r = secure.nextInt(last + 1);
-			swap = free3ScatterDistritution[last];
-			free3ScatterDistritution[last] = free3ScatterDistritution[r];
-			free3ScatterDistritution[r] = swap;
-		}
-	}
+	/** Math model file in text or compiled form (null for the standard model). */
+	private static String modelFile = null;
+
+	/** Output file of the compiled math model (null for no compilation). */
+	private static String compileFile = null;
+
+	/** Output file of the math model text form (null for no export). */
+	private static String exportFile = null;
+
+	/** Input data structures printing mode flag. */
+	private static boolean verifyMode = false;
+
+	/** Variance reduction sampling modes to compare (null for no comparison). */
+	private static String reductionModes = null;
+
+	/** Math model variants file of the parameter sweep (null for no sweep). */
+	private static String sweepFile = null;
+
+	/** Number of parallel simulation threads. */
+	static int numberOfThreads = 1;
+
+	/** Total number of base games to play. */
+	static long numberOfSimulations = 10000000L;
+
+	/** Seed of the generator of all pseudo-random generators seeds. */
+	static long masterSeed = 0L;
+
+	/** Partial result file name (null for no partial result). */
+	private static String saveFile = null;
+
+	/** Checkpoint file name of the resumed simulation (null for new simulation). */
+	private static String resumeFile = null;
+
+	/** Format of the progress and statistics output (text, json or csv). */
+	static String outputFormat = "text";
 
 	/**
-	 * Single reels spin to fill view with symbols.
+	 * Create math model according the command line selection.
 	 *
-	 * @param reels Reels strips.
+	 * @return Standard math model or math model loaded from file.
 	 */
-	private static void spin(int[][] reels) {
-		for (int i = 0; i < view.length && i < reels.length; i++) {
-			int r = prng.nextInt(reels[i].length);
-			int u = r - 1;
-			int d = r + 1;
-
-			if (u < 0) {
-				u = reels[i].length - 1;
-			}
-
-			if (d >= reels[i].length) {
-				d = 0;
-			}
+	static GameModel createModel() {
+		if (modelFile == null) {
+			return new GameModel(freeOff, wildsOff, wildExpandOff);
+		}
 
-			view[i][0] = reels[i][u];
-			view[i][1] = reels[i][r];
-			view[i][2] = reels[i][d];
+		try {
+			return GameModel.read(modelFile, freeOff, wildsOff, wildExpandOff);
+		} catch (IOException exception) {
+			System.out.println("Math model is not loaded: " + exception.getMessage());
+			System.exit(1);
 		}
+
+		return null;
 	}
 
 	/**
-	 * Calculate win in particular line.
+	 * Create game engine according the command line selection.
 	 *
-	 * @param line Single line.
+	 * @param prng Pseudo-random number generator of the engine.
 	 *
-	 * @return Calculated win.
+	 * @return Game engine.
 	 */
-	private static int lineWin(int[] line) {
-		/* Keep first symbol in the line. */
-		int symbol = line[0];
-
-		/* Wild symbol passing to find first regular symbol. */
-		for (int i = 0; i < line.length; i++) {
-			/* First no wild symbol found. */
-			if (symbol != 1 && symbol != 2) {
-				break;
-			}
-
-			symbol = line[i];
-		}
-
-		/*
-		 * Wild symbol substitution. Other wild are artificial they are not part of the
-		 * pay table.
-		 */
-		for (int i = 0; i < line.length && wildsOff == false; i++) {
-			if (line[i] == 1 || line[i] == 2) {
-				/* Substitute wild with regular symbol. */
-				line[i] = symbol;
-			}
+	static GameEngine createEngine(RandomGenerator prng) {
+		GameEngine engine = new GameEngine(model, prng);
+		engine.state.lcgCheck = lcgCheck;
+		engine.expandReference = expandReference;
+		engine.metrics = metrics;
+		if (vectorMode == true) {
+			engine.evaluator = createLinesEvaluator();
 		}
+		return engine;
+	}
 
-		/* Count symbols in winning line. */
-		int number = 0;
-		for (int i = 0; i < line.length; i++) {
-			if (line[i] == symbol) {
-				number++;
-			} else {
-				break;
-			}
+	/**
+	 * Create Vector API lines evaluation. The evaluation is compiled separately
+	 * with the incubator module, so it is loaded by name.
+	 *
+	 * @return Lines evaluation or null if the Vector API is not available.
+	 */
+	static LinesEvaluator createLinesEvaluator() {
+		try {
+			return (LinesEvaluator) Class.forName("VectorLines").getDeclaredConstructor(GameModel.class)
+					.newInstance(model);
+		} catch (ReflectiveOperationException | LinkageError exception) {
+			return null;
 		}
+	}
 
-		/* Clear unused symbols. */
-		for (int i = number; i < line.length; i++) {
-			line[i] = -1;
+	/**
+	 * Check the Vector API lines evaluation against the scalar evaluation on
+	 * random views.
+	 *
+	 * @param numberOfViews Number of checked views.
+	 * @param seed          Seed of the generator.
+	 */
+	private static void checkLinesEvaluator(long numberOfViews, long seed) {
+		GameEngine scalar = new GameEngine(model, new SplittableRandom(seed));
+		GameEngine vector = new GameEngine(model, new SplittableRandom(seed));
+		vector.evaluator = createLinesEvaluator();
+		if (vector.evaluator == null) {
+			System.out.println("Vector API is not available, lines are evaluated by the scalar code.");
+			System.out.println();
+			vectorMode = false;
+			return;
 		}
 
-		int win = paytable[number][symbol];
+		long mismatches = 0;
+		for (long v = 0; v < numberOfViews; v++) {
+			int r = (int) (v % model.windowsSets.length);
+			scalar.spin(model.windowsSets[r][0]);
+			vector.spin(model.windowsSets[r][0]);
 
-		/* There is multiplier in free games mode. */
-		if (freeGamesList.size() > 0) {
-			win *= freeGamesMultiplier;
+			int expected = scalar.linesWin(scalar.state.view);
+			int actual = vector.linesWin(vector.state.view);
+			if (expected != actual || scalar.result().winningLines != vector.result().winningLines) {
+				mismatches++;
+			}
 		}
 
-		if (win > 0 && freeGamesList.size() == 0) {
-			baseSymbolMoney[number][symbol] += win;
-			baseGameSymbolsHitRate[number][symbol]++;
+		if (mismatches > 0) {
+			System.out.println("Vector API lines evaluation mismatches:\t" + mismatches);
+			System.exit(1);
 		}
-
-		return (win);
 	}
 
 	/**
-	 * Calculate win in all possible lines.
+	 * Create pseudo-random number generator according the command line selection.
+	 * Cryptographically secure generator is never seeded explicitly.
 	 *
-	 * @param view Symbols visible in screen view.
+	 * @param seed Seed of the generator.
 	 *
-	 * @return Calculated win.
+	 * @return Pseudo-random number generator.
 	 */
-	private static int linesWin(int[][] view) {
-		int win = 0;
-
-		/* Check wins in all possible lines. */
-		for (int l = 0; l < lines.length; l++) {
-			int[] line = { -1, -1, -1, -1, -1 };
-
-			/* Prepare line for combination check. */
-			for (int i = 0; i < line.length; i++) {
-				int index = lines[l][i];
-				line[i] = view[i][index];
-			}
-
-			int result = lineWin(line);
-
-			/* Accumulate line win. */
-			win += result;
+	static RandomGenerator createGenerator(long seed) {
+		switch (generatorName) {
+		case "secure":
+			return new SecureRandom();
+		case "lcg":
+			LCGRandom lcg = new LCGRandom(1664525L, 1013904223L, 4294967296L);
+			lcg.seed(seed);
+			return lcg;
+		case "splittable":
+			return new SplittableRandom(seed);
+		case "l64x128":
+			return generatorFactories.computeIfAbsent("L64X128MixRandom", RandomGeneratorFactory::of).create(seed);
+		case "xoshiro256":
+			return generatorFactories.computeIfAbsent("Xoshiro256PlusPlus", RandomGeneratorFactory::of).create(seed);
+		default:
+			return generatorFactories.computeIfAbsent(generatorName, RandomGeneratorFactory::of).create(seed);
 		}
-
-		return (win);
 	}
 
-	/** Setup parameters for free spins mode. */
-	private static void freeGamesSetup() {
-		int numberOfScatters = 0;
-		int numberOfWilds = 0;
-		for (int i = 0; i < view.length; i++) {
-			for (int j = 0; j < view[i].length; j++) {
-				if (view[i][j] == 1) {
-					numberOfWilds++;
-				}
-				if (view[i][j] == 16) {
-					numberOfScatters++;
-				}
-			}
-		}
-
-		scatterMultiplier = scatterMultipliers[numberOfScatters];
-
-		/* In base game 3+ scatters turn into free spins. */
-		if (numberOfScatters < 3 && freeGamesList.size() == 0) {
-			return;
-		} else if (numberOfScatters >= 3 && freeGamesList.size() == 0) {
-			int freeGamesNumber = baseScatterDistritution[prng.nextInt(baseScatterDistritution.length)];
-			freeGamesMultiplier = freeMultiplierDistribution[prng.nextInt(freeMultiplierDistribution.length)];
-			for (int i = 0; i < freeGamesNumber; i++) {
-				freeGamesList.add(new FreeSpin((i + 1), reels[1], wildsSets[5][numberOfWilds]));
-			}
-		} else if (numberOfScatters >= 3 && freeGamesList.size() > 0) {
-			int next = -1;
-			if (freeGamesList.get(freeGamesList.size() - 1).reels == reels[1]) {
-				next = 2;
-			} else if (freeGamesList.get(freeGamesList.size() - 1).reels == reels[2]) {
-				next = 3;
-			} else {
-				next = 3;
+	/**
+	 * Build the line wins lookup table of the model and check it against the lines
+	 * evaluation before it is used.
+	 */
+	private static void buildLineWinsTable() {
+		long time = System.nanoTime();
+		GameModel table = model.withLineWinsTable();
+		time = System.nanoTime() - time;
+
+		/* Equivalence check against the lines evaluation without table. */
+		GameEngine checker = new GameEngine(model, new SplittableRandom(0L));
+		int[][] view = checker.state.view;
+		int[] first = new int[view.length];
+		long mismatches = 0;
+		int combinations = (int) Math.pow(model.symbols.length, view.length);
+		for (int key = 0; key < combinations; key++) {
+			for (int i = 0, value = key; i < view.length; i++, value /= model.symbols.length) {
+				view[i][0] = value % model.symbols.length;
 			}
 
-			int distributionIndex = -1;
-			if (freeGamesList.get(freeGamesList.size() - 1).reels == reels[1]) {
-				distributionIndex = 1;
-			} else if (freeGamesList.get(freeGamesList.size() - 1).reels == reels[2]) {
-				distributionIndex = 2;
-			} else if (freeGamesList.get(freeGamesList.size() - 1).reels == reels[3]) {
-				distributionIndex = 3;
-			}
+			int outcome = table.lineWinsTable[view[0][0] | view[1][0] << 5 | view[2][0] << 10 | view[3][0] << 15
+					| view[4][0] << 20];
+			checker.result().clear();
+			int expected = checker.lineWin(view, first);
+			GameResult result = checker.result();
 
-			int freeGamesNumber = scatterDistritutions[distributionIndex][prng
-					.nextInt(scatterDistritutions[distributionIndex].length)];
-			for (int i = 0; i < freeGamesNumber; i++) {
-				freeGamesList.add(new FreeSpin((i + 1), reels[next], wildsSets[4 + next][numberOfWilds]));
+			if (expected != table.outcomeWin[outcome] || (expected > 0 && (result.winningLines != 1
+					|| result.lineSymbols[0] != table.outcomeSymbol[outcome]
+					|| result.lineNumbers[0] != table.outcomeNumber[outcome]))) {
+				mismatches++;
 			}
 		}
-	}
 
-	/** Expand wild. */
-	private static void expandWild() {
-		if (wildExpandOff == true) {
-			return;
+		System.out.println("Line wins table:\t" + table.lineWinsTable.length + " entries\t"
+				+ table.outcomeWin.length + " outcomes\t"
+				+ (table.lineWinsTable.length + 3L * 4L * table.outcomeWin.length) + " bytes\t"
+				+ (time / 1000000L) + " ms");
+		if (mismatches > 0) {
+			System.out.println("Line wins table mismatches:\t" + mismatches);
+			System.exit(1);
 		}
+		System.out.println();
 
-		int numberOfWilds = 0;
-		for (int i = 0; i < view.length; i++) {
-			for (int j = 0; j < view[i].length; j++) {
-				if (view[i][j] == 1) {
-					numberOfWilds++;
-				}
-			}
-		}
+		model = table;
+	}
 
-		if (numberOfWilds == 1) {
-			int[][] transforms = new int[][] {
-					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) },
-					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) },
-					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) },
-					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) },
-					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) } };
-			for (int i = 0; i < transforms.length; i++) {
-				for (int j = 0; j < transforms[i].length; j++) {
-					if (transforms[i][j] <= wilds[numberOfWilds][i][j] && view[i][j] != 1 && view[i][j] != 16) {
-						transforms[i][j] = 1;
-					} else {
-						transforms[i][j] = 0;
-					}
-				}
-			}
-			int sum = 0;
-			for (int i = 0; i < transforms.length; i++) {
-				for (int j = 0; j < transforms[i].length; j++) {
-					sum += transforms[i][j];
-				}
-			}
-			if (sum == 0 && view[4][1] != 1 && view[4][1] != 16) {
-				transforms[4][1] = 1;
-			}
-			for (int j = 0, k = 0; j < transforms[0].length && k < 3; j++) {
-				for (int i = 0; i < transforms.length && k < 3; i++) {
-					if (transforms[i][j] == 1) {
-						view[i][j] = 1;
-						k++;
-					}
+	/**
+	 * Check that the wild expansion gives the same distribution of the expanded
+	 * views as the reference wild expansion. Both expansions are applied on the
+	 * same spun views and the frequencies of the converted cells and of the
+	 * numbers of converted cells are compared by two proportions z-score.
+	 *
+	 * @param numberOfViews Number of spun views.
+	 * @param seed          Seed of the generators.
+	 */
+	private static void checkWildExpansion(long numberOfViews, long seed) {
+		SplittableRandom seeds = new SplittableRandom(seed);
+		GameEngine spinner = new GameEngine(model, createGenerator(seeds.nextLong()));
+		GameEngine[] engines = { new GameEngine(model, createGenerator(seeds.nextLong())),
+				new GameEngine(model, createGenerator(seeds.nextLong())) };
+		engines[0].expandReference = true;
+		int[][] view = spinner.state.view;
+		int cells = view.length * view[0].length;
+
+		/* Counters by number of wilds, engine and cell or number of converted cells. */
+		long[][][] converted = new long[3][engines.length][cells];
+		long[][][] numbers = new long[3][engines.length][cells + 1];
+		long[] views = new long[3];
+		for (long v = 0; v < numberOfViews; v++) {
+			int r = model.baseStrips.sample(spinner.state.prng) - 1;
+			spinner.spin(model.windowsSets[r][0]);
+
+			int wilds = 0;
+			for (int i = 0; i < view.length; i++) {
+				for (int j = 0; j < view[i].length; j++) {
+					wilds += view[i][j] == 1 ? 1 : 0;
 				}
 			}
-		} else if (numberOfWilds == 2) {
-			int[][] transforms = new int[][] {
-					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) },
-					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) },
-					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) },
-					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) },
-					new int[] { 1 + prng.nextInt(100), 1 + prng.nextInt(100), 1 + prng.nextInt(100) } };
-			for (int i = 0; i < transforms.length; i++) {
-				for (int j = 0; j < transforms[i].length; j++) {
-					if (transforms[i][j] <= wilds[numberOfWilds][i][j] && view[i][j] != 1 && view[i][j] != 16) {
-						transforms[i][j] = 1;
-					} else {
-						transforms[i][j] = 0;
-					}
-				}
+			if (wilds != 1 && wilds != 2) {
+				continue;
 			}
-			int sum = 0;
-			for (int i = 0; i < transforms.length; i++) {
-				for (int j = 0; j < transforms[i].length; j++) {
-					sum += transforms[i][j];
+			views[wilds]++;
+
+			for (int e = 0; e < engines.length; e++) {
+				int[][] expanded = engines[e].state.view;
+				for (int i = 0; i < view.length; i++) {
+					System.arraycopy(view[i], 0, expanded[i], 0, view[i].length);
 				}
-			}
-			if (sum == 0 && view[4][0] != 1 && view[4][0] != 16) {
-				transforms[4][0] = 1;
-			}
-			if (sum == 0 && view[4][2] != 1 && view[4][2] != 16) {
-				transforms[4][2] = 1;
-			}
-			if (sum == 1 && view[4][1] != 1 && view[4][1] != 16) {
-				transforms[4][1] = 1;
-			}
-			for (int j = 0, k = 0; j < transforms[0].length && k < 2; j++) {
-				for (int i = 0; i < transforms.length && k < 2; i++) {
-					if (transforms[i][j] == 1) {
-						view[i][j] = 1;
-						k++;
+				engines[e].state.wilds = model.wildsSets[r];
+				engines[e].expandWild();
+
+				int number = 0;
+				for (int i = 0; i < view.length; i++) {
+					for (int j = 0; j < view[i].length; j++) {
+						if (view[i][j] != 1 && expanded[i][j] == 1) {
+							converted[wilds][e][i * view[i].length + j]++;
+							number++;
+						}
 					}
 				}
+				numbers[wilds][e][number]++;
 			}
 		}
-	}
-
-	/** Play single free spin game. */
-	private static void singleFreeGame() {
-		if (freeOff == true) {
-			return;
-		}
-
-		/*
-		 * Spin reels. In re-triggered games from FS1 to FS2 and from FS2 to FS3. FS3
-		 * can not re-trigger FS.
-		 */
-		spin(freeGamesList.get(0).reels);
-
-		freeGamesSetup();
-
-		expandWild();
-
-		/* Win accumulated by lines. */
-		int win = linesWin(view) + (scatterMultiplier * totalBet);
-
-		/* Fill free spins wins histogram. */
-		if (freeWinsHistogram.containsKey(win)) {
-			freeWinsHistogram.put(win, freeWinsHistogram.get(win) + 1);
-		} else {
-			freeWinsHistogram.put(win, 1);
-		}
-
-		/* Add win to the statistics. */
-		freeMoney += win;
-		wonMoney += win;
-		if (freeMaxWin < win) {
-			freeMaxWin = win;
-		}
-
-		/* Count base game hit rate. */
-		if (win > 0) {
-			freeGamesHitRate++;
-		}
-	}
-
-	/** Play single base game. */
-	private static void singleBaseGame() {
-		/* Select reels according base game strip distribution. */
-		int r = baseStripsDistribution[prng.nextInt(baseStripsDistribution.length)] - 1;
-		reels = reelsSets[r];
-		wilds = wildsSets[r];
-
-		/* Support seed for LCG checking mode. */
-		if (lcgCheck == true) {
-			((LCGRandom) lcg).seed(Math.abs(secure.nextInt()));
-		}
-
-		/* Spin reels. */
-		spin(reels[0]);
 
-		freeGamesSetup();
-
-		expandWild();
-
-		/* Win accumulated by lines. */
-		int win = linesWin(view) + (scatterMultiplier * totalBet);
-
-		/* Fill base game wins histogram. */
-		if (baseWinsHistogram.containsKey(win)) {
-			baseWinsHistogram.put(win, baseWinsHistogram.get(win) + 1);
-		} else {
-			baseWinsHistogram.put(win, 1);
-		}
-
-		/* Add win to the statistics. */
-		baseMoney += win;
-		wonMoney += win;
-		if (baseMaxWin < win) {
-			baseMaxWin = win;
-		}
+		System.out.println("Wilds	Views	Cell or number	Reference	Sampler	Z-score");
+		double worst = 0;
+		for (int wilds = 1; wilds <= 2; wilds++) {
+			for (int k = 0; k < cells + cells + 1; k++) {
+				long[] counts = k < cells ? new long[] { converted[wilds][0][k], converted[wilds][1][k] }
+						: new long[] { numbers[wilds][0][k - cells], numbers[wilds][1][k - cells] };
+				if (counts[0] == 0 && counts[1] == 0) {
+					continue;
+				}
 
-		/* Count base game hit rate. */
-		if (win > 0) {
-			baseGameHitRate++;
-		}
+				double pooled = (double) (counts[0] + counts[1]) / (2D * views[wilds]);
+				double z = (counts[0] - counts[1]) / Math.sqrt(2D * views[wilds] * pooled * (1D - pooled));
+				if (Double.isFinite(z) == true) {
+					worst = Math.max(worst, Math.abs(z));
+				}
 
-		/* Count into free spins hit rate. */
-		if (freeGamesList.size() > 0) {
-			totalNumberOfFreeGameStarts++;
+				String name = k < cells ? ("cell " + (k / view[0].length) + "," + (k % view[0].length))
+						: ("number " + (k - cells));
+				System.out.println(wilds + "\t" + views[wilds] + "\t" + name + "\t" + counts[0] + "\t" + counts[1]
+						+ "\t" + z);
+			}
 		}
+		System.out.println();
 
-		/* Play all free games. */
-		while (freeGamesList.size() > 0) {
-			totalNumberOfFreeGames++;
-
-			singleFreeGame();
-
-			freeGamesList.remove(0);
+		System.out.println("Wild expansion check:\tmaximum z-score " + worst);
+		if (worst > 5D) {
+			System.exit(1);
 		}
-		freeGamesMultiplier = 1;
-		freeGamesList.clear();
 	}
 
 	/** Print help information. */
@@ -969,53 +421,103 @@ class Main {
 		System.out.println("* -h              Help screen.                                                *");
 		System.out.println("* -help           Help screen.                                                *");
 		System.out.println("*                                                                             *");
-		System.out.println("* -g<number>      Number of games (default 10 000 000).                       *");
+		System.out.println("* -g<number>      Number of games (default 10 000 000), k, m or b suffix.     *");
 		System.out.println("* -p<number>      Progress on each iteration number (default 10 000 000).     *");
+		System.out.println("* -threads<number> Parallel simulation threads (default 1).                   *");
+		System.out.println("* -out=<format>   Output format: text (default), json lines or csv.           *");
+		System.out.println("*                 Structured output reports progress on each -p iteration.    *");
+		System.out.println("*                                                                             *");
+		System.out.println("* -checkpoint=<file> Periodic checkpoint of statistics and generators seeds.  *");
+		System.out.println("* -interval<number> Seconds between checkpoints (default 10).                 *");
+		System.out.println("* -resume=<file>  Continue simulation saved in checkpoint file.               *");
+		System.out.println("* -target-ci=<w>  Stop when the 95% confidence interval half-width of the RTP *");
+		System.out.println("*                 is below w (-g is the maximum number of games).             *");
+		System.out.println("* -save=<file>    Save partial result of the simulation.                      *");
+		System.out.println("* -merge <files>  Print statistics of merged partial results.                 *");
+		System.out.println("*                 Simulations to merge need different seeds.                  *");
 		System.out.println("*                                                                             *");
 		System.out.println("* -freeoff        Switch off free spins.                                      *");
 		System.out.println("* -wildsoff       Switch off wilds.                                           *");
 		System.out.println("* -expandoff      Switch off wild expansion.                                  *");
+		System.out.println("* -expandref      Reference wild expansion (random number for each cell).     *");
+		System.out.println("* -expandcheck    Compare wild expansion with the reference on -g views.      *");
+		System.out.println("*                                                                             *");
+		System.out.println("* -reduce=<modes> Compare variance reduction with plain sampling on -g games, *");
+		System.out.println("*                 modes stratified, antithetic, conditional or all (comma     *");
+		System.out.println("*                 separated), with effective speedup per CPU second.          *");
+		System.out.println("* -sweep=<file>   Play math model variants on common random numbers, line per *");
+		System.out.println("*                 variant: name paytable<n>=... scatters=... multipliers=...  *");
+		System.out.println("*                 wilds<set>.<n>=... (the first variant is the baseline).     *");
 		System.out.println("*                                                                             *");
+		System.out.println("* -linetable      Evaluate lines by precomputed lookup table.                 *");
+		System.out.println("* -featuretable<n> Take free spins feature payouts from table of n payouts    *");
+		System.out.println("*                 per strips and multiplier (default 100k). Free spins        *");
+		System.out.println("*                 statistics count whole features instead of single spins.    *");
+		System.out.println("*                 Confidence intervals include the error of the table.        *");
+		System.out.println("* -trace=<file>   Record every game (seed, strips, stops, wins and free spins *");
+		System.out.println("*                 segments) in binary trace file, needs -rng with seed.       *");
+		System.out.println("*                 Replay uses the generator of the trace and checks the model.*");
+		System.out.println("* -replay=<file>  Replay trace: -index=<n> plays game n again from its seed,  *");
+		System.out.println("*                 -wins=<min>:<max> lists games by total win in total bets.   *");
+		System.out.println("* -metrics=<port> Live metrics in Prometheus format on localhost:<port>/metrics*");
+		System.out.println("*                 and JFR events (port 0 for JFR events only).                *");
+		System.out.println("* -vector         Evaluate lines by Vector API (needs the VectorLines class and*");
+		System.out.println("*                 --add-modules jdk.incubator.vector).                        *");
+		System.out.println("*                                                                             *");
+		System.out.println("* -model=<file>   Load math model from text or compiled file.                 *");
+		System.out.println("* -compile=<file> Write compiled form of the math model.                      *");
+		System.out.println("* -export=<file>  Write text form of the math model.                          *");
 		System.out.println("* -verify         Print input data structures.                                *");
+		System.out.println("* -exact          Exact RTP by enumeration of all reels stops.                *");
+		System.out.println("* -benchmark      Measure time and allocations of the game stages.            *");
+		System.out.println("*                                                                             *");
+		System.out.println("* -server=[<host>:]<port> Live play of base games over TCP, JSON line per spin,*");
+		System.out.println("*                 only on localhost if no host is given (no authentication).  *");
+		System.out.println("* -client=<host:port> Load generator with latency histogram, -g requests      *");
+		System.out.println("*                 over -threads connections.                                  *");
 		System.out.println("*                                                                             *");
 		System.out.println("* -lcg            Linear congruential generator check.                        *");
 		System.out.println("*                                                                             *");
+		System.out.println("* -rng=<name>     Random generator (default secure): secure, lcg,             *");
+		System.out.println("*                 splittable, l64x128, xoshiro256 or other JDK algorithm.     *");
+		System.out.println("* -seed<number>   Seed of the random generators (ignored by secure).          *");
+		System.out.println("*                                                                             *");
 		System.out.println("*******************************************************************************");
 	}
 
 	/** Print all simulation input data structures. */
 	private static void printDataStructures() {
 		System.out.println("Paytable:");
-		for (int i = 3; i < paytable.length; i++) {
+		for (int i = 3; i < model.paytable.length; i++) {
 			System.out.print("\t" + i + " of");
 		}
 		System.out.println();
-		for (int j = 3; j < paytable[0].length; j++) {
+		for (int j = 3; j < model.paytable[0].length; j++) {
 			System.out.print("SYM" + j + "\t");
-			for (int i = 3; i < paytable.length; i++) {
-				System.out.print(paytable[i][j] + "\t");
+			for (int i = 3; i < model.paytable.length; i++) {
+				System.out.print(model.paytable[i][j] + "\t");
 			}
 			System.out.println();
 		}
 		System.out.println();
 
 		System.out.println("Lines:");
-		for (int i = 0; i < lines.length; i++) {
-			for (int j = 0; j < lines[0].length; j++) {
-				System.out.print(lines[i][j] + " ");
+		for (int i = 0; i < model.lines.length; i++) {
+			for (int j = 0; j < model.lines[0].length; j++) {
+				System.out.print(model.lines[i][j] + " ");
 			}
 			System.out.println();
 		}
 		System.out.println();
 
 		System.out.println("Base Game Reels:");
-		for (int k = 0; k < baseReels.length; k++) {
-			for (int i = 0; i < baseReels[k].length; i++) {
-				for (int j = 0; j < baseReels[0][i].length; j++) {
+		for (int k = 0; k < model.baseReels.length; k++) {
+			for (int i = 0; i < model.baseReels[k].length; i++) {
+				for (int j = 0; j < model.baseReels[0][i].length; j++) {
 					if (j % 10 == 0) {
 						System.out.println();
 					}
-					System.out.print("SYM" + baseReels[0][i][j] + " ");
+					System.out.print("SYM" + model.baseReels[0][i][j] + " ");
 				}
 				System.out.println();
 			}
@@ -1025,18 +527,18 @@ class Main {
 
 		System.out.println("Base Game Reels:");
 		/* Count symbols in reels. */ {
-			for (int k = 0; k < baseReels.length; k++) {
+			for (int k = 0; k < model.baseReels.length; k++) {
 				int[][] counters = { new int[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
 						new int[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
 						new int[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
 						new int[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
 						new int[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 } };
-				for (int i = 0; i < baseReels[k].length; i++) {
-					for (int j = 0; j < baseReels[k][i].length; j++) {
-						counters[i][baseReels[k][i][j]]++;
+				for (int i = 0; i < model.baseReels[k].length; i++) {
+					for (int j = 0; j < model.baseReels[k][i].length; j++) {
+						counters[i][model.baseReels[k][i][j]]++;
 					}
 				}
-				for (int i = 0; i < baseReels[k].length; i++) {
+				for (int i = 0; i < model.baseReels[k].length; i++) {
 					System.out.print("\tReel " + (i + 1));
 				}
 				System.out.println();
@@ -1069,103 +571,32 @@ class Main {
 		System.out.println();
 	}
 
-	/** Print simulation statistics. */
-	private static void printStatistics() {
-		System.out.println("Won money:\t" + wonMoney);
-		System.out.println("Lost money:\t" + lostMoney);
-		System.out.println("Total Number of Games:\t" + totalNumberOfGames);
-		System.out.println();
-		System.out.println("Total RTP:\t" + ((double) wonMoney / (double) lostMoney) + "\t\t"
-				+ (100.0D * (double) wonMoney / (double) lostMoney) + "%");
-		System.out.println("Base Game RTP:\t" + ((double) baseMoney / (double) lostMoney) + "\t\t"
-				+ (100.0D * (double) baseMoney / (double) lostMoney) + "%");
-		System.out.println("Free Game RTP:\t" + ((double) freeMoney / (double) lostMoney) + "\t\t"
-				+ (100.0D * (double) freeMoney / (double) lostMoney) + "%");
-		System.out.println();
-		System.out.println("Hit Frequency in Base Game:\t" + ((double) baseGameHitRate / (double) totalNumberOfGames)
-				+ "\t\t" + (100.0D * (double) baseGameHitRate / (double) totalNumberOfGames) + "%");
-		System.out.println(
-				"Hit Frequency into Free Game:\t" + ((double) totalNumberOfFreeGameStarts / (double) totalNumberOfGames)
-						+ "\t\t" + (100.0D * (double) totalNumberOfFreeGameStarts / (double) totalNumberOfGames) + "%");
-		System.out.println();
-		System.out.println("Max Win in Base Game:\t" + baseMaxWin);
-		System.out.println("Max Win in Free Game:\t" + freeMaxWin);
-
-		/**/
-		System.out.println();
-		System.out.println("Base Game Symbols RTP:");
-		System.out.print("\t");
-		for (int i = 0; i < baseSymbolMoney.length; i++) {
-			System.out.print("" + i + "of\t");
-		}
-		System.out.println();
-		for (int j = 0; j < baseSymbolMoney[0].length; j++) {
-			System.out.print("SYM" + j + "\t");
-			for (int i = 0; i < baseSymbolMoney.length; i++) {
-				System.out.print((double) baseSymbolMoney[i][j] / (double) lostMoney + "\t");
-			}
-			System.out.println();
-		}
-		System.out.println();
-		System.out.println("Base Game Symbols Hit Frequency:");
-		System.out.print("\t");
-		for (int i = 0; i < baseGameSymbolsHitRate.length; i++) {
-			System.out.print("" + i + "of\t");
-		}
-		System.out.println();
-		for (int j = 0; j < baseGameSymbolsHitRate[0].length; j++) {
-			System.out.print("SYM" + j + "\t");
-			for (int i = 0; i < baseGameSymbolsHitRate.length; i++) {
-				System.out.print((double) baseGameSymbolsHitRate[i][j] / (double) totalNumberOfGames + "\t");
-			}
-			System.out.println();
-		}
-		/**/
-
-		/**/
-		System.out.println();
-		System.out.println("Base Game Volatility:");
-		double sum = 0;
-		ArrayList<Integer> keys;
-		Collections.sort(keys = new ArrayList<Integer>(baseWinsHistogram.keySet()));
-		for (Integer key : keys) {
-			double reduced = (double) key / (double) totalBet;
-			double rtp = (double) wonMoney / (double) lostMoney;
-			double probability = (double) baseWinsHistogram.get(key) / (double) totalNumberOfGames;
-			double deviation = probability * (reduced - rtp) * (reduced - rtp);
-
-			sum += deviation;
-
-			System.out.print(key);
-			System.out.print("\t");
-			System.out.print(baseWinsHistogram.get(key));
-			System.out.println();
+	/**
+	 * Parse number with optional k (thousands), m (millions) or b (billions)
+	 * suffix.
+	 *
+	 * @param parameter Number as text.
+	 *
+	 * @return Parsed number.
+	 *
+	 * @throws NumberFormatException If the text is not valid number.
+	 * @throws ArithmeticException   If the number does not fit in 64 bits.
+	 */
+	private static long parseCount(String parameter) {
+		long multiplier = 1L;
+		if (parameter.endsWith("k") == true) {
+			multiplier = 1000L;
+		} else if (parameter.endsWith("m") == true) {
+			multiplier = 1000000L;
+		} else if (parameter.endsWith("b") == true) {
+			multiplier = 1000000000L;
 		}
-		System.out.println();
-		double volatility = Math.sqrt(sum);
-		System.out.println("Base Game Volatility:\t" + volatility);
-		/**/
-	}
 
-	/** Print screen view. */
-	private static void printView() {
-		int max = view[0].length;
-		for (int i = 0; i < view.length; i++) {
-			if (max < view[i].length) {
-				max = view[i].length;
-			}
+		if (multiplier > 1L) {
+			parameter = parameter.substring(0, parameter.length() - 1);
 		}
 
-		for (int j = 0; j < max; j++) {
-			for (int i = 0; i < view.length && j < view[i].length; i++) {
-				if (view[i][j] < 10 && view[i][j] >= 0) {
-					System.out.print(" ");
-				}
-				System.out.print(view[i][j] + " ");
-			}
-
-			System.out.println();
-		}
+		return Math.multiplyExact(Long.parseLong(parameter), multiplier);
 	}
 
 	/**
@@ -1195,53 +626,104 @@ class Main {
 	 * @param args Command line arguments list.
 	 */
 	public static void main(String[] args) {
-		printExecuteCommand(args);
-		System.out.println();
-
-		long numberOfSimulations = 10000000L;
 		long progressPrintOnIteration = 10000000L;
+		List<String> mergeFiles = new ArrayList<String>();
+		int serverPort = 0;
+		String serverHost = null;
+		String clientAddress = null;
 
 		/* Parse command line arguments. */
 		for (int a = 0; a < args.length; a++) {
 			if (args.length > 0 && args[a].contains("-g")) {
-				String parameter = args[a].substring(2);
+				try {
+					numberOfSimulations = parseCount(args[a].substring(2));
+				} catch (Exception exception) {
+					if (args[a].startsWith("-g") == true) {
+						System.out.println("Invalid number of games: " + args[a]);
+						System.exit(1);
+					}
+				}
+			}
 
-				if (parameter.contains("k")) {
-					parameter = parameter.substring(0, parameter.length() - 1);
-					parameter += "000";
+			if (args.length > 0 && args[a].contains("-p")) {
+				try {
+					progressPrintOnIteration = parseCount(args[a].substring(2));
+					verboseOutput = true;
+				} catch (Exception exception) {
+					if (args[a].startsWith("-p") == true) {
+						System.out.println("Invalid progress iteration: " + args[a]);
+						System.exit(1);
+					}
 				}
+			}
 
-				if (parameter.contains("m")) {
-					parameter = parameter.substring(0, parameter.length() - 1);
-					parameter += "000000";
+			if (args.length > 0 && args[a].contains("-threads")) {
+				try {
+					numberOfThreads = Math.max(1, Integer.valueOf(args[a].substring(8)));
+				} catch (Exception exception) {
 				}
+			}
+
+			if (args.length > 0 && args[a].contains("-rng=")) {
+				generatorName = args[a].substring(5);
+			}
 
+			if (args.length > 0 && args[a].contains("-seed")) {
 				try {
-					numberOfSimulations = Integer.valueOf(parameter);
+					generatorSeed = Long.valueOf(args[a].substring(5));
 				} catch (Exception exception) {
 				}
 			}
 
-			if (args.length > 0 && args[a].contains("-p")) {
-				String parameter = args[a].substring(2);
+			if (args.length > 0 && args[a].contains("-out=")) {
+				outputFormat = args[a].substring(5);
+			}
 
-				if (parameter.contains("k")) {
-					parameter = parameter.substring(0, parameter.length() - 1);
-					parameter += "000";
+			if (args.length > 0 && args[a].contains("-checkpoint=")) {
+				Checkpoint.fileName = args[a].substring(12);
+			}
+
+			if (args.length > 0 && args[a].contains("-interval")) {
+				try {
+					Checkpoint.period = 1000L * Math.max(1, Integer.valueOf(args[a].substring(9)));
+				} catch (Exception exception) {
 				}
+			}
 
-				if (parameter.contains("m")) {
-					parameter = parameter.substring(0, parameter.length() - 1);
-					parameter += "000000";
+			if (args.length > 0 && args[a].contains("-save=")) {
+				saveFile = args[a].substring(6);
+			}
+
+			/* All following arguments are names of partial results files. */
+			if (args.length > 0 && args[a].contains("-merge")) {
+				while (a + 1 < args.length && args[a + 1].startsWith("-") == false) {
+					mergeFiles.add(args[++a]);
 				}
+			}
 
+			if (args.length > 0 && args[a].contains("-server=")) {
 				try {
-					progressPrintOnIteration = Integer.valueOf(parameter);
-					verboseOutput = true;
+					String address = args[a].substring(8);
+					int colon = address.lastIndexOf(':');
+					if (colon >= 0) {
+						serverHost = address.substring(0, colon);
+						address = address.substring(colon + 1);
+					}
+					serverPort = Integer.valueOf(address);
 				} catch (Exception exception) {
+					System.out.println("Invalid server port: " + args[a]);
+					System.exit(1);
 				}
 			}
 
+			if (args.length > 0 && args[a].contains("-client=")) {
+				clientAddress = args[a].substring(8);
+			}
+
+			if (args.length > 0 && args[a].contains("-resume=")) {
+				resumeFile = args[a].substring(8);
+			}
+
 			if (args.length > 0 && args[a].contains("-freeoff")) {
 				freeOff = true;
 			}
@@ -1255,8 +737,106 @@ class Main {
 			}
 
 			if (args.length > 0 && args[a].contains("-verify")) {
-				printDataStructures();
-				System.exit(0);
+				verifyMode = true;
+			}
+
+			if (args.length > 0 && args[a].contains("-model=")) {
+				modelFile = args[a].substring(args[a].indexOf("=") + 1);
+			}
+
+			if (args.length > 0 && args[a].contains("-compile=")) {
+				compileFile = args[a].substring(args[a].indexOf("=") + 1);
+			}
+
+			if (args.length > 0 && args[a].contains("-export=")) {
+				exportFile = args[a].substring(args[a].indexOf("=") + 1);
+			}
+
+			if (args.length > 0 && args[a].contains("-linetable")) {
+				lineWinsTableMode = true;
+			}
+
+			if (args.length > 0 && args[a].contains("-exact")) {
+				exactMode = true;
+			}
+
+			if (args.length > 0 && args[a].contains("-trace=")) {
+				traceFile = args[a].substring(args[a].indexOf("=") + 1);
+			}
+
+			if (args.length > 0 && args[a].contains("-replay=")) {
+				replayFile = args[a].substring(args[a].indexOf("=") + 1);
+			}
+
+			if (args.length > 0 && args[a].contains("-index=")) {
+				try {
+					replayIndex = Long.parseLong(args[a].substring(args[a].indexOf("=") + 1));
+				} catch (NumberFormatException exception) {
+					System.out.println("Invalid game index: " + args[a]);
+					System.exit(1);
+				}
+			}
+
+			if (args.length > 0 && args[a].contains("-wins=")) {
+				String[] range = args[a].substring(args[a].indexOf("=") + 1).split(":", -1);
+				try {
+					replayWins = new double[] { range[0].isEmpty() ? 0D : Double.parseDouble(range[0]),
+							range.length < 2 || range[1].isEmpty() ? Double.POSITIVE_INFINITY
+									: Double.parseDouble(range[1]) };
+				} catch (NumberFormatException exception) {
+					System.out.println("Invalid wins range: " + args[a]);
+					System.exit(1);
+				}
+			}
+
+			if (args.length > 0 && args[a].contains("-metrics=")) {
+				try {
+					metricsPort = Integer.valueOf(args[a].substring(args[a].indexOf("=") + 1));
+				} catch (NumberFormatException exception) {
+					System.out.println("Invalid metrics port: " + args[a]);
+					System.exit(1);
+				}
+			}
+
+			if (args.length > 0 && args[a].contains("-featuretable")) {
+				FeatureTable.size = FeatureTable.DEFAULT_SIZE;
+				try {
+					FeatureTable.size = (int) Math.max(1L, Math.min(parseCount(args[a].substring(13)), 1L << 24));
+				} catch (Exception exception) {
+				}
+			}
+
+			if (args.length > 0 && args[a].contains("-expandref")) {
+				expandReference = true;
+			}
+
+			if (args.length > 0 && args[a].contains("-expandcheck")) {
+				expandCheck = true;
+			}
+
+			if (args.length > 0 && args[a].contains("-target-ci=")) {
+				try {
+					targetHalfWidth = Double.parseDouble(args[a].substring(args[a].indexOf("=") + 1));
+				} catch (NumberFormatException exception) {
+					System.out.println("Invalid confidence interval width: " + args[a]);
+					System.exit(1);
+				}
+			}
+
+			if (args.length > 0 && args[a].contains("-reduce=")) {
+				reductionModes = args[a].substring(args[a].indexOf("=") + 1);
+			}
+
+			if (args.length > 0 && args[a].contains("-sweep=")) {
+				sweepFile = args[a].substring(args[a].indexOf("=") + 1);
+			}
+
+			if (args.length > 0 && args[a].contains("-vector")) {
+				vectorMode = true;
+			}
+
+			if (args.length > 0 && args[a].contains("-benchmark")) {
+				benchmarkMode = true;
 			}
 
 			if (args.length > 0 && args[a].contains("-lcg")) {
@@ -1276,36 +856,224 @@ class Main {
 			}
 		}
 
-		/* Simulation main loop. */
-		for (long g = 0L; g < numberOfSimulations; g++) {
-			if (verboseOutput == true && g == 0) {
-				System.out.println("Games\tRTP\tRTP(Base)\tRTP(Free)");
+		if (Arrays.asList("text", "json", "csv").contains(outputFormat) == false) {
+			System.out.println("Unknown output format: " + outputFormat);
+			System.exit(1);
+		}
+
+		/* Structured output is not mixed with the execute command. */
+		if (outputFormat.equals("text") == true) {
+			printExecuteCommand(args);
+			System.out.println();
+		}
+
+		if (mergeFiles.size() > 0) {
+			Checkpoint.printMergedStatistics(mergeFiles);
+			System.exit(0);
+		}
+
+		/* Load generator needs only the address of the server. */
+		if (clientAddress != null) {
+			int colon = clientAddress.lastIndexOf(':');
+			try {
+				GameClient.run(clientAddress.substring(0, colon), Integer.valueOf(clientAddress.substring(colon + 1)),
+						numberOfThreads, numberOfSimulations);
+			} catch (Exception exception) {
+				System.out.println("Invalid server address: " + clientAddress);
+				System.exit(1);
 			}
+			System.exit(0);
+		}
 
-			/* Print progress report. */
-			if (verboseOutput == true && g % progressPrintOnIteration == 0) {
-				try {
-					System.out.print(g);
-					System.out.print("\t");
-					System.out.print(String.format("  %6.2f", ((double) wonMoney / (double) lostMoney)));
-					System.out.print("\t");
-					System.out.print(String.format("  %6.2f", ((double) baseMoney / (double) lostMoney)));
-					System.out.print("\t");
-					System.out.print(String.format("  %6.2f", ((double) freeMoney / (double) lostMoney)));
-				} catch (Exception exception) {
+		/* LCG check is done with reseeded LCG generator. */
+		if (lcgCheck == true) {
+			generatorName = "lcg";
+		}
+
+		/* Seeds of all generators are derived from a single seed. */
+		/* Resumed simulation continues with the settings of its checkpoint. */
+		Simulation[] workers = null;
+		if (resumeFile != null) {
+			try {
+				workers = Checkpoint.readStates(resumeFile);
+			} catch (IOException exception) {
+				System.out.println("Checkpoint is not loaded: " + exception.getMessage());
+				System.exit(1);
+			}
+			if (Checkpoint.fileName == null) {
+				Checkpoint.fileName = resumeFile;
+			}
+		} else {
+			masterSeed = generatorSeed != null ? generatorSeed : new SecureRandom().nextLong();
+		}
+
+		SplittableRandom seeds = new SplittableRandom(masterSeed);
+		try {
+			createGenerator(masterSeed);
+		} catch (IllegalArgumentException exception) {
+			System.out.println("Unknown random number generator: " + generatorName);
+			System.exit(1);
+		}
+		/* Replayed games need the game rules and the generator of the trace. */
+		if (replayFile != null) {
+			TraceReplay.loadSettings(replayFile);
+		}
+		model = createModel();
+
+		if (replayFile != null) {
+			TraceReplay.replay(model, replayFile, replayIndex, replayWins);
+			System.exit(0);
+		}
+
+		if (verifyMode == true) {
+			printDataStructures();
+			System.exit(0);
+		}
+
+		/* Math model is converted once and used by later runs. */
+		if (compileFile != null || exportFile != null) {
+			try {
+				if (compileFile != null) {
+					model.writeBinary(compileFile);
 				}
-				System.out.println();
+				if (exportFile != null) {
+					model.writeText(exportFile);
+				}
+			} catch (IOException exception) {
+				System.out.println("Math model is not written: " + exception.getMessage());
+				System.exit(1);
+			}
+			System.exit(0);
+		}
+
+		if (exactMode == true) {
+			System.out.println("********************************************************************************");
+			new ExactRtp(model).print();
+			System.out.println("********************************************************************************");
+			System.exit(0);
+		}
+
+		if (lineWinsTableMode == true) {
+			buildLineWinsTable();
+		}
+
+		/* Table generators must not repeat the seeds of the simulation threads. */
+		if (FeatureTable.size > 0) {
+			model = FeatureTable.build(model, masterSeed ^ 0x5DEECE66DL);
+			if (targetHalfWidth > 0
+					&& Simulation.CONFIDENCE_Z * FeatureTable.error / model.totalBet >= targetHalfWidth) {
+				System.out.println(
+						"Feature table is too small for the target interval (-featuretable<n> with more payouts).");
+				System.exit(1);
 			}
+		}
 
-			totalNumberOfGames++;
+		if (vectorMode == true) {
+			checkLinesEvaluator(1000000L, masterSeed);
+		}
+
+		/* Metrics are created before the engines of the server and of the simulation threads. */
+		if (metricsPort >= 0) {
+			metrics = SimulationMetrics.start(metricsPort);
+		}
+
+		/* Live play server runs until the process is stopped. */
+		if (serverPort > 0) {
+			GameServer.start(serverHost, serverPort, () -> createEngine(createGenerator(seeds.nextLong())));
+		}
 
-			lostMoney += totalBet;
+		/* Every thread has its own simulation context. */
+		if (workers == null) {
+			workers = new Simulation[numberOfThreads];
+			for (int i = 0; i < workers.length; i++) {
+				workers[i] = new Simulation(createGenerator(seeds.nextLong()));
+				workers[i].index = i;
+			}
+		} else {
+			/* Generators continue with the seeds of the last checkpoint. */
+			for (int i = 0; i < workers.length; i++) {
+				workers[i].engine = createEngine(createGenerator(Checkpoint.epochSeed(Checkpoint.epoch, i)));
+			}
+		}
+
+		/* Every traced game takes its generator seed from the generator of its thread. */
+		if (traceFile != null) {
+			if (lcgCheck == true) {
+				System.out.println("Trace needs games without LCG check.");
+				System.exit(1);
+			}
+			if (generatorName.equals("secure") == true) {
+				System.out.println("Trace needs generator with seed (-rng=l64x128 for example).");
+				System.exit(1);
+			}
+			try {
+				trace = new GameTrace(traceFile, Checkpoint.flags(), model.totalBet, model.hash(), generatorName);
+			} catch (IOException exception) {
+				System.out.println("Trace is not created: " + exception.getMessage());
+				System.exit(1);
+			}
+			for (Simulation worker : workers) {
+				worker.trace(trace.writer());
+			}
+		}
 
-			singleBaseGame();
+		if (expandCheck == true) {
+			checkWildExpansion(numberOfSimulations, seeds.nextLong());
+			System.exit(0);
+		}
+
+		if (reductionModes != null) {
+			new VarianceReduction(model).print(reductionModes, numberOfSimulations, seeds.nextLong());
+			System.exit(0);
+		}
+
+		if (sweepFile != null) {
+			ParameterSweep.print(model, sweepFile, numberOfSimulations, numberOfThreads, seeds);
+			System.exit(0);
+		}
+
+		if (benchmarkMode == true) {
+			workers[0].benchmark(numberOfSimulations);
+			System.exit(0);
+		}
+
+		/* Structured output always reports the progress. */
+		if (outputFormat.equals("text") == false) {
+			verboseOutput = true;
+		}
+
+		/* Simulation main loop. */
+		if (targetHalfWidth > 0) {
+			Simulation.playToTarget(workers, numberOfSimulations, verboseOutput == true ? progressPrintOnIteration : 0,
+					targetHalfWidth);
+		} else {
+			Simulation.play(workers, numberOfSimulations, verboseOutput == true ? progressPrintOnIteration : 0);
+		}
+
+		if (trace != null) {
+			try {
+				trace.close();
+			} catch (IOException exception) {
+				System.out.println("Trace is not written: " + exception.getMessage());
+				System.exit(1);
+			}
+		}
+
+		/* Statistics of all threads are merged together. */
+		Simulation total = new Simulation();
+		for (Simulation worker : workers) {
+			total.merge(worker);
+		}
+
+		/* Partial result can be merged with the results of other simulations. */
+		if (saveFile != null) {
+			try {
+				Checkpoint.writeStates(saveFile, Checkpoint.epoch, new ByteBuffer[] { total.state() });
+			} catch (IOException exception) {
+				System.out.println("Partial result is not written: " + exception.getMessage());
+			}
 		}
 
-		System.out.println("********************************************************************************");
-		printStatistics();
-		System.out.println("********************************************************************************");
+		Simulation.printStatistics(total);
 	}
 }
@@ -0,0 +1,208 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Parameter sweep of the math model. Variants of the model are played on
+ * common random numbers, so small differences of their RTP are measured
+ * with much fewer games than by separate simulations.
+ */
+class ParameterSweep {
+	/**
+	 * Read math model variants of the parameter sweep. Every line has variant
+	 * name followed by table overrides as key=value,value,... and lines starting
+	 * with # are comments. The first variant is the baseline of the comparison.
+	 *
+	 * @param model Math model of the baseline.
+	 * @param file  Variants file name.
+	 * @param names Names of the variants to be filled.
+	 *
+	 * @return Math models of the variants.
+	 *
+	 * @throws IOException              If the file is not readable.
+	 * @throws IllegalArgumentException If some override is not valid.
+	 */
+	private static List<GameModel> readVariants(GameModel model, String file, List<String> names) throws IOException {
+		List<GameModel> variants = new ArrayList<GameModel>();
+
+		for (String line : Files.readAllLines(Paths.get(file), StandardCharsets.UTF_8)) {
+			line = line.trim();
+			if (line.isEmpty() == true || line.startsWith("#") == true) {
+				continue;
+			}
+
+			String[] tokens = line.split("\\s+");
+			GameModel variant = model;
+			for (int t = 1; t < tokens.length; t++) {
+				int equals = tokens[t].indexOf('=');
+				if (equals < 0) {
+					throw new IllegalArgumentException("Invalid override: " + tokens[t]);
+				}
+
+				String[] items = tokens[t].substring(equals + 1).split(",");
+				int[] values = new int[items.length];
+				try {
+					for (int i = 0; i < items.length; i++) {
+						values[i] = Integer.parseInt(items[i].trim());
+					}
+				} catch (NumberFormatException exception) {
+					throw new IllegalArgumentException("Invalid override: " + tokens[t]);
+				}
+
+				variant = variant.withOverride(tokens[t].substring(0, equals), values);
+			}
+
+			names.add(tokens[0]);
+			variants.add(variant);
+		}
+
+		if (variants.isEmpty() == true) {
+			throw new IllegalArgumentException("No variants in " + file);
+		}
+
+		return variants;
+	}
+
+	/**
+	 * Play all math model variants on common random numbers and print their
+	 * statistics side by side. Reels strips are common for all variants, so
+	 * every base game is spun once and finished by the engine of each variant.
+	 * Engines of the variants in a thread have the same seed, so the free spins
+	 * of the variants start from the same random numbers too. The paired
+	 * differences against the first variant have much smaller variance than
+	 * independent simulations.
+	 *
+	 * @param model         Math model of the baseline.
+	 * @param file          Variants file name.
+	 * @param numberOfGames Number of base games to play for each variant.
+	 * @param threads       Number of parallel threads.
+	 * @param seeds         Generator of the threads seeds.
+	 */
+	static void print(GameModel model, String file, long numberOfGames, int threads, SplittableRandom seeds) {
+		List<String> names = new ArrayList<String>();
+		List<GameModel> variants = null;
+		try {
+			variants = readVariants(model, file, names);
+		} catch (IOException | IllegalArgumentException exception) {
+			System.out.println("Variants are not loaded: " + exception.getMessage());
+			System.exit(1);
+		}
+		GameModel[] models = variants.toArray(new GameModel[variants.size()]);
+
+		/* Statistics and paired differences by thread and variant. */
+		Simulation[][] contexts = new Simulation[threads][models.length];
+		double[][][] differences = new double[threads][models.length][2];
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<?>> futures = new ArrayList<Future<?>>();
+		for (int t = 0; t < threads; t++) {
+			long count = numberOfGames / threads + (t < numberOfGames % threads ? 1 : 0);
+			long seed = seeds.nextLong();
+			Simulation[] context = contexts[t];
+			double[][] difference = differences[t];
+
+			GameEngine spinner = new GameEngine(models[0], Main.createGenerator(seeds.nextLong()));
+			GameEngine[] engines = new GameEngine[models.length];
+			for (int v = 0; v < models.length; v++) {
+				context[v] = new Simulation();
+				engines[v] = new GameEngine(models[v], Main.createGenerator(seed));
+				engines[v].expandReference = Main.expandReference;
+			}
+
+			futures.add(executor.submit(() -> {
+				int[][] view = spinner.state.view;
+				long[] wins = new long[models.length];
+				for (long g = 0; g < count; g++) {
+					int r = models[0].baseStrips.sample(spinner.state.prng) - 1;
+					spinner.spin(models[0].windowsSets[r][0]);
+
+					for (int v = 0; v < models.length; v++) {
+						GameEngine engine = engines[v];
+						for (int i = 0; i < view.length; i++) {
+							System.arraycopy(view[i], 0, engine.state.view[i], 0, view[i].length);
+						}
+						engine.state.windows = models[v].windowsSets[r];
+						engine.state.wilds = models[v].wildsSets[r];
+						engine.result().clear();
+
+						long won = context[v].wonMoney;
+						context[v].totalNumberOfGames++;
+						context[v].lostMoney += models[v].totalBet;
+						context[v].collectStatistics(engine.finishBaseGame());
+						wins[v] = context[v].wonMoney - won;
+					}
+
+					/* Paired differences against the baseline variant. */
+					for (int v = 0; v < models.length; v++) {
+						double delta = (double) (wins[v] - wins[0]) / (double) models[v].totalBet;
+						difference[v][0] += delta;
+						difference[v][1] += delta * delta;
+					}
+				}
+			}));
+		}
+		executor.shutdown();
+
+		try {
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException | ExecutionException exception) {
+			throw new RuntimeException(exception);
+		}
+
+		System.out.println("Variant\tRTP\tBase RTP\tFree RTP\tHit rate\tFree hit rate\tVolatility\t"
+				+ "RTP difference\tStandard error");
+		for (int v = 0; v < models.length; v++) {
+			Simulation total = new Simulation();
+			double sum = 0;
+			double squares = 0;
+			for (int t = 0; t < threads; t++) {
+				total.merge(contexts[t][v]);
+				sum += differences[t][v][0];
+				squares += differences[t][v][1];
+			}
+
+			double games = total.totalNumberOfGames;
+			double mean = sum / games;
+			double error = Math.sqrt(Math.max(0D, squares / games - mean * mean) / games);
+
+			System.out.println(names.get(v) + "\t" + ((double) total.wonMoney / (double) total.lostMoney) + "\t"
+					+ ((double) total.baseMoney / (double) total.lostMoney) + "\t"
+					+ ((double) total.freeMoney / (double) total.lostMoney) + "\t"
+					+ ((double) total.baseGameHitRate / games) + "\t"
+					+ ((double) total.totalNumberOfFreeGameStarts / games) + "\t" + total.volatility() + "\t" + mean
+					+ "\t" + error);
+		}
+	}
+}
@@ -0,0 +1,199 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Pseudo-random number generator, which can be reset to new seed without new
+ * instance. The algorithms and their seeding repeat the generators of the JDK,
+ * so the reseeded generator gives the same numbers as the generator created
+ * from the same seed. Bounded values come from the default methods of the
+ * interface, as they do for the JDK generators.
+ */
+abstract class ReseedableRandom implements RandomGenerator {
+	/** Golden ratio increment of the SplitMix seeding. */
+	private static final long GOLDEN_RATIO_64 = 0x9e3779b97f4a7c15L;
+
+	/** Silver ratio, which is mixed with the seeds of the LXM and xoshiro generators. */
+	private static final long SILVER_RATIO_64 = 0x6A09E667F3BCC909L;
+
+	/**
+	 * Reseedable generator of the algorithm.
+	 *
+	 * @param name Name of the generator as it is given on the command line.
+	 *
+	 * @return Generator or null if the algorithm is not reseedable.
+	 */
+	static ReseedableRandom of(String name) {
+		switch (name) {
+		case "splittable":
+			return new Splittable();
+		case "l64x128":
+			return new L64X128Mix();
+		case "xoshiro256":
+			return new Xoshiro256PlusPlus();
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Reset the state of the generator.
+	 *
+	 * @param seed New seed.
+	 */
+	abstract void seed(long seed);
+
+	/**
+	 * Stafford variant 13 of the 64 bits mixing function of MurmurHash3.
+	 *
+	 * @param z Value to mix.
+	 *
+	 * @return Mixed value.
+	 */
+	private static long mixStafford13(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/** SplitMix generator as java.util.SplittableRandom with the default gamma. */
+	private static class Splittable extends ReseedableRandom {
+		/** Weyl sequence state. */
+		private long seed;
+
+		/** {@inheritDoc} */
+		@Override
+		void seed(long seed) {
+			this.seed = seed;
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public long nextLong() {
+			return mixStafford13(seed += GOLDEN_RATIO_64);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public int nextInt() {
+			long z = seed += GOLDEN_RATIO_64;
+			z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+			return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+		}
+	}
+
+	/** L64X128MixRandom generator of the LXM family. */
+	private static class L64X128Mix extends ReseedableRandom {
+		/** Multiplier of the LCG part. */
+		private static final long M = 0xd1342543de82ef95L;
+
+		/** Additive parameter of the LCG part. */
+		private long a;
+
+		/** State of the LCG part. */
+		private long s;
+
+		/** First word of the xoroshiro128 part. */
+		private long x0;
+
+		/** Second word of the xoroshiro128 part. */
+		private long x1;
+
+		/**
+		 * {@inheritDoc} The two xoroshiro words are mixed from different values, so
+		 * they are never both zero.
+		 */
+		@Override
+		void seed(long seed) {
+			seed ^= SILVER_RATIO_64;
+			long z = (seed ^ (seed >>> 33)) * 0xff51afd7ed558ccdL;
+			z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+			a = (z ^ (z >>> 33)) | 1L;
+			s = 1L;
+			x0 = mixStafford13(seed);
+			x1 = mixStafford13(seed + GOLDEN_RATIO_64);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public long nextLong() {
+			long z = s + x0;
+			z = (z ^ (z >>> 32)) * 0xdaba0b6eb09322e3L;
+			z = (z ^ (z >>> 32)) * 0xdaba0b6eb09322e3L;
+			long result = z ^ (z >>> 32);
+
+			s = M * s + a;
+
+			long q0 = x0;
+			long q1 = x1 ^ q0;
+			x0 = Long.rotateLeft(q0, 24) ^ q1 ^ (q1 << 16);
+			x1 = Long.rotateLeft(q1, 37);
+
+			return result;
+		}
+	}
+
+	/** Xoshiro256PlusPlus generator. */
+	private static class Xoshiro256PlusPlus extends ReseedableRandom {
+		/** First word of the state. */
+		private long x0;
+
+		/** Second word of the state. */
+		private long x1;
+
+		/** Third word of the state. */
+		private long x2;
+
+		/** Fourth word of the state. */
+		private long x3;
+
+		/**
+		 * {@inheritDoc} The four words are mixed from different values, so they are
+		 * never all zero.
+		 */
+		@Override
+		void seed(long seed) {
+			seed ^= SILVER_RATIO_64;
+			x0 = mixStafford13(seed);
+			x1 = mixStafford13(seed += GOLDEN_RATIO_64);
+			x2 = mixStafford13(seed += GOLDEN_RATIO_64);
+			x3 = mixStafford13(seed + GOLDEN_RATIO_64);
+		}
+
+		/** {@inheritDoc} */
+		@Override
+		public long nextLong() {
+			long result = Long.rotateLeft(x0 + x3, 23) + x0;
+
+			long t = x1 << 17;
+			x2 ^= x0;
+			x3 ^= x1;
+			x1 ^= x2;
+			x0 ^= x3;
+			x2 ^= t;
+			x3 = Long.rotateLeft(x3, 45);
+
+			return result;
+		}
+	}
+}
@@ -0,0 +1,121 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.nio.ByteBuffer;
+
+/**
+ * Running mean and variance of the game wins by Welford's algorithm, so the
+ * variance is known at any time without keeping the wins.
+ */
+class RunningStatistics {
+	/** Size of the binary form. */
+	static final int BYTES = 8 * 3;
+
+	/** Number of values. */
+	long count = 0L;
+
+	/** Mean of the values. */
+	double mean = 0D;
+
+	/** Sum of the squared deviations from the mean. */
+	double m2 = 0D;
+
+	/**
+	 * Add single value.
+	 *
+	 * @param value Value.
+	 */
+	void add(double value) {
+		count++;
+		double delta = value - mean;
+		mean += delta / count;
+		m2 += delta * (value - mean);
+	}
+
+	/**
+	 * Add values of other statistics to this one (Chan's parallel formula).
+	 *
+	 * @param other Statistics to be merged.
+	 */
+	void merge(RunningStatistics other) {
+		merge(other.count, other.mean, other.m2);
+	}
+
+	/**
+	 * Add values given by their number, mean and squared deviations.
+	 *
+	 * @param count Number of values.
+	 * @param mean  Mean of the values.
+	 * @param m2    Sum of the squared deviations from the mean.
+	 */
+	private void merge(long count, double mean, double m2) {
+		if (count == 0) {
+			return;
+		}
+
+		long total = this.count + count;
+		double delta = mean - this.mean;
+		this.mean += delta * count / total;
+		this.m2 += m2 + delta * delta * ((double) this.count * count / total);
+		this.count = total;
+	}
+
+	/**
+	 * Sample variance of the values.
+	 *
+	 * @return Variance.
+	 */
+	double variance() {
+		return count > 1 ? m2 / (count - 1) : 0D;
+	}
+
+	/**
+	 * Half-width of the normal confidence interval of the mean.
+	 *
+	 * @param z Quantile of the standard normal distribution.
+	 *
+	 * @return Half-width.
+	 */
+	double halfWidth(double z) {
+		return count > 0 ? z * Math.sqrt(variance() / count) : Double.POSITIVE_INFINITY;
+	}
+
+	/**
+	 * Write the statistics in binary form.
+	 *
+	 * @param buffer Output buffer.
+	 */
+	void write(ByteBuffer buffer) {
+		buffer.putLong(count);
+		buffer.putDouble(mean);
+		buffer.putDouble(m2);
+	}
+
+	/**
+	 * Add statistics read in binary form to this one.
+	 *
+	 * @param buffer Input buffer.
+	 */
+	void read(ByteBuffer buffer) {
+		merge(buffer.getLong(), buffer.getDouble(), buffer.getDouble());
+	}
+}
@@ -0,0 +1,1040 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.locks.LockSupport;
+import java.util.random.RandomGenerator;
+
+/**
+ * Simulation context (game engine and statistics). Different contexts can be
+ * played in parallel threads and their statistics are merged at the end.
+ */
+class Simulation {
+	/** Standard normal quantile of the 95% confidence intervals. */
+	static final double CONFIDENCE_Z = 1.959963984540054D;
+
+	/** Number of games in the last printed progress report (negative before the first report). */
+	private static long progressGames = -1L;
+
+	/** The header of the CSV output is printed. */
+	private static boolean csvHeader = false;
+
+	/** Number of games of the first round in the convergence mode. */
+	private static final long PILOT_GAMES = 1000000L;
+
+	/** Buffered writer of the progress and statistics output. */
+	private static PrintWriter output = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16));
+
+	/** Game engine of the simulation context (null for statistics only). */
+	GameEngine engine = null;
+
+	/** Trace writer of the simulation context (null for no trace). */
+	private GameTrace.Writer traceWriter = null;
+
+	/** Generator of the seeds of the traced games. */
+	private RandomGenerator gameSeeds = null;
+
+	/** Total amount of won money. */
+	long wonMoney = 0L;
+
+	/** Total amount of lost money. */
+	long lostMoney = 0L;
+
+	/** Total amount of won money in base game. */
+	long baseMoney = 0L;
+
+	/** Total amount of won money in free spins. */
+	long freeMoney = 0L;
+
+	/** Max amount of won money in base game. */
+	private long baseMaxWin = 0L;
+
+	/** Max amount of won money in free spins. */
+	private long freeMaxWin = 0L;
+
+	/** Histogram of the wins in the base game. */
+	private WinsHistogram baseWinsHistogram = new WinsHistogram();
+
+	/** Histogram of the wins in the free spins. */
+	private WinsHistogram freeWinsHistogram = new WinsHistogram();
+
+	/** Running statistics of the total wins of the games (base game with its free spins). */
+	private RunningStatistics gameWinsStatistics = new RunningStatistics();
+
+	/** Running statistics of the base game wins. */
+	private RunningStatistics baseWinsStatistics = new RunningStatistics();
+
+	/** Running statistics of the free spins wins of the games. */
+	private RunningStatistics freeWinsStatistics = new RunningStatistics();
+
+	/** Total number of base games played. */
+	long totalNumberOfGames = 0L;
+
+	/** Total number of free spins played. */
+	private long totalNumberOfFreeGames = 0L;
+
+	/** Total number of free spins started. */
+	long totalNumberOfFreeGameStarts = 0L;
+
+	/** Hit rate of wins in base game. */
+	long baseGameHitRate = 0L;
+
+	/** Hit rate of wins in free spins. */
+	private long freeGamesHitRate = 0L;
+
+	/**
+	 * Progress snapshots published by the simulation thread of this context
+	 * (games, lost, won, base, free, base hits, free starts, base max win, free
+	 * max win, nanoseconds time).
+	 */
+	private Queue<long[]> snapshots = new ConcurrentLinkedQueue<long[]>();
+
+	/** Index of this simulation context. */
+	int index = 0;
+
+	/** Number of the last checkpoint of this simulation context. */
+	int epoch = 0;
+
+	/** Binary state of this simulation context saved on its last checkpoint. */
+	ByteBuffer state = null;
+
+	/** Number of the last checkpoint with saved state. */
+	volatile int savedEpoch = 0;
+
+	/** Symbols win hit rate in base game. */
+	private long[][] baseSymbolMoney = { new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
+			new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
+			new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
+			new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 } };
+
+	/** Symbols hit rate in base game. */
+	private long[][] baseGameSymbolsHitRate = { new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
+			new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
+			new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 }, new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 },
+			new long[] { 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0 } };
+
+	/**
+	 * Simulation context constructor.
+	 *
+	 * @param prng Pseudo-random number generator of the context.
+	 */
+	Simulation(RandomGenerator prng) {
+		engine = Main.createEngine(prng);
+	}
+
+	/** Simulation context constructor without game engine (statistics only). */
+	Simulation() {
+	}
+
+	/**
+	 * Record the games of this simulation context in the trace. Every traced
+	 * game takes its seed from the generator of the context and the engine is
+	 * reseeded with it, so the game can be played again from the seed.
+	 *
+	 * @param writer Trace writer of the context.
+	 */
+	void trace(GameTrace.Writer writer) {
+		gameSeeds = engine.state.prng;
+		engine.state.prng = ReseedableRandom.of(Main.generatorName);
+		if (engine.state.prng == null) {
+			engine.state.prng = Main.createGenerator(0L);
+		}
+		traceWriter = writer;
+	}
+
+	/**
+	 * Reset the generator of the engine to the seed of the traced game. The
+	 * same generator is reused when it can be reseeded, so the game costs no new
+	 * instance. The numbers are the same as from generator created from the seed.
+	 *
+	 * @param seed Seed of the game.
+	 */
+	private void reseed(long seed) {
+		RandomGenerator prng = engine.state.prng;
+		if (prng instanceof ReseedableRandom) {
+			((ReseedableRandom) prng).seed(seed);
+		} else if (prng instanceof LCGRandom) {
+			((LCGRandom) prng).seed(seed);
+		} else {
+			engine.state.prng = Main.createGenerator(seed);
+		}
+	}
+
+	/** Play single base game and collect its statistics. */
+	private void singleBaseGame() {
+		/* Traced game has its own seed, so it can be played again from it. */
+		long seed = 0L;
+		if (traceWriter != null) {
+			seed = gameSeeds.nextLong();
+			reseed(seed);
+		}
+
+		GameResult result = engine.playBaseGame();
+		collectStatistics(result);
+
+		if (traceWriter != null) {
+			try {
+				traceWriter.append(seed, result, Main.model.featureWins != null);
+			} catch (IOException exception) {
+				throw new UncheckedIOException(exception);
+			}
+		}
+
+		if (Main.metrics != null) {
+			Main.metrics.game(result, Main.model.totalBet);
+			if (engine.timing == true) {
+				engine.stage(SimulationMetrics.HISTOGRAMS);
+				Main.metrics.latency(engine.stageTime - engine.gameTime);
+			}
+		}
+	}
+
+	/**
+	 * Collect statistics of single base game with its free spins.
+	 *
+	 * @param result Result of the game.
+	 */
+	void collectStatistics(GameResult result) {
+		/* Fill base game wins histogram. */
+		int win = result.baseWin;
+		baseWinsHistogram.add(win);
+
+		/* Add win to the statistics. */
+		baseMoney += win;
+		wonMoney += win;
+		if (baseMaxWin < win) {
+			baseMaxWin = win;
+		}
+
+		/* Count base game hit rate. */
+		if (win > 0) {
+			baseGameHitRate++;
+		}
+
+		for (int l = 0; l < result.winningLines; l++) {
+			baseSymbolMoney[result.lineNumbers[l]][result.lineSymbols[l]] += result.lineWins[l];
+			baseGameSymbolsHitRate[result.lineNumbers[l]][result.lineSymbols[l]]++;
+		}
+
+		/* Count into free spins hit rate. */
+		if (result.freeGames > 0) {
+			totalNumberOfFreeGameStarts++;
+		}
+		totalNumberOfFreeGames += result.freeGames;
+
+		int free = 0;
+		for (int f = 0; f < result.freeSpins; f++) {
+			win = result.freeWins[f];
+			free += win;
+
+			/* Fill free spins wins histogram. */
+			freeWinsHistogram.add(win);
+
+			/* Add win to the statistics. */
+			freeMoney += win;
+			wonMoney += win;
+			if (freeMaxWin < win) {
+				freeMaxWin = win;
+			}
+
+			/* Count free spins hit rate. */
+			if (win > 0) {
+				freeGamesHitRate++;
+			}
+		}
+
+		/* Variance of the game wins gives the confidence intervals. */
+		gameWinsStatistics.add(result.baseWin + free);
+		baseWinsStatistics.add(result.baseWin);
+		freeWinsStatistics.add(free);
+	}
+
+	/**
+	 * Total number of garbage collections done by the virtual machine.
+	 *
+	 * @return Number of collections.
+	 */
+	private static long garbageCollections() {
+		long count = 0L;
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0L, bean.getCollectionCount());
+		}
+		return count;
+	}
+
+	/**
+	 * Measure time and memory allocation of the spin, of the lines evaluation
+	 * (scalar and vector) and of the complete base game in this simulation
+	 * context.
+	 *
+	 * @param numberOfGames Number of measured operations in each stage.
+	 */
+	void benchmark(long numberOfGames) {
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+
+		System.out.println("Stage\tOperations\tTime per operation (ns)\tAllocated bytes per operation\tGC count");
+		LinesEvaluator evaluator = engine.evaluator;
+		LinesEvaluator vector = Main.createLinesEvaluator();
+		for (int stage = 0; stage < 4; stage++) {
+			/* Lines stages compare the scalar and the vector evaluation. */
+			engine.evaluator = stage == 1 ? null : stage == 2 ? vector : evaluator;
+			if (stage == 2 && vector == null) {
+				continue;
+			}
+
+			/* The first pass is a warm-up of the virtual machine. */
+			for (int pass = 0; pass < 2; pass++) {
+				long operations = pass == 0 ? Math.max(1L, numberOfGames / 10L) : numberOfGames;
+				long collections = garbageCollections();
+				long bytes = bean.getCurrentThreadAllocatedBytes();
+				long time = System.nanoTime();
+
+				for (long g = 0L; g < operations; g++) {
+					if (stage == 0) {
+						engine.spin(Main.model.windowsSets[0][0]);
+					} else if (stage == 1 || stage == 2) {
+						engine.spin(Main.model.windowsSets[0][0]);
+						wonMoney += engine.linesWin(engine.state.view);
+					} else {
+						totalNumberOfGames++;
+						lostMoney += Main.model.totalBet;
+						singleBaseGame();
+					}
+				}
+
+				time = System.nanoTime() - time;
+				bytes = bean.getCurrentThreadAllocatedBytes() - bytes;
+				collections = garbageCollections() - collections;
+
+				if (pass == 0) {
+					continue;
+				}
+
+				String name = stage == 0 ? "Spin"
+						: stage == 1 ? "Spin and lines" : stage == 2 ? "Spin and vector lines" : "Base game";
+				System.out.println(name + "\t" + operations + "\t" + ((double) time / (double) operations) + "\t"
+						+ ((double) bytes / (double) operations) + "\t" + collections);
+			}
+		}
+	}
+
+	/**
+	 * Play base games in this simulation context until the total number of games
+	 * is reached.
+	 *
+	 * @param numberOfGames Total number of base games of this context.
+	 * @param interval      Number of games between the progress snapshots (zero
+	 *                      for no snapshots).
+	 */
+	private void play(long numberOfGames, long interval) {
+		if (interval > 0) {
+			snapshots.add(snapshot());
+		}
+
+		while (totalNumberOfGames < numberOfGames) {
+			/* Checkpoint is requested by the reporting thread. */
+			if (epoch != Checkpoint.epoch) {
+				save();
+			}
+
+			totalNumberOfGames++;
+
+			lostMoney += Main.model.totalBet;
+
+			singleBaseGame();
+
+			/* Snapshots are published without waiting for the reporting thread. */
+			if (interval > 0 && totalNumberOfGames % interval == 0 && totalNumberOfGames < numberOfGames) {
+				snapshots.add(snapshot());
+			}
+		}
+
+		if (interval > 0) {
+			snapshots.add(snapshot());
+		}
+	}
+
+	/**
+	 * Save binary state of this simulation context for the requested checkpoint
+	 * and continue with generator seeded for the checkpoint.
+	 */
+	private void save() {
+		int requested = Checkpoint.epoch;
+
+		state = state();
+
+		/* Traced games take their seeds from the reseeded generator. */
+		if (Main.lcgCheck == false && gameSeeds != null) {
+			gameSeeds = Main.createGenerator(Checkpoint.epochSeed(requested, index));
+		} else if (Main.lcgCheck == false) {
+			engine.state.prng = Main.createGenerator(Checkpoint.epochSeed(requested, index));
+		}
+
+		epoch = requested;
+		savedEpoch = requested;
+	}
+
+	/**
+	 * Size of the binary form of the statistics.
+	 *
+	 * @return Number of bytes.
+	 */
+	private int bytes() {
+		return 8 * 11 + 8 * 2 * baseSymbolMoney.length * baseSymbolMoney[0].length + baseWinsHistogram.bytes()
+				+ freeWinsHistogram.bytes() + 3 * RunningStatistics.BYTES;
+	}
+
+	/**
+	 * Write the statistics in binary form.
+	 *
+	 * @param buffer Output buffer.
+	 */
+	private void write(ByteBuffer buffer) {
+		buffer.putLong(totalNumberOfGames);
+		buffer.putLong(totalNumberOfFreeGames);
+		buffer.putLong(totalNumberOfFreeGameStarts);
+		buffer.putLong(wonMoney);
+		buffer.putLong(lostMoney);
+		buffer.putLong(baseMoney);
+		buffer.putLong(freeMoney);
+		buffer.putLong(baseMaxWin);
+		buffer.putLong(freeMaxWin);
+		buffer.putLong(baseGameHitRate);
+		buffer.putLong(freeGamesHitRate);
+
+		for (int i = 0; i < baseSymbolMoney.length; i++) {
+			for (int j = 0; j < baseSymbolMoney[i].length; j++) {
+				buffer.putLong(baseSymbolMoney[i][j]);
+				buffer.putLong(baseGameSymbolsHitRate[i][j]);
+			}
+		}
+
+		baseWinsHistogram.write(buffer);
+		freeWinsHistogram.write(buffer);
+
+		gameWinsStatistics.write(buffer);
+		baseWinsStatistics.write(buffer);
+		freeWinsStatistics.write(buffer);
+	}
+
+	/**
+	 * Add statistics read in binary form to the statistics of this context.
+	 *
+	 * @param buffer Input buffer.
+	 */
+	void read(ByteBuffer buffer) {
+		totalNumberOfGames += buffer.getLong();
+		totalNumberOfFreeGames += buffer.getLong();
+		totalNumberOfFreeGameStarts += buffer.getLong();
+		wonMoney += buffer.getLong();
+		lostMoney += buffer.getLong();
+		baseMoney += buffer.getLong();
+		freeMoney += buffer.getLong();
+		baseMaxWin = Math.max(baseMaxWin, buffer.getLong());
+		freeMaxWin = Math.max(freeMaxWin, buffer.getLong());
+		baseGameHitRate += buffer.getLong();
+		freeGamesHitRate += buffer.getLong();
+
+		for (int i = 0; i < baseSymbolMoney.length; i++) {
+			for (int j = 0; j < baseSymbolMoney[i].length; j++) {
+				baseSymbolMoney[i][j] += buffer.getLong();
+				baseGameSymbolsHitRate[i][j] += buffer.getLong();
+			}
+		}
+
+		baseWinsHistogram.read(buffer);
+		freeWinsHistogram.read(buffer);
+
+		gameWinsStatistics.read(buffer);
+		baseWinsStatistics.read(buffer);
+		freeWinsStatistics.read(buffer);
+	}
+
+	/**
+	 * Take progress snapshot of this simulation context.
+	 *
+	 * @return Progress snapshot.
+	 */
+	private long[] snapshot() {
+		return new long[] { totalNumberOfGames, lostMoney, wonMoney, baseMoney, freeMoney, baseGameHitRate,
+				totalNumberOfFreeGameStarts, baseMaxWin, freeMaxWin, System.nanoTime() };
+	}
+
+	/**
+	 * Add statistics of other simulation context to the statistics of this one.
+	 *
+	 * @param other Simulation context to be merged.
+	 */
+	void merge(Simulation other) {
+		wonMoney += other.wonMoney;
+		lostMoney += other.lostMoney;
+		baseMoney += other.baseMoney;
+		freeMoney += other.freeMoney;
+		baseMaxWin = Math.max(baseMaxWin, other.baseMaxWin);
+		freeMaxWin = Math.max(freeMaxWin, other.freeMaxWin);
+		totalNumberOfGames += other.totalNumberOfGames;
+		totalNumberOfFreeGames += other.totalNumberOfFreeGames;
+		totalNumberOfFreeGameStarts += other.totalNumberOfFreeGameStarts;
+		baseGameHitRate += other.baseGameHitRate;
+		freeGamesHitRate += other.freeGamesHitRate;
+
+		baseWinsHistogram.merge(other.baseWinsHistogram);
+		freeWinsHistogram.merge(other.freeWinsHistogram);
+
+		gameWinsStatistics.merge(other.gameWinsStatistics);
+		baseWinsStatistics.merge(other.baseWinsStatistics);
+		freeWinsStatistics.merge(other.freeWinsStatistics);
+
+		for (int i = 0; i < baseSymbolMoney.length; i++) {
+			for (int j = 0; j < baseSymbolMoney[i].length; j++) {
+				baseSymbolMoney[i][j] += other.baseSymbolMoney[i][j];
+				baseGameSymbolsHitRate[i][j] += other.baseGameSymbolsHitRate[i][j];
+			}
+		}
+	}
+
+	/**
+	 * Split number of games between the simulation contexts, play them in
+	 * parallel and report the progress from the calling thread.
+	 *
+	 * @param workers       Simulation contexts.
+	 * @param numberOfGames Number of base games to play in total.
+	 * @param interval      Number of games between the progress reports (zero
+	 *                      for no reports).
+	 */
+	static void play(Simulation[] workers, long numberOfGames, long interval) {
+		ExecutorService executor = Executors.newFixedThreadPool(workers.length);
+
+		/* Every context publishes its snapshots on its own part of the interval. */
+		long slice = (interval + workers.length - 1) / workers.length;
+
+		long[] games = new long[workers.length];
+		long first = Long.MAX_VALUE;
+		List<Future<?>> futures = new ArrayList<Future<?>>();
+		for (int i = 0; i < workers.length; i++) {
+			Simulation worker = workers[i];
+			games[i] = numberOfGames / workers.length + (i < numberOfGames % workers.length ? 1 : 0);
+			first = Math.min(first, worker.totalNumberOfGames);
+			long count = games[i];
+			futures.add(executor.submit(() -> worker.play(count, slice)));
+		}
+		executor.shutdown();
+
+		Checkpoint.time = System.currentTimeMillis() + Checkpoint.period;
+
+		try {
+			if (interval > 0) {
+				printProgress(workers, games, futures, slice, first / slice);
+			}
+
+			for (Future<?> future : futures) {
+				while (future.isDone() == false) {
+					Checkpoint.write(workers, futures, false);
+					LockSupport.parkNanos(1000000L);
+				}
+				future.get();
+			}
+
+			Checkpoint.write(workers, futures, true);
+		} catch (InterruptedException | ExecutionException exception) {
+			throw new RuntimeException(exception);
+		}
+	}
+
+	/**
+	 * Play rounds of games until the half-width of the total RTP confidence
+	 * interval is below the target or the maximum number of games is reached.
+	 * The statistics of all contexts are merged after every round and the size
+	 * of the next round is estimated from the variance of the game wins.
+	 *
+	 * @param workers       Simulation contexts.
+	 * @param numberOfGames Maximum number of base games to play in total.
+	 * @param interval      Number of games between the progress reports (zero
+	 *                      for no reports).
+	 * @param target        Target half-width of the total RTP confidence
+	 *                      interval.
+	 */
+	static void playToTarget(Simulation[] workers, long numberOfGames, long interval, double target) {
+		long games = 0L;
+		for (Simulation worker : workers) {
+			games += worker.totalNumberOfGames;
+		}
+		games = Math.min(numberOfGames, Math.max(games, PILOT_GAMES));
+
+		while (true) {
+			play(workers, games, interval);
+
+			RunningStatistics total = new RunningStatistics();
+			for (Simulation worker : workers) {
+				total.merge(worker.gameWinsStatistics);
+			}
+			if (halfWidth(total, true) / Main.model.totalBet <= target || games >= numberOfGames) {
+				break;
+			}
+
+			/* Number of games needed for the target by the variance known so far, the table error stays. */
+			double width = target * Main.model.totalBet / CONFIDENCE_Z;
+			double required = Math.ceil(total.variance() / (width * width - FeatureTable.error * FeatureTable.error));
+			games = Math.min(numberOfGames, Math.max(games + PILOT_GAMES, (long) Math.min(required, 1e18D)));
+		}
+	}
+
+	/**
+	 * Binary state of the simulation context statistics.
+	 *
+	 * @return Buffer ready for reading.
+	 */
+	ByteBuffer state() {
+		ByteBuffer buffer = ByteBuffer.allocate(bytes());
+		write(buffer);
+		buffer.flip();
+		return buffer;
+	}
+
+	/**
+	 * Print statistics with the frame of the text output.
+	 *
+	 * @param total Simulation context with all statistics.
+	 */
+	static void printStatistics(Simulation total) {
+		if (Main.outputFormat.equals("text") == true) {
+			output.println("********************************************************************************");
+			total.printStatistics();
+			output.println("********************************************************************************");
+			output.flush();
+		} else {
+			total.printStatistics();
+		}
+	}
+
+	/**
+	 * Print progress report lines as the simulation contexts publish their
+	 * snapshots. The k-th snapshots of all contexts are summed together and a
+	 * finished context takes part with its final snapshot.
+	 *
+	 * @param workers  Simulation contexts.
+	 * @param games    Number of games played by each context.
+	 * @param futures  Results of the simulation threads.
+	 * @param interval Number of games between the snapshots of single context.
+	 * @param first    Number of the first snapshot to report.
+	 *
+	 * @throws InterruptedException If the reporting thread is interrupted.
+	 * @throws ExecutionException   If some of the simulation threads fails.
+	 */
+	private static void printProgress(Simulation[] workers, long[] games, List<Future<?>> futures, long interval,
+			long first) throws InterruptedException, ExecutionException {
+		long[][] current = new long[workers.length][];
+		long previousGames = 0L;
+		long previousTime = 0L;
+
+		for (long k = first;; k++) {
+			boolean running = false;
+			for (int i = 0; i < workers.length; i++) {
+				long target = Math.min(k * interval, games[i]);
+				while (current[i] == null || current[i][0] < target) {
+					long[] next = workers[i].snapshots.poll();
+					if (next != null) {
+						current[i] = next;
+					} else if (futures.get(i).isDone() == true && workers[i].snapshots.isEmpty() == true) {
+						futures.get(i).get();
+						throw new ExecutionException(new IllegalStateException("Missing progress snapshot."));
+					} else {
+						Checkpoint.write(workers, futures, false);
+						LockSupport.parkNanos(1000000L);
+					}
+				}
+				if (k * interval < games[i]) {
+					running = true;
+				}
+			}
+
+			if (running == false) {
+				break;
+			}
+
+			long[] sum = new long[current[0].length];
+			for (long[] snapshot : current) {
+				for (int s = 0; s < 7; s++) {
+					sum[s] += snapshot[s];
+				}
+				sum[7] = Math.max(sum[7], snapshot[7]);
+				sum[8] = Math.max(sum[8], snapshot[8]);
+				sum[9] = Math.max(sum[9], snapshot[9]);
+			}
+
+			double speed = 0;
+			if (k > first && sum[9] > previousTime) {
+				speed = 1e9D * (sum[0] - previousGames) / (sum[9] - previousTime);
+			}
+			previousGames = sum[0];
+			previousTime = sum[9];
+
+			/* Rounds of the convergence mode start where the previous round ends. */
+			if (sum[0] > 0 && sum[0] > progressGames) {
+				printProgress(sum, speed, progressGames < 0);
+				progressGames = sum[0];
+			}
+		}
+	}
+
+	/**
+	 * Print progress report line.
+	 *
+	 * @param snapshot Progress snapshot of all simulation contexts.
+	 * @param speed    Number of games per second since the previous report.
+	 * @param header   Print header before the first report line.
+	 */
+	private static void printProgress(long[] snapshot, double speed, boolean header) {
+		double lost = snapshot[1];
+		double games = snapshot[0];
+
+		if (Main.outputFormat.equals("json") == true) {
+			output.println("{\"type\":\"progress\",\"games\":" + snapshot[0] + ",\"gamesPerSecond\":" + json(speed)
+					+ ",\"rtp\":" + json(snapshot[2] / lost) + ",\"baseRtp\":" + json(snapshot[3] / lost)
+					+ ",\"freeRtp\":" + json(snapshot[4] / lost) + ",\"baseHitFrequency\":"
+					+ json(snapshot[5] / games) + ",\"freeHitFrequency\":" + json(snapshot[6] / games)
+					+ ",\"baseMaxWin\":" + snapshot[7] + ",\"freeMaxWin\":" + snapshot[8] + "}");
+		} else if (Main.outputFormat.equals("csv") == true) {
+			printCsvHeader();
+			output.println("progress," + snapshot[0] + ",gamesPerSecond," + speed);
+			output.println("progress," + snapshot[0] + ",rtp," + (snapshot[2] / lost));
+			output.println("progress," + snapshot[0] + ",baseRtp," + (snapshot[3] / lost));
+			output.println("progress," + snapshot[0] + ",freeRtp," + (snapshot[4] / lost));
+			output.println("progress," + snapshot[0] + ",baseHitFrequency," + (snapshot[5] / games));
+			output.println("progress," + snapshot[0] + ",freeHitFrequency," + (snapshot[6] / games));
+			output.println("progress," + snapshot[0] + ",baseMaxWin," + snapshot[7]);
+			output.println("progress," + snapshot[0] + ",freeMaxWin," + snapshot[8]);
+		} else {
+			if (header == true) {
+				output.println("Games\tRTP\tRTP(Base)\tRTP(Free)");
+			}
+			output.print(snapshot[0]);
+			output.print("\t");
+			output.print(String.format("  %6.2f", snapshot[2] / lost));
+			output.print("\t");
+			output.print(String.format("  %6.2f", snapshot[3] / lost));
+			output.print("\t");
+			output.print(String.format("  %6.2f", snapshot[4] / lost));
+			output.println();
+		}
+
+		output.flush();
+	}
+
+	/**
+	 * Format floating point number as JSON value.
+	 *
+	 * @param value Floating point number.
+	 *
+	 * @return JSON number or null for the values without number representation.
+	 */
+	private static String json(double value) {
+		if (Double.isNaN(value) == true || Double.isInfinite(value) == true) {
+			return "null";
+		}
+
+		return Double.toString(value);
+	}
+
+	/**
+	 * Base game volatility as standard deviation of the reduced base game wins.
+	 *
+	 * @return Base game volatility.
+	 */
+	double volatility() {
+		double sum = 0;
+		for (int key : baseWinsHistogram.wins()) {
+			double reduced = (double) key / (double) Main.model.totalBet;
+			double rtp = (double) wonMoney / (double) lostMoney;
+			double probability = (double) baseWinsHistogram.get(key) / (double) totalNumberOfGames;
+			double deviation = probability * (reduced - rtp) * (reduced - rtp);
+
+			sum += deviation;
+		}
+
+		return Math.sqrt(sum);
+	}
+
+	/**
+	 * Half-width of the 95% confidence interval of the mean win. Wins with free
+	 * spins taken from the feature payouts table also carry the error of the
+	 * table, which does not shrink with the number of played games.
+	 *
+	 * @param statistics Running statistics of the wins.
+	 * @param feature    The wins include the free spins.
+	 *
+	 * @return Half-width in money.
+	 */
+	private static double halfWidth(RunningStatistics statistics, boolean feature) {
+		double played = statistics.halfWidth(CONFIDENCE_Z);
+		double table = feature == true ? CONFIDENCE_Z * FeatureTable.error : 0D;
+		return Math.sqrt(played * played + table * table);
+	}
+
+	/**
+	 * Confidence interval of the RTP as text.
+	 *
+	 * @param statistics Running statistics of the wins.
+	 * @param feature    The wins include the free spins.
+	 *
+	 * @return Lower and upper bound with the half-width of the interval.
+	 */
+	private static String interval(RunningStatistics statistics, boolean feature) {
+		double rtp = statistics.mean / Main.model.totalBet;
+		double half = halfWidth(statistics, feature) / Main.model.totalBet;
+		return (rtp - half) + "\t" + (rtp + half) + "\t\t+/-" + half;
+	}
+
+	/** Print simulation statistics in the selected output format. */
+	private void printStatistics() {
+		if (Main.outputFormat.equals("json") == true) {
+			printJsonStatistics();
+		} else if (Main.outputFormat.equals("csv") == true) {
+			printCsvStatistics();
+		} else {
+			printTextStatistics();
+		}
+
+		output.flush();
+	}
+
+	/**
+	 * Print the header of the CSV output once. Progress and statistics rows have
+	 * the same columns, so the output is single table.
+	 */
+	private static void printCsvHeader() {
+		if (csvHeader == false) {
+			output.println("section,row,column,value");
+			csvHeader = true;
+		}
+	}
+
+	/** Print simulation statistics as text report. */
+	private void printTextStatistics() {
+		output.println("Won money:\t" + wonMoney);
+		output.println("Lost money:\t" + lostMoney);
+		output.println("Total Number of Games:\t" + totalNumberOfGames);
+		output.println();
+		output.println("Total RTP:\t" + ((double) wonMoney / (double) lostMoney) + "\t\t"
+				+ (100.0D * (double) wonMoney / (double) lostMoney) + "%");
+		output.println("Base Game RTP:\t" + ((double) baseMoney / (double) lostMoney) + "\t\t"
+				+ (100.0D * (double) baseMoney / (double) lostMoney) + "%");
+		output.println("Free Game RTP:\t" + ((double) freeMoney / (double) lostMoney) + "\t\t"
+				+ (100.0D * (double) freeMoney / (double) lostMoney) + "%");
+		output.println();
+		output.println("Total RTP 95% Confidence Interval:\t" + interval(gameWinsStatistics, true));
+		output.println("Base Game RTP 95% Confidence Interval:\t" + interval(baseWinsStatistics, false));
+		output.println("Free Game RTP 95% Confidence Interval:\t" + interval(freeWinsStatistics, true));
+		output.println("Standard Deviation of the Game Win:\t"
+				+ (Math.sqrt(gameWinsStatistics.variance()) / Main.model.totalBet));
+		output.println();
+		output.println("Hit Frequency in Base Game:\t" + ((double) baseGameHitRate / (double) totalNumberOfGames)
+				+ "\t\t" + (100.0D * (double) baseGameHitRate / (double) totalNumberOfGames) + "%");
+		output.println(
+				"Hit Frequency into Free Game:\t" + ((double) totalNumberOfFreeGameStarts / (double) totalNumberOfGames)
+						+ "\t\t" + (100.0D * (double) totalNumberOfFreeGameStarts / (double) totalNumberOfGames) + "%");
+		output.println();
+		output.println("Max Win in Base Game:\t" + baseMaxWin);
+		output.println("Max Win in Free Game:\t" + freeMaxWin);
+		if (FeatureTable.size > 0) {
+			output.println("Free Game Max Win and wins histogram are limited to the " + FeatureTable.size
+					+ " payouts per key of the feature table.");
+		}
+
+		/**/
+		output.println();
+		output.println("Base Game Symbols RTP:");
+		output.print("\t");
+		for (int i = 0; i < baseSymbolMoney.length; i++) {
+			output.print("" + i + "of\t");
+		}
+		output.println();
+		for (int j = 0; j < baseSymbolMoney[0].length; j++) {
+			output.print("SYM" + j + "\t");
+			for (int i = 0; i < baseSymbolMoney.length; i++) {
+				output.print((double) baseSymbolMoney[i][j] / (double) lostMoney + "\t");
+			}
+			output.println();
+		}
+		output.println();
+		output.println("Base Game Symbols Hit Frequency:");
+		output.print("\t");
+		for (int i = 0; i < baseGameSymbolsHitRate.length; i++) {
+			output.print("" + i + "of\t");
+		}
+		output.println();
+		for (int j = 0; j < baseGameSymbolsHitRate[0].length; j++) {
+			output.print("SYM" + j + "\t");
+			for (int i = 0; i < baseGameSymbolsHitRate.length; i++) {
+				output.print((double) baseGameSymbolsHitRate[i][j] / (double) totalNumberOfGames + "\t");
+			}
+			output.println();
+		}
+		/**/
+
+		/**/
+		output.println();
+		output.println("Base Game Volatility:");
+		for (int key : baseWinsHistogram.wins()) {
+			output.print(key);
+			output.print("\t");
+			output.print(baseWinsHistogram.get(key));
+			output.println();
+		}
+		output.println();
+		output.println("Base Game Volatility:\t" + volatility());
+		/**/
+	}
+
+	/** Print simulation statistics as single JSON object line. */
+	private void printJsonStatistics() {
+		double lost = lostMoney;
+		double games = totalNumberOfGames;
+
+		output.print("{\"type\":\"statistics\",\"games\":" + totalNumberOfGames + ",\"wonMoney\":" + wonMoney
+				+ ",\"lostMoney\":" + lostMoney + ",\"rtp\":" + json(wonMoney / lost) + ",\"baseRtp\":"
+				+ json(baseMoney / lost) + ",\"freeRtp\":" + json(freeMoney / lost) + ",\"baseHitFrequency\":"
+				+ json(baseGameHitRate / games) + ",\"freeHitFrequency\":" + json(totalNumberOfFreeGameStarts / games)
+				+ ",\"baseMaxWin\":" + baseMaxWin + ",\"freeMaxWin\":" + freeMaxWin + ",\"rtpHalfWidth\":"
+				+ json(halfWidth(gameWinsStatistics, true) / Main.model.totalBet) + ",\"baseRtpHalfWidth\":"
+				+ json(halfWidth(baseWinsStatistics, false) / Main.model.totalBet) + ",\"freeRtpHalfWidth\":"
+				+ json(halfWidth(freeWinsStatistics, true) / Main.model.totalBet) + ",\"gameWinDeviation\":"
+				+ json(Math.sqrt(gameWinsStatistics.variance()) / Main.model.totalBet) + ",\"featureTablePayouts\":"
+				+ FeatureTable.size);
+
+		/* Matrices are written by number of symbols in rows and symbols in columns. */
+		output.print(",\"baseSymbolsRtp\":[");
+		for (int i = 0; i < baseSymbolMoney.length; i++) {
+			output.print(i > 0 ? ",[" : "[");
+			for (int j = 0; j < baseSymbolMoney[i].length; j++) {
+				output.print((j > 0 ? "," : "") + json(baseSymbolMoney[i][j] / lost));
+			}
+			output.print("]");
+		}
+		output.print("],\"baseSymbolsHitFrequency\":[");
+		for (int i = 0; i < baseGameSymbolsHitRate.length; i++) {
+			output.print(i > 0 ? ",[" : "[");
+			for (int j = 0; j < baseGameSymbolsHitRate[i].length; j++) {
+				output.print((j > 0 ? "," : "") + json(baseGameSymbolsHitRate[i][j] / games));
+			}
+			output.print("]");
+		}
+
+		/* Histograms are written as pairs of win and count. */
+		output.print("],\"baseWinsHistogram\":[");
+		int[] wins = baseWinsHistogram.wins();
+		for (int k = 0; k < wins.length; k++) {
+			output.print((k > 0 ? ",[" : "[") + wins[k] + "," + baseWinsHistogram.get(wins[k]) + "]");
+		}
+		output.print("],\"freeWinsHistogram\":[");
+		wins = freeWinsHistogram.wins();
+		for (int k = 0; k < wins.length; k++) {
+			output.print((k > 0 ? ",[" : "[") + wins[k] + "," + freeWinsHistogram.get(wins[k]) + "]");
+		}
+		output.println("],\"baseVolatility\":" + json(volatility()) + "}");
+	}
+
+	/**
+	 * Print simulation statistics as CSV records of section, row, column and
+	 * value.
+	 */
+	private void printCsvStatistics() {
+		double lost = lostMoney;
+		double games = totalNumberOfGames;
+
+		printCsvHeader();
+		output.println("statistics,games,," + totalNumberOfGames);
+		output.println("statistics,wonMoney,," + wonMoney);
+		output.println("statistics,lostMoney,," + lostMoney);
+		output.println("statistics,rtp,," + (wonMoney / lost));
+		output.println("statistics,baseRtp,," + (baseMoney / lost));
+		output.println("statistics,freeRtp,," + (freeMoney / lost));
+		output.println("statistics,baseHitFrequency,," + (baseGameHitRate / games));
+		output.println("statistics,freeHitFrequency,," + (totalNumberOfFreeGameStarts / games));
+		output.println("statistics,baseMaxWin,," + baseMaxWin);
+		output.println("statistics,freeMaxWin,," + freeMaxWin);
+		output.println("statistics,baseVolatility,," + volatility());
+		output.println("statistics,rtpHalfWidth,," + (halfWidth(gameWinsStatistics, true) / Main.model.totalBet));
+		output.println("statistics,baseRtpHalfWidth,," + (halfWidth(baseWinsStatistics, false) / Main.model.totalBet));
+		output.println("statistics,freeRtpHalfWidth,," + (halfWidth(freeWinsStatistics, true) / Main.model.totalBet));
+		output.println(
+				"statistics,gameWinDeviation,," + (Math.sqrt(gameWinsStatistics.variance()) / Main.model.totalBet));
+		output.println("statistics,featureTablePayouts,," + FeatureTable.size);
+
+		for (int i = 0; i < baseSymbolMoney.length; i++) {
+			for (int j = 0; j < baseSymbolMoney[i].length; j++) {
+				output.println("baseSymbolsRtp," + i + "of,SYM" + j + "," + (baseSymbolMoney[i][j] / lost));
+			}
+		}
+		for (int i = 0; i < baseGameSymbolsHitRate.length; i++) {
+			for (int j = 0; j < baseGameSymbolsHitRate[i].length; j++) {
+				output.println(
+						"baseSymbolsHitFrequency," + i + "of,SYM" + j + "," + (baseGameSymbolsHitRate[i][j] / games));
+			}
+		}
+		for (int key : baseWinsHistogram.wins()) {
+			output.println("baseWinsHistogram," + key + ",," + baseWinsHistogram.get(key));
+		}
+		for (int key : freeWinsHistogram.wins()) {
+			output.println("freeWinsHistogram," + key + ",," + freeWinsHistogram.get(key));
+		}
+	}
+
+	/** Print screen view. */
+	private void printView() {
+		int[][] view = engine.state.view;
+
+		int max = view[0].length;
+		for (int i = 0; i < view.length; i++) {
+			if (max < view[i].length) {
+				max = view[i].length;
+			}
+		}
+
+		for (int j = 0; j < max; j++) {
+			for (int i = 0; i < view.length && j < view[i].length; i++) {
+				if (view[i][j] < 10 && view[i][j] >= 0) {
+					System.out.print(" ");
+				}
+				System.out.print(view[i][j] + " ");
+			}
+
+			System.out.println();
+		}
+	}
+}
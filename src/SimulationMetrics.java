@@ -0,0 +1,435 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpServer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+
+/**
+ * Live metrics of the running simulation. Counters are striped LongAdder
+ * instances, so the simulation threads do not contend. Stages of the game are
+ * timed only in sampled games and the sampled game times are counted in
+ * logarithmic buckets with linear sub-buckets (HdrHistogram style). Metrics
+ * are served in Prometheus text format from local HTTP endpoint and they are
+ * published as periodic JFR event while a flight recording is running. Game
+ * engines without metrics only check a null reference per game.
+ */
+class SimulationMetrics {
+	/** Stage of reels spin. */
+	static final int SPIN = 0;
+
+	/** Stage of free spins setup (scatters counting and trigger). */
+	static final int FREE_GAMES_SETUP = 1;
+
+	/** Stage of wild expansion. */
+	static final int EXPAND_WILD = 2;
+
+	/** Stage of lines evaluation. */
+	static final int LINES_WIN = 3;
+
+	/** Stage of the free spins of the game. */
+	static final int FREE_GAMES = 4;
+
+	/** Stage of the statistics and histograms update. */
+	static final int HISTOGRAMS = 5;
+
+	/** Names of the stages. */
+	private static final String[] STAGES = { "spin", "free_games_setup", "expand_wild", "lines_win", "free_games",
+			"histograms" };
+
+	/** Mask of the game counter for the timed games (one of 1024 games). */
+	static final int SAMPLE_MASK = 1023;
+
+	/** Number of linear sub-buckets of every power of two. */
+	private static final int SUB_BUCKETS = 8;
+
+	/** Number of bits of the sub-bucket index. */
+	private static final int SUB_BITS = 3;
+
+	/** Number of played base games. */
+	private final LongAdder games = new LongAdder();
+
+	/** Number of played free spins. */
+	private final LongAdder freeGames = new LongAdder();
+
+	/** Number of free spins triggers. */
+	private final LongAdder freeGameStarts = new LongAdder();
+
+	/** Total bet of the played games. */
+	private final LongAdder lostMoney = new LongAdder();
+
+	/** Base game wins. */
+	private final LongAdder baseMoney = new LongAdder();
+
+	/** Free spins wins. */
+	private final LongAdder freeMoney = new LongAdder();
+
+	/** Nanoseconds of the stages in the timed games. */
+	private final LongAdder[] stageNanos = new LongAdder[STAGES.length];
+
+	/** Number of timed stages. */
+	private final LongAdder[] stageSamples = new LongAdder[STAGES.length];
+
+	/** Counters of the timed games by game time buckets. */
+	private final AtomicLongArray latencies = new AtomicLongArray(64 * SUB_BUCKETS);
+
+	/** Start of the metrics in nanoseconds. */
+	private final long start = System.nanoTime();
+
+	/** Metrics constructor. */
+	SimulationMetrics() {
+		for (int s = 0; s < STAGES.length; s++) {
+			stageNanos[s] = new LongAdder();
+			stageSamples[s] = new LongAdder();
+		}
+	}
+
+	/**
+	 * Count single game.
+	 *
+	 * @param result   Result of the game.
+	 * @param totalBet Total bet of the game.
+	 */
+	void game(GameResult result, int totalBet) {
+		games.increment();
+		lostMoney.add(totalBet);
+		baseMoney.add(result.baseWin);
+		if (result.freeGames > 0) {
+			freeGameStarts.increment();
+			freeGames.add(result.freeGames);
+			freeMoney.add(result.freeWin);
+		}
+	}
+
+	/**
+	 * Add time of single stage.
+	 *
+	 * @param stage Stage index.
+	 * @param nanos Time in nanoseconds.
+	 */
+	void stage(int stage, long nanos) {
+		stageNanos[stage].add(nanos);
+		stageSamples[stage].increment();
+	}
+
+	/**
+	 * Count time of single timed game.
+	 *
+	 * @param nanos Time in nanoseconds.
+	 */
+	void latency(long nanos) {
+		latencies.incrementAndGet(bucket(Math.max(1L, nanos)));
+	}
+
+	/**
+	 * Bucket of the value. Values below the number of sub-buckets have own
+	 * bucket and bigger values are split by their highest bit and the next bits.
+	 *
+	 * @param value Positive value.
+	 *
+	 * @return Bucket index.
+	 */
+	private static int bucket(long value) {
+		int bits = 64 - Long.numberOfLeadingZeros(value);
+		if (bits <= SUB_BITS) {
+			return (int) value;
+		}
+		return (bits - SUB_BITS) * SUB_BUCKETS + (int) (value >>> (bits - SUB_BITS - 1) & (SUB_BUCKETS - 1));
+	}
+
+	/**
+	 * Upper bound of the bucket values (exclusive).
+	 *
+	 * @param bucket Bucket index.
+	 *
+	 * @return Upper bound.
+	 */
+	private static long bound(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket + 1L;
+		}
+		int shift = bucket / SUB_BUCKETS - 1;
+		return (long) (SUB_BUCKETS + bucket % SUB_BUCKETS + 1) << shift;
+	}
+
+	/**
+	 * Number of garbage collections and their time in milliseconds.
+	 *
+	 * @return Count and time.
+	 */
+	private static long[] garbageCollections() {
+		long[] result = { 0L, 0L };
+		for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			result[0] += Math.max(0L, bean.getCollectionCount());
+			result[1] += Math.max(0L, bean.getCollectionTime());
+		}
+		return result;
+	}
+
+	/**
+	 * Bytes allocated by the live threads.
+	 *
+	 * @return Allocated bytes (negative if not supported).
+	 */
+	private static long allocatedBytes() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean == false) {
+			return -1L;
+		}
+
+		com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory
+				.getThreadMXBean();
+		long bytes = 0L;
+		for (long value : bean.getThreadAllocatedBytes(bean.getAllThreadIds())) {
+			bytes += Math.max(0L, value);
+		}
+		return bytes;
+	}
+
+	/**
+	 * Metrics in Prometheus text exposition format.
+	 *
+	 * @return Metrics text.
+	 */
+	String prometheus() {
+		StringBuilder text = new StringBuilder();
+		double seconds = (System.nanoTime() - start) / 1e9D;
+		long lost = lostMoney.sum();
+
+		counter(text, "slot_games_total", "Played base games.", games.sum());
+		counter(text, "slot_free_games_total", "Played free spins.", freeGames.sum());
+		counter(text, "slot_free_game_starts_total", "Free spins triggers.", freeGameStarts.sum());
+		counter(text, "slot_lost_money_total", "Total bet of the played games.", lost);
+		counter(text, "slot_base_money_total", "Base game wins.", baseMoney.sum());
+		counter(text, "slot_free_money_total", "Free spins wins.", freeMoney.sum());
+		gauge(text, "slot_rtp", "Total RTP so far.",
+				lost > 0 ? (double) (baseMoney.sum() + freeMoney.sum()) / lost : 0D);
+		gauge(text, "slot_games_per_second", "Average throughput since start.", games.sum() / seconds);
+		gauge(text, "slot_uptime_seconds", "Time since start.", seconds);
+
+		text.append("# HELP slot_stage_seconds_total Time of the game stages in the timed games.\n");
+		text.append("# TYPE slot_stage_seconds_total counter\n");
+		for (int s = 0; s < STAGES.length; s++) {
+			text.append("slot_stage_seconds_total{stage=\"").append(STAGES[s]).append("\"} ")
+					.append(stageNanos[s].sum() / 1e9D).append('\n');
+		}
+		text.append("# HELP slot_stage_samples_total Number of the timed game stages.\n");
+		text.append("# TYPE slot_stage_samples_total counter\n");
+		for (int s = 0; s < STAGES.length; s++) {
+			text.append("slot_stage_samples_total{stage=\"").append(STAGES[s]).append("\"} ")
+					.append(stageSamples[s].sum()).append('\n');
+		}
+
+		text.append("# HELP slot_game_seconds Time of the timed games.\n");
+		text.append("# TYPE slot_game_seconds histogram\n");
+		long count = 0L;
+		double sum = 0D;
+		for (int b = 0; b < latencies.length(); b++) {
+			long value = latencies.get(b);
+			if (value == 0) {
+				continue;
+			}
+			count += value;
+			sum += value * (bound(b) - 1) / 1e9D;
+			text.append("slot_game_seconds_bucket{le=\"").append(bound(b) / 1e9D).append("\"} ").append(count)
+					.append('\n');
+		}
+		text.append("slot_game_seconds_bucket{le=\"+Inf\"} ").append(count).append('\n');
+		text.append("slot_game_seconds_sum ").append(sum).append('\n');
+		text.append("slot_game_seconds_count ").append(count).append('\n');
+
+		long[] collections = garbageCollections();
+		counter(text, "slot_gc_collections_total", "Garbage collections.", collections[0]);
+		counter(text, "slot_gc_seconds_total", "Time of the garbage collections.", collections[1] / 1e3D);
+		gauge(text, "slot_allocated_bytes", "Bytes allocated by the live threads.", allocatedBytes());
+
+		return text.toString();
+	}
+
+	/**
+	 * Append counter in Prometheus text format.
+	 *
+	 * @param text  Metrics text.
+	 * @param name  Metric name.
+	 * @param help  Metric description.
+	 * @param value Metric value.
+	 */
+	private static void counter(StringBuilder text, String name, String help, double value) {
+		text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+		text.append("# TYPE ").append(name).append(" counter\n");
+		text.append(name).append(' ').append(value).append('\n');
+	}
+
+	/**
+	 * Append gauge in Prometheus text format.
+	 *
+	 * @param text  Metrics text.
+	 * @param name  Metric name.
+	 * @param help  Metric description.
+	 * @param value Metric value.
+	 */
+	private static void gauge(StringBuilder text, String name, String help, double value) {
+		text.append("# HELP ").append(name).append(' ').append(help).append('\n');
+		text.append("# TYPE ").append(name).append(" gauge\n");
+		text.append(name).append(' ').append(value).append('\n');
+	}
+
+	/**
+	 * Serve the metrics from local HTTP endpoint /metrics on daemon thread.
+	 *
+	 * @param port TCP port.
+	 *
+	 * @throws IOException If the port can not be bound.
+	 */
+	void serve(int port) throws IOException {
+		HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		server.createContext("/metrics", exchange -> {
+			byte[] body = prometheus().getBytes(StandardCharsets.UTF_8);
+			exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+			exchange.sendResponseHeaders(200, body.length);
+			try (OutputStream output = exchange.getResponseBody()) {
+				output.write(body);
+			}
+		});
+		server.setExecutor(Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "metrics");
+			thread.setDaemon(true);
+			return thread;
+		}));
+		server.start();
+	}
+
+	/**
+	 * Create the metrics, publish them as JFR event and serve them on the port.
+	 *
+	 * @param port TCP port of the HTTP endpoint (zero for JFR events only).
+	 *
+	 * @return Live metrics.
+	 */
+	static SimulationMetrics start(int port) {
+		SimulationMetrics metrics = new SimulationMetrics();
+		metrics.publish();
+		if (port > 0) {
+			try {
+				metrics.serve(port);
+				System.out.println("Metrics on http://localhost:" + port + "/metrics");
+			} catch (IOException exception) {
+				System.out.println("Metrics endpoint is not started: " + exception.getMessage());
+				System.exit(1);
+			}
+		}
+		return metrics;
+	}
+
+	/**
+	 * Publish the metrics as periodic JFR event. The event is emitted only while
+	 * a flight recording is running.
+	 */
+	void publish() {
+		FlightRecorder.addPeriodicEvent(MetricsEvent.class, () -> {
+			MetricsEvent event = new MetricsEvent();
+			long lost = lostMoney.sum();
+			event.games = games.sum();
+			event.freeGames = freeGames.sum();
+			event.rtp = lost > 0 ? (double) (baseMoney.sum() + freeMoney.sum()) / lost : 0D;
+			event.spinNanos = average(SPIN);
+			event.freeGamesSetupNanos = average(FREE_GAMES_SETUP);
+			event.expandWildNanos = average(EXPAND_WILD);
+			event.linesWinNanos = average(LINES_WIN);
+			event.freeGamesNanos = average(FREE_GAMES);
+			event.histogramsNanos = average(HISTOGRAMS);
+			event.commit();
+		});
+	}
+
+	/**
+	 * Average time of the stage in the timed games.
+	 *
+	 * @param stage Stage index.
+	 *
+	 * @return Nanoseconds.
+	 */
+	private double average(int stage) {
+		long samples = stageSamples[stage].sum();
+		return samples > 0 ? (double) stageNanos[stage].sum() / samples : 0D;
+	}
+
+	/** Periodic JFR event with the simulation metrics. */
+	@Name("thracian.SimulationMetrics")
+	@Label("Simulation Metrics")
+	@Category("Slot Simulation")
+	@Description("Counters of the running simulation and average times of the game stages.")
+	@Period("1 s")
+	static class MetricsEvent extends Event {
+		/** Number of played base games. */
+		@Label("Games")
+		long games;
+
+		/** Number of played free spins. */
+		@Label("Free Games")
+		long freeGames;
+
+		/** Total RTP so far. */
+		@Label("RTP")
+		double rtp;
+
+		/** Average time of the reels spin. */
+		@Label("Spin Nanoseconds")
+		double spinNanos;
+
+		/** Average time of the free spins setup. */
+		@Label("Free Games Setup Nanoseconds")
+		double freeGamesSetupNanos;
+
+		/** Average time of the wild expansion. */
+		@Label("Expand Wild Nanoseconds")
+		double expandWildNanos;
+
+		/** Average time of the lines evaluation. */
+		@Label("Lines Win Nanoseconds")
+		double linesWinNanos;
+
+		/** Average time of the free spins of the game. */
+		@Label("Free Games Nanoseconds")
+		double freeGamesNanos;
+
+		/** Average time of the statistics update. */
+		@Label("Histograms Nanoseconds")
+		double histogramsNanos;
+	}
+}
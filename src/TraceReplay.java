@@ -0,0 +1,178 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.io.IOException;
+
+/**
+ * Replay of the games recorded in trace file. Games are listed by their total
+ * win and single game is played again from its seed.
+ */
+class TraceReplay {
+	/**
+	 * Take the game rules and the generator of the trace, so the replayed games
+	 * are played as in the traced simulation.
+	 *
+	 * @param file Trace file name.
+	 */
+	static void loadSettings(String file) {
+		try (GameTrace.Reader reader = new GameTrace.Reader(file)) {
+			Main.freeOff = (reader.flags & 1) != 0;
+			Main.wildsOff = (reader.flags & 2) != 0;
+			Main.wildExpandOff = (reader.flags & 4) != 0;
+			Main.generatorName = reader.generator;
+		} catch (IOException exception) {
+			System.out.println("Trace is not loaded: " + exception.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * List and replay the traced games.
+	 *
+	 * @param model Math model of the simulation.
+	 * @param file  Trace file name.
+	 * @param index Index of the replayed game (negative for no game).
+	 * @param wins  Range of the total wins in total bets (null for no list).
+	 */
+	static void replay(GameModel model, String file, long index, double[] wins) {
+		try (GameTrace.Reader reader = new GameTrace.Reader(file)) {
+			print(model, reader, index, wins);
+		} catch (IOException exception) {
+			System.out.println("Trace is not loaded: " + exception.getMessage());
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * List the traced games with total win in the range and play the selected
+	 * traced game again from its seed. Replayed game is compared with its record.
+	 *
+	 * @param model Math model of the simulation.
+	 * @param trace Reader of the trace file.
+	 * @param index Index of the replayed game (negative for no game).
+	 * @param wins  Range of the total wins in total bets (null for no list).
+	 *
+	 * @throws IOException If the trace file is not readable.
+	 */
+	private static void print(GameModel model, GameTrace.Reader trace, long index, double[] wins)
+			throws IOException {
+		/* Games of other math model can not be played again. */
+		if (trace.modelHash != model.hash()) {
+			System.out.println("Trace is recorded with different math model.");
+			System.exit(1);
+		}
+
+		if (wins != null) {
+			System.out.println("Index\tSeed\tStrips\tStops\tBase win\tFree games\tMultiplier\tFree win\tTotal bets");
+			long games = 0;
+			long listed = 0;
+			for (long k = 0; k < trace.records; k++) {
+				if ((trace.flags(k) & GameTrace.WRITTEN) == 0) {
+					continue;
+				}
+				games++;
+
+				double total = (double) (trace.baseWin(k) + trace.freeWin(k)) / trace.totalBet;
+				if (total < wins[0] || total > wins[1]) {
+					continue;
+				}
+				listed++;
+
+				String stops = "";
+				for (int i = 0; i < GameTrace.STOPS; i++) {
+					stops += (i > 0 ? "," : "") + trace.stop(k, i);
+				}
+				System.out.println(k + "\t" + trace.seed(k) + "\t" + (trace.strips(k) + 1) + "\t" + stops + "\t"
+						+ trace.baseWin(k) + "\t" + trace.freeGames(k) + "\t" + trace.multiplier(k) + "\t"
+						+ trace.freeWin(k) + "\t" + total);
+			}
+			System.out.println();
+			System.out.println("Traced games:\t" + games + "\tListed games:\t" + listed);
+			System.out.println();
+		}
+
+		if (index < 0) {
+			return;
+		}
+
+		if (index >= trace.records || (trace.flags(index) & GameTrace.WRITTEN) == 0) {
+			System.out.println("No traced game " + index + ".");
+			System.exit(1);
+		}
+
+		/* The game is played with the same generator as in the simulation. */
+		GameEngine engine = new GameEngine(model, Main.createGenerator(trace.seed(index)));
+		GameResult result = engine.playBaseGame();
+
+		System.out.println("Game:\t" + index);
+		System.out.println("Generator:\t" + trace.generator);
+		System.out.println("Seed:\t" + trace.seed(index));
+		System.out.println("Strips:\t" + (result.strips + 1));
+		System.out.print("Stops:\t");
+		for (int i = 0; i < result.stops.length; i++) {
+			System.out.print((i > 0 ? "," : "") + result.stops[i]);
+		}
+		System.out.println();
+		System.out.println("View:");
+		for (int j = 0; j < result.view[0].length; j++) {
+			for (int i = 0; i < result.view.length; i++) {
+				System.out.print("SYM" + result.view[i][j] + "\t");
+			}
+			System.out.println();
+		}
+		System.out.println("Lines:\tLine\tSymbol\tNumber\tWin");
+		for (int l = 0; l < result.winningLines; l++) {
+			System.out.println("\t" + (result.lineIndices[l] + 1) + "\tSYM" + result.lineSymbols[l] + "\t"
+					+ result.lineNumbers[l] + "\t" + result.lineWins[l]);
+		}
+		System.out.println("Scatters win:\t" + result.scatterWin);
+		System.out.println("Base game win:\t" + result.baseWin);
+		System.out.println("Free games:\t" + result.freeGames);
+		System.out.println("Free games multiplier:\t" + result.freeMultiplier);
+		System.out.print("Free games segments:\t");
+		for (int s = 0; s < Math.min(result.segments, result.segmentStages.length); s++) {
+			System.out.print((s > 0 ? "," : "") + "FS" + result.segmentStages[s] + "x" + result.segmentCounts[s]);
+		}
+		System.out.println();
+		System.out.println("Free games win:\t" + result.freeWin);
+		System.out.println();
+
+		boolean match = trace.baseWin(index) == result.baseWin && trace.scatterWin(index) == result.scatterWin
+				&& trace.strips(index) == result.strips;
+		for (int i = 0; i < GameTrace.STOPS && i < result.stops.length; i++) {
+			match = match && trace.stop(index, i) == result.stops[i];
+		}
+
+		/* Payouts of the feature table are not played again. */
+		if ((trace.flags(index) & GameTrace.FEATURE_TABLE) != 0) {
+			System.out.println("Free games payout of the trace is from the feature table.");
+		} else {
+			match = match && trace.freeWin(index) == result.freeWin && trace.freeGames(index) == result.freeGames
+					&& trace.multiplier(index) == result.freeMultiplier;
+		}
+
+		System.out.println("Replay:\t" + (match == true ? "same as the trace" : "different from the trace"));
+		if (match == false) {
+			System.exit(1);
+		}
+	}
+}
@@ -0,0 +1,259 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Comparison of the variance reduction sampling modes with plain sampling of
+ * the base games.
+ */
+class VarianceReduction {
+	/** Math model of the sampled game. */
+	private final GameModel model;
+
+	/**
+	 * Constructor with math model.
+	 *
+	 * @param model Math model of the sampled game.
+	 */
+	VarianceReduction(GameModel model) {
+		this.model = model;
+	}
+
+	/**
+	 * Total win of the game (base game with its free spins).
+	 *
+	 * @param result Result of the game.
+	 *
+	 * @return Total win.
+	 */
+	private static long totalWin(GameResult result) {
+		long win = result.baseWin;
+		for (int f = 0; f < result.freeSpins; f++) {
+			win += result.freeWins[f];
+		}
+		return win;
+	}
+
+	/**
+	 * Select base game reels strips and the stop of the first reel by uniform
+	 * number. The whole range of the number is split proportionally to the
+	 * strips distribution and then equally between the stops, so evenly spread
+	 * numbers cover all pairs of strips and first reel stop in exact proportion.
+	 *
+	 * @param u     Uniform number in [0, 1).
+	 * @param stops Reels stops with the first one to be filled.
+	 *
+	 * @return Index of the base game reels strips.
+	 */
+	private int stratum(double u, int[] stops) {
+		int[] values = model.baseStrips.values;
+		int[] weights = model.baseStrips.weights;
+		double total = 0;
+		for (int weight : weights) {
+			total += weight;
+		}
+
+		double x = u * total;
+		int k = 0;
+		while (k < weights.length - 1 && x >= weights[k]) {
+			x -= weights[k];
+			k++;
+		}
+
+		int length = model.windowsSets[values[k] - 1][0][0].length;
+		stops[0] = Math.min(length - 1, (int) (x / weights[k] * length));
+		return values[k] - 1;
+	}
+
+	/**
+	 * Play base game with given reels strips and stops.
+	 *
+	 * @param engine Game engine.
+	 * @param r      Index of the base game reels strips.
+	 * @param stops  Reels stops.
+	 *
+	 * @return Result of the game.
+	 */
+	private GameResult playBaseGame(GameEngine engine, int r, int[] stops) {
+		engine.result().clear();
+		engine.state.windows = model.windowsSets[r];
+		engine.state.wilds = model.wildsSets[r];
+		engine.spin(model.windowsSets[r][0], stops);
+		return engine.finishBaseGame();
+	}
+
+	/**
+	 * Estimate RTP by sampling mode. Games are played in blocks and the variance
+	 * of the estimator is measured by the spread of the block means, because
+	 * games of the stratified and antithetic sampling are not independent.
+	 *
+	 * <ul>
+	 * <li>plain - independent base games;</li>
+	 * <li>stratified - strips and first reel stop by evenly spread numbers in the
+	 * block;</li>
+	 * <li>antithetic - pairs of games with opposite uniform numbers of the
+	 * strips and all stops;</li>
+	 * <li>conditional - base game without free spins plus trigger probability
+	 * times free spins feature simulated separately.</li>
+	 * </ul>
+	 *
+	 * @param mode   Sampling mode.
+	 * @param units  Number of games (base game with separate feature in
+	 *               conditional mode).
+	 * @param block  Number of games in a block.
+	 * @param seed   Seed of the generators.
+	 *
+	 * @return RTP, variance per game and nanoseconds per game.
+	 */
+	private double[] sampleRtp(String mode, long units, int block, long seed) {
+		SplittableRandom seeds = new SplittableRandom(seed);
+		GameModel base = new GameModel(model.symbols, model.paytable, model.scatterMultipliers, model.lines,
+				model.baseReels, model.freeReels, model.wildsSets, model.baseStripsDistribution,
+				model.scatterDistritutions, model.freeMultiplierDistribution, true, model.wildsOff,
+				model.wildExpandOff);
+		GameEngine engine = new GameEngine(mode.equals("conditional") == true ? base : model,
+				Main.createGenerator(seeds.nextLong()));
+		GameEngine features = new GameEngine(model, Main.createGenerator(seeds.nextLong()));
+		RandomGenerator prng = engine.state.prng;
+
+		/* Free spins feature strips are chosen proportionally to their trigger probabilities. */
+		double[] cumulative = new double[model.windowsSets.length];
+		double trigger = 0;
+		for (int k = 0; k < model.baseStrips.values.length; k++) {
+			int r = model.baseStrips.values[k] - 1;
+			cumulative[r] = model.baseStrips.weights[k] * ExactRtp.triggerProbability(model.windowsSets[r][0]);
+		}
+		for (int r = 0; r < cumulative.length; r++) {
+			trigger += cumulative[r];
+			cumulative[r] = trigger;
+		}
+		double total = 0;
+		for (int weight : model.baseStrips.weights) {
+			total += weight;
+		}
+		trigger /= total;
+
+		int[] stops = new int[model.windowsSets[0][0].length];
+		double[] v = new double[stops.length];
+		double u = 0;
+
+		RunningStatistics blocks = new RunningStatistics();
+		long start = System.nanoTime();
+		for (long b = 0; b < units / block; b++) {
+			double sum = 0;
+			for (int g = 0; g < block; g++) {
+				if (mode.equals("stratified") == true) {
+					int r = stratum((g + prng.nextDouble()) / block, stops);
+					for (int i = 1; i < stops.length; i++) {
+						stops[i] = prng.nextInt(model.windowsSets[r][0][i].length);
+					}
+					sum += totalWin(playBaseGame(engine, r, stops));
+				} else if (mode.equals("antithetic") == true) {
+					/* Second game of the pair uses the opposite numbers. */
+					if (g % 2 == 0) {
+						u = prng.nextDouble();
+						for (int i = 1; i < v.length; i++) {
+							v[i] = prng.nextDouble();
+						}
+					} else {
+						u = 1D - u;
+						for (int i = 1; i < v.length; i++) {
+							v[i] = 1D - v[i];
+						}
+					}
+					int r = stratum(Math.min(u, Math.nextDown(1D)), stops);
+					for (int i = 1; i < stops.length; i++) {
+						int length = model.windowsSets[r][0][i].length;
+						stops[i] = Math.min(length - 1, (int) (v[i] * length));
+					}
+					sum += totalWin(playBaseGame(engine, r, stops));
+				} else if (mode.equals("conditional") == true) {
+					sum += engine.playBaseGame().baseWin;
+
+					double x = features.state.prng.nextDouble() * cumulative[cumulative.length - 1];
+					int r = 0;
+					while (r < cumulative.length - 1 && x >= cumulative[r]) {
+						r++;
+					}
+					sum += trigger * totalWin(features.playFreeGames(r));
+				} else {
+					sum += totalWin(engine.playBaseGame());
+				}
+			}
+			blocks.add(sum / block / model.totalBet);
+		}
+		long nanos = System.nanoTime() - start;
+
+		return new double[] { blocks.mean, blocks.variance() * block, (double) nanos / (blocks.count * block) };
+	}
+
+	/**
+	 * Compare variance reduction sampling modes with plain sampling. Effective
+	 * speedup is the ratio of the variance per CPU second of plain sampling to
+	 * the variance per CPU second of the mode, so it is the number of times
+	 * plain sampling would have to run longer for the same precision.
+	 *
+	 * @param modes         Comma separated sampling modes (all for every mode).
+	 * @param numberOfGames Number of games of every mode.
+	 * @param seed          Seed of the generators.
+	 */
+	void print(String modes, long numberOfGames, long seed) {
+		List<String> list = new ArrayList<String>();
+		list.add("plain");
+		for (String mode : (modes.equals("all") == true ? "stratified,antithetic,conditional" : modes).split(",")) {
+			if (Arrays.asList("stratified", "antithetic", "conditional").contains(mode) == false) {
+				System.out.println("Unknown sampling mode: " + mode);
+				System.exit(1);
+			}
+			list.add(mode);
+		}
+
+		/* About thousand blocks, which are big enough for the stratification. */
+		int block = (int) Math.max(1000L, Math.min(numberOfGames / 1000L, Integer.MAX_VALUE - 1L)) & ~1;
+		long units = Math.max(block, numberOfGames - numberOfGames % block);
+
+		/* Short warm up, so the compiled code is compared. */
+		SplittableRandom seeds = new SplittableRandom(seed);
+		for (String mode : list) {
+			sampleRtp(mode, Math.max(block, units / 20), block, seeds.nextLong());
+		}
+
+		System.out.println(
+				"Mode\tGames\tRTP\tStandard error\tVariance per game\tNanoseconds per game\tEffective speedup");
+		double[] plain = null;
+		for (String mode : list) {
+			double[] estimate = sampleRtp(mode, units, block, seeds.nextLong());
+			if (plain == null) {
+				plain = estimate;
+			}
+
+			System.out.println(mode + "\t" + units + "\t" + estimate[0] + "\t" + Math.sqrt(estimate[1] / units) + "\t"
+					+ estimate[1] + "\t" + estimate[2] + "\t"
+					+ (plain[1] * plain[2]) / (estimate[1] * estimate[2]));
+		}
+	}
+}
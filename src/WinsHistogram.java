@@ -0,0 +1,226 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Histogram of the wins. Small wins are counted in a dense array and the rare
+ * big wins are counted in open addressing hash table with primitive keys.
+ */
+class WinsHistogram {
+	/** Size of the dense part of the histogram. */
+	private static final int DENSE_SIZE = 1 << 14;
+
+	/** Counters of the wins in the dense range. */
+	private long[] dense = new long[DENSE_SIZE];
+
+	/** Keys of the sparse part (wins out of the dense range). */
+	private int[] keys = new int[16];
+
+	/** Counters of the sparse part. */
+	private long[] counts = new long[16];
+
+	/** Used slots of the sparse part. */
+	private boolean[] used = new boolean[16];
+
+	/** Number of keys in the sparse part. */
+	private int size = 0;
+
+	/**
+	 * Count single win.
+	 *
+	 * @param win Win value.
+	 */
+	void add(int win) {
+		if (win >= 0 && win < DENSE_SIZE) {
+			dense[win]++;
+		} else {
+			add(win, 1L);
+		}
+	}
+
+	/**
+	 * Count win number of times.
+	 *
+	 * @param win   Win value.
+	 * @param count Number of times.
+	 */
+	void add(int win, long count) {
+		if (win >= 0 && win < DENSE_SIZE) {
+			dense[win] += count;
+			return;
+		}
+
+		/* Keep load factor of the sparse part below one half. */
+		if (2 * (size + 1) > keys.length) {
+			int[] oldKeys = keys;
+			long[] oldCounts = counts;
+			boolean[] oldUsed = used;
+			keys = new int[2 * oldKeys.length];
+			counts = new long[2 * oldKeys.length];
+			used = new boolean[2 * oldKeys.length];
+			size = 0;
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldUsed[i] == true) {
+					add(oldKeys[i], oldCounts[i]);
+				}
+			}
+		}
+
+		int i = slot(win);
+		if (used[i] == false) {
+			used[i] = true;
+			keys[i] = win;
+			size++;
+		}
+		counts[i] += count;
+	}
+
+	/**
+	 * Find slot of the win in the sparse part.
+	 *
+	 * @param win Win value.
+	 *
+	 * @return Index of the slot with this win or of the first free slot.
+	 */
+	private int slot(int win) {
+		int mask = keys.length - 1;
+		int i = (win * 0x9E3779B9) >>> (32 - Integer.numberOfTrailingZeros(keys.length)) & mask;
+		while (used[i] == true && keys[i] != win) {
+			i = (i + 1) & mask;
+		}
+		return i;
+	}
+
+	/**
+	 * Number of times the win was counted.
+	 *
+	 * @param win Win value.
+	 *
+	 * @return Counter of the win.
+	 */
+	long get(int win) {
+		if (win >= 0 && win < DENSE_SIZE) {
+			return dense[win];
+		}
+
+		int i = slot(win);
+		return used[i] == true ? counts[i] : 0L;
+	}
+
+	/**
+	 * Add counters of other histogram to this one.
+	 *
+	 * @param other Histogram to be merged.
+	 */
+	void merge(WinsHistogram other) {
+		for (int i = 0; i < DENSE_SIZE; i++) {
+			dense[i] += other.dense[i];
+		}
+		for (int i = 0; i < other.keys.length; i++) {
+			if (other.used[i] == true) {
+				add(other.keys[i], other.counts[i]);
+			}
+		}
+	}
+
+	/**
+	 * All counted wins.
+	 *
+	 * @return Wins in ascending order.
+	 */
+	int[] wins() {
+		int[] result = new int[size];
+		for (int i = 0, k = 0; i < keys.length; i++) {
+			if (used[i] == true) {
+				result[k++] = keys[i];
+			}
+		}
+		Arrays.sort(result);
+
+		int count = 0;
+		for (int i = 0; i < DENSE_SIZE; i++) {
+			if (dense[i] != 0) {
+				count++;
+			}
+		}
+
+		/* Negative wins are before the dense range and big wins are after it. */
+		int negative = 0;
+		while (negative < result.length && result[negative] < 0) {
+			negative++;
+		}
+		int[] wins = new int[result.length + count];
+		System.arraycopy(result, 0, wins, 0, negative);
+		for (int i = 0, k = negative; i < DENSE_SIZE; i++) {
+			if (dense[i] != 0) {
+				wins[k++] = i;
+			}
+		}
+		System.arraycopy(result, negative, wins, negative + count, result.length - negative);
+
+		return wins;
+	}
+
+	/**
+	 * Size of the binary form of the histogram.
+	 *
+	 * @return Number of bytes.
+	 */
+	int bytes() {
+		return 8 * DENSE_SIZE + 4 + 12 * size;
+	}
+
+	/**
+	 * Write the histogram in binary form (dense counters, number of sparse keys
+	 * and pairs of sparse key and counter).
+	 *
+	 * @param buffer Output buffer.
+	 */
+	void write(ByteBuffer buffer) {
+		buffer.asLongBuffer().put(dense);
+		buffer.position(buffer.position() + 8 * DENSE_SIZE);
+		buffer.putInt(size);
+		for (int i = 0; i < keys.length; i++) {
+			if (used[i] == true) {
+				buffer.putInt(keys[i]);
+				buffer.putLong(counts[i]);
+			}
+		}
+	}
+
+	/**
+	 * Add counters read in binary form to this histogram.
+	 *
+	 * @param buffer Input buffer.
+	 */
+	void read(ByteBuffer buffer) {
+		for (int i = 0; i < DENSE_SIZE; i++) {
+			dense[i] += buffer.getLong();
+		}
+		for (int i = buffer.getInt(); i > 0; i--) {
+			int win = buffer.getInt();
+			add(win, buffer.getLong());
+		}
+	}
+}
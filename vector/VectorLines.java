@@ -0,0 +1,144 @@
+/*==============================================================================
+* Thracian Treasure Slot Simulation version 0.9.2                              *
+* Copyrights (C) 2013-2026 Velbazhd Software LLC                               *
+*                                                                              *
+* developed by Todor Balabanov ( todor.balabanov@gmail.com )                   *
+* Sofia, Bulgaria                                                              *
+*                                                                              *
+* This program is free software: you can redistribute it and/or modify         *
+* it under the terms of the GNU General Public License as published by         *
+* the Free Software Foundation, either version 3 of the License, or            *
+* (at your option) any later version.                                          *
+*                                                                              *
+* This program is distributed in the hope that it will be useful,              *
+* but WITHOUT ANY WARRANTY; without even the implied warranty of               *
+* MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the                *
+* GNU General Public License for more details.                                 *
+*                                                                              *
+* You should have received a copy of the GNU General Public License            *
+* along with this program. If not, see <http://www.gnu.org/licenses/>.         *
+*                                                                              *
+*==============================================================================*/
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Lines evaluation with the Vector API. Each lane of the vectors is a single
+ * line. The symbols of all lines in a reel are selected from the three visible
+ * symbols of the reel with constant masks of the lines rows, and the first
+ * regular symbol and the number of matching symbols are found with lane-wise
+ * masks.
+ *
+ * javac --add-modules jdk.incubator.vector -cp . -d . ../vector/VectorLines.java
+ */
+class VectorLines implements LinesEvaluator {
+	/** Preferred vector shape of the platform. */
+	private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+	/** Number of lines. */
+	private final int numberOfLines;
+
+	/** Number of lanes rounded up to whole vectors. */
+	private final int lanes;
+
+	/** Lines passing the middle row by reel and line. */
+	private final boolean[][] middle;
+
+	/** Lines passing the bottom row by reel and line. */
+	private final boolean[][] bottom;
+
+	/** Pay table flattened by number of symbols and symbol. */
+	private final int[] paytable;
+
+	/** Number of symbols (row size of the flat pay table). */
+	private final int numberOfSymbols;
+
+	/** Wilds substitution flag. */
+	private final boolean wildsOff;
+
+	/** Winning symbols of the lines with padding. */
+	private final int[] symbols;
+
+	/** Numbers of winning symbols of the lines with padding. */
+	private final int[] numbers;
+
+
+	/**
+	 * Vector lines evaluator constructor.
+	 *
+	 * @param model Math model of the game.
+	 */
+	VectorLines(GameModel model) {
+		int[][] lines = model.lines;
+
+		numberOfLines = lines.length;
+		lanes = SPECIES.loopBound(numberOfLines + SPECIES.length() - 1);
+		wildsOff = model.wildsOff;
+
+		middle = new boolean[lines[0].length][lanes];
+		bottom = new boolean[lines[0].length][lanes];
+		for (int i = 0; i < middle.length; i++) {
+			for (int l = 0; l < numberOfLines; l++) {
+				middle[i][l] = lines[l][i] == 1;
+				bottom[i][l] = lines[l][i] == 2;
+			}
+		}
+
+		numberOfSymbols = model.paytable[0].length;
+		paytable = new int[model.paytable.length * numberOfSymbols];
+		for (int n = 0; n < model.paytable.length; n++) {
+			System.arraycopy(model.paytable[n], 0, paytable, n * numberOfSymbols, numberOfSymbols);
+		}
+
+		symbols = new int[lanes];
+		numbers = new int[lanes];
+	}
+
+	@Override
+	public int linesWin(int[][] view, int[] symbols, int[] numbers, int[] wins) {
+		int win = 0;
+
+		/* Helper methods are not used, because not inlined vectors are boxed. */
+		for (int offset = 0; offset < lanes; offset += SPECIES.length()) {
+			IntVector symbol = IntVector.zero(SPECIES);
+			IntVector number = IntVector.zero(SPECIES);
+			VectorMask<Integer> matching = SPECIES.maskAll(true);
+
+			/* First regular symbol after the leading wilds. */
+			for (int i = 0; i < view.length; i++) {
+				IntVector reel = IntVector.broadcast(SPECIES, view[i][0])
+						.blend(view[i][1], VectorMask.fromArray(SPECIES, middle[i], offset))
+						.blend(view[i][2], VectorMask.fromArray(SPECIES, bottom[i], offset));
+				symbol = i == 0 ? reel : symbol.blend(reel, symbol.eq(1).or(symbol.eq(2)));
+			}
+
+			/* Matching symbols are counted until the first other symbol. */
+			for (int i = 0; i < view.length; i++) {
+				IntVector reel = IntVector.broadcast(SPECIES, view[i][0])
+						.blend(view[i][1], VectorMask.fromArray(SPECIES, middle[i], offset))
+						.blend(view[i][2], VectorMask.fromArray(SPECIES, bottom[i], offset));
+				VectorMask<Integer> match = reel.eq(symbol);
+				if (wildsOff == false) {
+					match = match.or(reel.eq(1)).or(reel.eq(2));
+				}
+				matching = matching.and(match);
+				number = number.add(IntVector.zero(SPECIES).blend(1, matching));
+			}
+
+			symbol.intoArray(this.symbols, offset);
+			number.intoArray(this.numbers, offset);
+		}
+
+		/* Pay table lookup of the real lines. */
+		for (int l = 0; l < numberOfLines; l++) {
+			symbols[l] = this.symbols[l];
+			numbers[l] = this.numbers[l];
+			wins[l] = paytable[this.numbers[l] * numberOfSymbols + this.symbols[l]];
+			win += wins[l];
+		}
+
+		return (win);
+	}
+}